@@ -0,0 +1,84 @@
+package com.example.Project_1.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.util.SyntheticOntologyGenerator;
+
+/**
+ * Ontology and service fixtures shared by the JMH benchmarks.
+ *
+ * {@link #scaled(int)} grows the bundled ontology with SyntheticOntologyGenerator
+ * (restaurants, food type variants and locations drawn from the original
+ * distributions), so the catalog size can be varied without a separate data set.
+ * The benchmark service parses that ontology from RDF Thrift bytes on every loadRestaurantOntology(),
+ * like the compiled classpath artifact, and runs with the result cache off.
+ */
+final class BenchmarkOntology {
+
+    // Same synthetic catalog in every fork and run
+    private static final long SEED = 42L;
+
+    private BenchmarkOntology() {}
+
+    // Bundled ontology scaled by SyntheticOntologyGenerator (1 = as shipped, with food type labels)
+    static Model scaled(int scale) {
+        try {
+            return SyntheticOntologyGenerator.generate(SyntheticOntologyGenerator.loadBase(), scale, SEED);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static byte[] write(Model model, Lang lang) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RDFDataMgr.write(out, model, lang);
+        return out.toByteArray();
+    }
+
+    static Model read(byte[] bytes, Lang lang) {
+        Model model = ModelFactory.createDefaultModel();
+        RDFDataMgr.read(model, new ByteArrayInputStream(bytes), lang);
+        return model;
+    }
+
+    // Service over the given ontology outside Spring: meters go to a SimpleMeterRegistry,
+    // every recommendation is evaluated (no result cache) and the catalog is built up front
+    static RestaurantService service(Model ontology) {
+        byte[] thrift = write(ontology, Lang.RDFTHRIFT);
+        RestaurantService service = new RestaurantService() {
+            @Override
+            public Model loadRestaurantOntology() {
+                return read(thrift, Lang.RDFTHRIFT);
+            }
+        };
+        ReflectionTestUtils.setField(service, "metrics", new RecommendationMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(service, "recommendationCacheMaxEntries", 0);
+        service.reloadCatalog();
+        return service;
+    }
+
+    // Marathon runner's request with every preference set, so all rule conditions are evaluated
+    static RestaurantRecommendationRequest request() {
+        RestaurantRecommendationRequest request = new RestaurantRecommendationRequest();
+        request.setUserId("benchmarkUser");
+        request.setRunnerType("Marathon");
+        request.setMaxBudget(500f);
+        request.setPreferredCuisines(List.of("Noodles", "Steak"));
+        request.setPreferredRestaurantTypes(List.of("Fast Dining"));
+        request.setPreRunNutrition(new RestaurantRecommendationRequest.NutritionPreference("High", "Low", "Medium"));
+        request.setPostRunNutrition(new RestaurantRecommendationRequest.NutritionPreference("Medium", "Low", "High"));
+        return request;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Project_1.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.Resource;
+import org.openjdk.jmh.annotations.*;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Read paths over the catalog snapshot per catalog size: projecting one restaurant
+ * individual (convertToRestaurantModel), lookup by id and advanced search.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogReadBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    private RestaurantService service;
+    private Model model;
+    private Resource restaurant;
+    private String restaurantId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkOntology.service(BenchmarkOntology.scaled(scale));
+        RestaurantCatalog catalog = service.getCatalog();
+        model = catalog.getModel();
+        // Last restaurant of the catalog, so lookups can't stop at the first entry
+        restaurantId = catalog.getRestaurants().get(catalog.getRestaurants().size() - 1).getRestaurantId();
+        restaurant = model.getResource(restaurantId);
+    }
+
+    @Benchmark
+    public Restaurant convertToRestaurantModel() {
+        return service.convertToRestaurantModel(restaurant, model);
+    }
+
+    @Benchmark
+    public Restaurant getRestaurantById() {
+        return service.getRestaurantById(restaurantId);
+    }
+
+    // Cuisine + budget + nutrition filters, sorted by budget
+    @Benchmark
+    public List<Restaurant> searchAdvanced() {
+        return service.searchRestaurantsAdvanced(null, "Noodles", null, null, null, 0f, 500f,
+                                                 "High", null, null, null, RestaurantSortIndex.BUDGET, "asc");
+    }
+
+    @Benchmark
+    public List<Restaurant> searchAdvancedByName() {
+        return service.searchRestaurantsAdvanced("restaurant", null, null, null, null, 0f, Float.MAX_VALUE,
+                                                 null, null, null, null, RestaurantSortIndex.NAME, "asc");
+    }
+}
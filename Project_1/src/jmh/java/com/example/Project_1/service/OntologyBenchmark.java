@@ -0,0 +1,74 @@
+package com.example.Project_1.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.jena.graph.compose.Delta;
+import org.apache.jena.rdf.model.InfModel;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.reasoner.Reasoner;
+import org.apache.jena.riot.Lang;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Startup-side costs per catalog size: parsing the ontology (RDF/XML source and the
+ * RDF Thrift artifact loadRestaurantOntology reads), building the catalog snapshot,
+ * parsing the rules into a reasoner and binding/preparing it over a user overlay.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OntologyBenchmark {
+
+    // Copies of the bundled restaurants (see BenchmarkOntology.scaled)
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    private byte[] rdfXml;
+    private byte[] rdfThrift;
+    private RestaurantService service;
+    private Reasoner reasoner;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Model ontology = BenchmarkOntology.scaled(scale);
+        rdfXml = BenchmarkOntology.write(ontology, Lang.RDFXML);
+        rdfThrift = BenchmarkOntology.write(ontology, Lang.RDFTHRIFT);
+        service = BenchmarkOntology.service(ontology);
+        reasoner = service.applyRulesToModel(ModelFactory.createDefaultModel()).getReasoner();
+    }
+
+    @Benchmark
+    public Model parseRdfXml() {
+        return BenchmarkOntology.read(rdfXml, Lang.RDFXML);
+    }
+
+    @Benchmark
+    public Model parseRdfThrift() {
+        return BenchmarkOntology.read(rdfThrift, Lang.RDFTHRIFT);
+    }
+
+    // Ontology load plus one pass over every restaurant and the per-catalog indexes
+    @Benchmark
+    public RestaurantCatalog buildCatalog() {
+        return service.reloadCatalog();
+    }
+
+    // Rule file parse and GenericRuleReasoner construction (what getCachedReasoner saves)
+    @Benchmark
+    public Reasoner createReasoner() {
+        return service.applyRulesToModel(ModelFactory.createDefaultModel()).getReasoner();
+    }
+
+    // Cached reasoner bound to a per-request overlay, forward rules run
+    @Benchmark
+    public InfModel prepareReasoner() {
+        Model overlay = ModelFactory.createModelForGraph(new Delta(service.getCatalog().getModel().getGraph()));
+        InfModel infModel = ModelFactory.createInfModel(reasoner, overlay);
+        infModel.prepare();
+        return infModel;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.Project_1.service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * One recommendation per strategy and catalog size, with the result cache off.
+ * Default is getRestaurantRecommendations in its configured rules mode (table);
+ * the others are the strategy methods compared by the performance tests. Replace
+ * writes its ontology copy under the working directory (target/jmh when run
+ * through the jmh profile).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int scale;
+
+    @Param({"Default", "Remove", "Replace", "Reload", "RemoveImproved", "ReplaceImproved", "ReloadImproved"})
+    public String strategy;
+
+    private RestaurantService service;
+    private RestaurantRecommendationRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = BenchmarkOntology.service(BenchmarkOntology.scaled(scale));
+        request = BenchmarkOntology.request();
+    }
+
+    @Benchmark
+    public List<Restaurant> recommend() {
+        switch (strategy) {
+            case "Remove": return service.getRestaurantRecommendationsRemove(request);
+            case "Replace": return service.getRestaurantRecommendationsReplace(request);
+            case "Reload": return service.getRestaurantRecommendationsReload(request);
+            case "RemoveImproved": return service.getRestaurantRecommendationsRemoveImproved(request);
+            case "ReplaceImproved": return service.getRestaurantRecommendationsReplaceImproved(request);
+            case "ReloadImproved": return service.getRestaurantRecommendationsReloadImproved(request);
+            default: return service.getRestaurantRecommendations(request);
+        }
+    }
+}
@@ -79,6 +79,7 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("http://localhost:3000", "http://localhost:3001"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList("X-Total-Count", "X-Next-Cursor", "X-Trace-Id"));
         configuration.setAllowCredentials(true);
         configuration.setMaxAge(3600L);
 
@@ -108,6 +109,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/restaurants/health").permitAll()
                 .requestMatchers("/api/restaurants/all").permitAll()
+                .requestMatchers("/api/restaurants/nearby").permitAll()
+                .requestMatchers("/api/restaurants/facets").permitAll()
+                .requestMatchers("/api/restaurants/suggest").permitAll()
                 // Allow GET /api/restaurants/{id} - use AntPathRequestMatcher with GET method
                 .requestMatchers(new AntPathRequestMatcher("/api/restaurants/*", HttpMethod.GET.name())).permitAll()
                 .requestMatchers("/api/users/health").permitAll()
@@ -119,10 +123,14 @@ public class SecurityConfig {
                 
                 // Admin endpoints
                 .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
+                .requestMatchers("/api/restaurants/recommendations/batch").hasRole("ADMIN")
                 
                 // Protected endpoints - require authentication (more specific patterns)
                 .requestMatchers("/api/users/**").authenticated()
                 .requestMatchers("/api/restaurants/recommendations").authenticated()
+                .requestMatchers("/api/restaurants/recommendations/**").authenticated()
                 .requestMatchers("/api/restaurants/search/**").authenticated()
                 .requestMatchers("/api/restaurants/createStaticUser").authenticated()
                 .requestMatchers("/api/restaurants/retrieveRestaurants").authenticated()
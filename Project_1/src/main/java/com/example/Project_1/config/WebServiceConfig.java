@@ -14,6 +14,7 @@ public class WebServiceConfig implements WebMvcConfigurer {
             .allowedOrigins("http://localhost:3000")  // Allow frontend origin (adjust the port if needed)
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")  // Allowed HTTP methods
             .allowedHeaders("*")  // Allow all headers
+            .exposedHeaders("X-Total-Count", "X-Next-Cursor", "X-Trace-Id")  // Pagination headers of the search endpoints, request trace id
             .allowCredentials(true)  // Allow credentials (cookies, authorization headers, etc)
             .maxAge(3600);  // Cache preflight requests for 1 hour
     }
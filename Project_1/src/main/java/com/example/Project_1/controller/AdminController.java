@@ -0,0 +1,122 @@
+package com.example.Project_1.controller;
+
+import com.example.Project_1.service.RestaurantService;
+import com.example.Project_1.model.ApiResponse;
+import com.example.Project_1.util.RequestTrace;
+import com.example.Project_1.util.RequestTraceStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "http://localhost:3000")
+public class AdminController {
+
+    @Autowired
+    private RestaurantService restaurantService;
+
+    @Autowired
+    private RequestTraceStore traceStore;
+
+    // Recommendation cache statistics (size, hits, misses, hit rate, evictions)
+    @GetMapping("/cache/recommendations")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecommendationCacheStats() {
+        try {
+            Map<String, Object> stats = restaurantService.getRecommendationCache().getStats();
+            return ResponseEntity.ok(ApiResponse.success("Recommendation cache statistics", stats));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get cache statistics: " + e.getMessage()));
+        }
+    }
+
+    // Recommendation lookup table size and build time for the current catalog version
+    @GetMapping("/recommendation-table")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRecommendationTableStats() {
+        try {
+            Map<String, Object> stats = restaurantService.getRecommendationTableStats();
+            return ResponseEntity.ok(ApiResponse.success("Recommendation table statistics", stats));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get recommendation table statistics: " + e.getMessage()));
+        }
+    }
+
+    // Execution counts and timings of the pre-parsed SPARQL queries
+    @GetMapping("/queries")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getQueryStats() {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("SPARQL query statistics", restaurantService.getQueryStats()));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get query statistics: " + e.getMessage()));
+        }
+    }
+
+    // Drop every cached recommendation result
+    @DeleteMapping("/cache/recommendations")
+    public ResponseEntity<ApiResponse<String>> clearRecommendationCache() {
+        try {
+            restaurantService.getRecommendationCache().clear();
+            return ResponseEntity.ok(ApiResponse.success("Recommendation cache cleared"));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to clear cache: " + e.getMessage()));
+        }
+    }
+
+    // Trace switch state and a summary of the buffered request traces, newest first
+    @GetMapping("/traces")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getTraces() {
+        try {
+            List<Map<String, Object>> traces = new ArrayList<>();
+            for (RequestTrace trace : traceStore.recent()) {
+                Map<String, Object> summary = new LinkedHashMap<>();
+                summary.put("id", trace.getId());
+                summary.put("method", trace.getMethod());
+                summary.put("path", trace.getPath());
+                summary.put("status", trace.getStatus());
+                summary.put("startedAt", trace.getStartedAt());
+                summary.put("durationMs", trace.getDurationMs());
+                summary.put("lines", trace.getLines().size() + trace.getDroppedLines());
+                traces.add(summary);
+            }
+            Map<String, Object> result = new LinkedHashMap<>(traceStore.getStats());
+            result.put("traces", traces);
+            return ResponseEntity.ok(ApiResponse.success("Request traces", result));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get request traces: " + e.getMessage()));
+        }
+    }
+
+    // Full trace of one request, by the id returned in its X-Trace-Id response header
+    @GetMapping("/traces/{id}")
+    public ResponseEntity<ApiResponse<RequestTrace>> getTrace(@PathVariable String id) {
+        RequestTrace trace = traceStore.find(id);
+        if (trace == null) {
+            return ResponseEntity.status(404).body(ApiResponse.error("Trace not found (it may have been overwritten): " + id));
+        }
+        return ResponseEntity.ok(ApiResponse.success("Request trace", trace));
+    }
+
+    // Admin switch: trace every request while enabled
+    @PutMapping("/traces/enabled")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> setTracingEnabled(@RequestParam boolean enabled) {
+        traceStore.setEnabled(enabled);
+        return ResponseEntity.ok(ApiResponse.success("Request tracing " + (enabled ? "enabled" : "disabled"), traceStore.getStats()));
+    }
+
+    // Drop every buffered trace
+    @DeleteMapping("/traces")
+    public ResponseEntity<ApiResponse<String>> clearTraces() {
+        traceStore.clear();
+        return ResponseEntity.ok(ApiResponse.success("Request traces cleared"));
+    }
+}
@@ -1,28 +1,40 @@
 package com.example.Project_1.controller;
 
+import com.example.Project_1.service.RestaurantPage;
 import com.example.Project_1.service.RestaurantService;
+import com.example.Project_1.service.RestaurantSuggestIndex;
 import com.example.Project_1.model.ApiResponse;
 import com.example.Project_1.model.Restaurant;
 import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.util.RequestTrace;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/restaurants")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = {"X-Total-Count", "X-Next-Cursor", "X-Trace-Id"})
 public class RestaurantController {
 
+    // Page size of /all and /search/* when no limit is sent (limit=0 asks for the whole result)
+    private static final String DEFAULT_PAGE_SIZE = "50";
+
     @Autowired
     private RestaurantService restaurantService;
 
+    // Largest user list accepted by /recommendations/batch
+    @Value("${restaurant.recommendation.batch.max-size:5000}")
+    private int batchMaxSize = 5000;
+
     // Endpoint to create a static user for testing
     @GetMapping("/createStaticUser")
     public ResponseEntity<ApiResponse<String>> createStaticUser() {
         try {
-            System.out.println("Creating Static User...");
+            RequestTrace.log("Creating Static User...");
             restaurantService.createStaticUserForTest();
             return ResponseEntity.ok(ApiResponse.success("Static User has been created for testing!"));
         } catch (Exception e) {
@@ -35,7 +47,7 @@ public class RestaurantController {
     @GetMapping("/retrieveRestaurants")
     public ResponseEntity<ApiResponse<String>> retrieveRestaurants() {
         try {
-            System.out.println("Retrieving Restaurant Recommendations...");
+            RequestTrace.log("Retrieving Restaurant Recommendations...");
             restaurantService.retrieveRestaurantRecommendationsForUser();
             return ResponseEntity.ok(ApiResponse.success("Restaurant recommendations have been retrieved!"));
         } catch (Exception e) {
@@ -45,31 +57,40 @@ public class RestaurantController {
     }
 
     // NEW: Get restaurant recommendations based on user preferences
+    // (?explain=true adds the fired rules and matched clauses to each restaurant)
     @PostMapping("/recommendations")
-    public ResponseEntity<ApiResponse<List<Restaurant>>> getRecommendations(@RequestBody RestaurantRecommendationRequest request) {
+    public ResponseEntity<ApiResponse<List<Restaurant>>> getRecommendations(
+            @RequestBody RestaurantRecommendationRequest request,
+            @RequestParam(required = false, defaultValue = "false") boolean explain) {
         try {
-            System.out.println("\n" + "🎯".repeat(20));
-            System.out.println("🎯 API CALL: Get Restaurant Recommendations");
-            System.out.println("🎯".repeat(20));
-            System.out.println("👤 User ID: " + request.getUserId());
-            System.out.println("💰 Max Budget: $" + String.format("%.2f", request.getMaxBudget()));
-            System.out.println("🏃‍♂️ Runner Type: " + request.getRunnerType());
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🎯 API CALL: Get Restaurant Recommendations");
+                RequestTrace.log("👤 User ID: " + request.getUserId());
+                RequestTrace.log("💰 Max Budget: $" + String.format("%.2f", request.getMaxBudget()));
+                RequestTrace.log("🏃‍♂️ Runner Type: " + request.getRunnerType());
+            }
             
-            List<Restaurant> recommendations = restaurantService.getRestaurantRecommendations(request);
+            List<Restaurant> recommendations = restaurantService.getRestaurantRecommendations(request, explain);
             
             if (recommendations.isEmpty()) {
-                System.out.println("❌ No recommendations found for user: " + request.getUserId());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("❌ No recommendations found for user: " + request.getUserId());
+                }
                 return ResponseEntity.ok(ApiResponse.success("No restaurants found matching your criteria", recommendations));
             } else {
-                System.out.println("✅ Found " + recommendations.size() + " restaurant(s) for user: " + request.getUserId());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("✅ Found " + recommendations.size() + " restaurant(s) for user: " + request.getUserId());
+                }
                 
                 // Display API response summary
-                System.out.println("\n📋 API RESPONSE SUMMARY:");
-                System.out.println("  ├─ Total recommendations: " + recommendations.size());
-                System.out.println("  ├─ Top recommendation: " + recommendations.get(0).getRestaurantName());
-                System.out.println("  ├─ Top score: " + String.format("%.2f", recommendations.get(0).getMatchScore()));
-                System.out.println("  └─ Budget range: $" + String.format("%.2f", recommendations.get(0).getBudget()) + " - $" + 
-                                 String.format("%.2f", recommendations.get(recommendations.size()-1).getBudget()));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("📋 API RESPONSE SUMMARY:");
+                    RequestTrace.log("  ├─ Total recommendations: " + recommendations.size());
+                    RequestTrace.log("  ├─ Top recommendation: " + recommendations.get(0).getRestaurantName());
+                    RequestTrace.log("  ├─ Top score: " + String.format("%.2f", recommendations.get(0).getMatchScore()));
+                    RequestTrace.log("  └─ Budget range: $" + String.format("%.2f", recommendations.get(0).getBudget()) + " - $" +
+                                   String.format("%.2f", recommendations.get(recommendations.size()-1).getBudget()));
+                }
                 
                 return ResponseEntity.ok(ApiResponse.success("Found " + recommendations.size() + " restaurant(s) matching your criteria", recommendations));
             }
@@ -81,17 +102,49 @@ public class RestaurantController {
         }
     }
 
+    // Recommendations for many users in one call (e.g. nightly precompute for all registered runners)
+    // (?explain=true adds the fired rules and matched clauses, at the cost of derivation logging)
+    @PostMapping("/recommendations/batch")
+    public ResponseEntity<ApiResponse<Map<String, List<Restaurant>>>> getRecommendationsBatch(
+            @RequestBody List<RestaurantRecommendationRequest> requests,
+            @RequestParam(required = false, defaultValue = "false") boolean explain) {
+        try {
+            if (requests == null || requests.isEmpty()) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Request list cannot be null or empty"));
+            }
+            if (requests.size() > batchMaxSize) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Request list cannot exceed " + batchMaxSize + " users"));
+            }
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🎯 API CALL: Batch Restaurant Recommendations (" + requests.size() + " users)");
+            }
+
+            Map<String, List<Restaurant>> recommendations = restaurantService.getRestaurantRecommendationsBatch(requests, explain);
+            return ResponseEntity.ok(ApiResponse.success("Computed recommendations for " + recommendations.size() + " user(s)", recommendations));
+        } catch (Exception e) {
+            System.err.println("❌ API ERROR: Failed to get batch recommendations");
+            System.err.println("Error: " + e.getMessage());
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get batch recommendations: " + e.getMessage()));
+        }
+    }
+
     // NEW: Get all restaurants (for browsing)
     @GetMapping("/all")
-    public ResponseEntity<ApiResponse<List<Restaurant>>> getAllRestaurants() {
+    public ResponseEntity<ApiResponse<List<Restaurant>>> getAllRestaurants(
+            @RequestParam(required = false, defaultValue = "0") int cursor,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            System.out.println("Getting all restaurants...");
-            List<Restaurant> restaurants = restaurantService.getAllRestaurants();
+            RequestTrace.log("Getting all restaurants...");
+            RestaurantPage page = RestaurantPage.of(restaurantService.getAllRestaurants(), cursor, limit);
+            List<Restaurant> restaurants = page.getRestaurants();
             
             if (restaurants.isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("No restaurants found in database", restaurants));
+                return paged(page).body(ApiResponse.success("No restaurants found in database", restaurants));
             } else {
-                return ResponseEntity.ok(ApiResponse.success("Found " + restaurants.size() + " restaurant(s)", restaurants));
+                return paged(page).body(ApiResponse.success("Found " + page.getTotal() + " restaurant(s)", restaurants));
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -114,46 +167,56 @@ public class RestaurantController {
             @RequestParam(required = false) String proteinLevel,
             @RequestParam(required = false) String runnerType,
             @RequestParam(required = false, defaultValue = "name") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false, defaultValue = "false") boolean fuzzy,
+            @RequestParam(required = false, defaultValue = "0") int cursor,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            System.out.println("\n" + "🎯".repeat(20));
-            System.out.println("🎯 API CALL: Advanced Restaurant Search");
-            System.out.println("🎯".repeat(20));
-            System.out.println("📋 Search Parameters:");
-            System.out.println("  ├─ Restaurant Name: " + (restaurantName != null ? restaurantName : "Any"));
-            System.out.println("  ├─ Cuisine Type: " + (cuisineType != null ? cuisineType : "Any"));
-            System.out.println("  ├─ Restaurant Type: " + (restaurantType != null ? restaurantType : "Any"));
-            System.out.println("  ├─ Location: " + (location != null ? location : "Any"));
-            System.out.println("  ├─ Nationality: " + (nationality != null ? nationality : "Any"));
-            System.out.println("  ├─ Budget Range: $" + String.format("%.2f", minBudget) + " - $" + String.format("%.2f", maxBudget));
-            System.out.println("  ├─ Nutrition: Carb=" + (carbLevel != null ? carbLevel : "Any") + 
-                             ", Fat=" + (fatLevel != null ? fatLevel : "Any") + 
-                             ", Protein=" + (proteinLevel != null ? proteinLevel : "Any"));
-            System.out.println("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
-            System.out.println("  ├─ Sort By: " + sortBy);
-            System.out.println("  └─ Sort Order: " + sortOrder);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🎯 API CALL: Advanced Restaurant Search");
+                RequestTrace.log("📋 Search Parameters:");
+                RequestTrace.log("  ├─ Restaurant Name: " + (restaurantName != null ? restaurantName : "Any") + (fuzzy ? " (fuzzy)" : ""));
+                RequestTrace.log("  ├─ Cuisine Type: " + (cuisineType != null ? cuisineType : "Any"));
+                RequestTrace.log("  ├─ Restaurant Type: " + (restaurantType != null ? restaurantType : "Any"));
+                RequestTrace.log("  ├─ Location: " + (location != null ? location : "Any"));
+                RequestTrace.log("  ├─ Nationality: " + (nationality != null ? nationality : "Any"));
+                RequestTrace.log("  ├─ Budget Range: $" + String.format("%.2f", minBudget) + " - $" + String.format("%.2f", maxBudget));
+                RequestTrace.log("  ├─ Nutrition: Carb=" + (carbLevel != null ? carbLevel : "Any") +
+                               ", Fat=" + (fatLevel != null ? fatLevel : "Any") + 
+                               ", Protein=" + (proteinLevel != null ? proteinLevel : "Any"));
+                RequestTrace.log("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
+                RequestTrace.log("  ├─ Sort By: " + sortBy);
+                RequestTrace.log("  ├─ Sort Order: " + sortOrder);
+                RequestTrace.log("  └─ Page: cursor " + cursor + ", limit " + (limit > 0 ? limit : "none"));
+            }
             
-            List<Restaurant> results = restaurantService.searchRestaurantsAdvanced(
+            RestaurantPage page = restaurantService.searchRestaurantsAdvanced(
                 restaurantName, cuisineType, restaurantType, location, nationality,
                 minBudget, maxBudget, carbLevel, fatLevel, proteinLevel, runnerType,
-                sortBy, sortOrder);
+                sortBy, sortOrder, fuzzy, cursor, limit);
+            List<Restaurant> results = page.getRestaurants();
             
             if (results.isEmpty()) {
-                System.out.println("❌ No restaurants found matching advanced search criteria");
-                return ResponseEntity.ok(ApiResponse.success("No restaurants found matching your advanced search criteria", results));
+                RequestTrace.log("❌ No restaurants found matching advanced search criteria");
+                return paged(page).body(ApiResponse.success("No restaurants found matching your advanced search criteria", results));
             } else {
-                System.out.println("✅ Found " + results.size() + " restaurant(s) matching advanced search criteria");
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("✅ Found " + page.getTotal() + " restaurant(s) matching advanced search criteria");
+                }
                 
                 // Display API response summary
-                System.out.println("\n📋 ADVANCED SEARCH API RESPONSE SUMMARY:");
-                System.out.println("  ├─ Total results: " + results.size());
-                System.out.println("  ├─ First result: " + results.get(0).getRestaurantName());
-                System.out.println("  ├─ Last result: " + results.get(results.size()-1).getRestaurantName());
-                System.out.println("  ├─ Budget range: $" + String.format("%.2f", results.get(0).getBudget()) + " - $" + 
-                                 String.format("%.2f", results.get(results.size()-1).getBudget()));
-                System.out.println("  └─ Sort: " + sortBy + " (" + sortOrder + ")");
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("📋 ADVANCED SEARCH API RESPONSE SUMMARY:");
+                    RequestTrace.log("  ├─ Total results: " + page.getTotal());
+                    RequestTrace.log("  ├─ Page size: " + results.size());
+                    RequestTrace.log("  ├─ First result: " + results.get(0).getRestaurantName());
+                    RequestTrace.log("  ├─ Last result: " + results.get(results.size()-1).getRestaurantName());
+                    RequestTrace.log("  ├─ Budget range: $" + String.format("%.2f", results.get(0).getBudget()) + " - $" +
+                                   String.format("%.2f", results.get(results.size()-1).getBudget()));
+                    RequestTrace.log("  └─ Sort: " + sortBy + " (" + sortOrder + ")");
+                }
                 
-                return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " restaurant(s) matching your advanced search criteria", results));
+                return paged(page).body(ApiResponse.success("Found " + page.getTotal() + " restaurant(s) matching your advanced search criteria", results));
             }
         } catch (Exception e) {
             System.err.println("❌ API ERROR: Failed to perform advanced search");
@@ -171,27 +234,31 @@ public class RestaurantController {
             @RequestParam(required = false) String proteinLevel,
             @RequestParam(required = false) String runnerType,
             @RequestParam(required = false, defaultValue = "name") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false, defaultValue = "0") int cursor,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            System.out.println("\n" + "🥗".repeat(20));
-            System.out.println("🥗 API CALL: Search by Nutrition Preferences");
-            System.out.println("🥗".repeat(20));
-            System.out.println("📋 Nutrition Criteria:");
-            System.out.println("  ├─ Carb Level: " + (carbLevel != null ? carbLevel : "Any"));
-            System.out.println("  ├─ Fat Level: " + (fatLevel != null ? fatLevel : "Any"));
-            System.out.println("  ├─ Protein Level: " + (proteinLevel != null ? proteinLevel : "Any"));
-            System.out.println("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
-            System.out.println("  ├─ Sort By: " + sortBy);
-            System.out.println("  └─ Sort Order: " + sortOrder);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🥗 API CALL: Search by Nutrition Preferences");
+                RequestTrace.log("📋 Nutrition Criteria:");
+                RequestTrace.log("  ├─ Carb Level: " + (carbLevel != null ? carbLevel : "Any"));
+                RequestTrace.log("  ├─ Fat Level: " + (fatLevel != null ? fatLevel : "Any"));
+                RequestTrace.log("  ├─ Protein Level: " + (proteinLevel != null ? proteinLevel : "Any"));
+                RequestTrace.log("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
+                RequestTrace.log("  ├─ Sort By: " + sortBy);
+                RequestTrace.log("  ├─ Sort Order: " + sortOrder);
+                RequestTrace.log("  └─ Page: cursor " + cursor + ", limit " + (limit > 0 ? limit : "none"));
+            }
             
-            List<Restaurant> results = restaurantService.searchRestaurantsAdvanced(
+            RestaurantPage page = restaurantService.searchRestaurantsAdvanced(
                 null, null, null, null, null, 0, 0, 
-                carbLevel, fatLevel, proteinLevel, runnerType, sortBy, sortOrder);
+                carbLevel, fatLevel, proteinLevel, runnerType, sortBy, sortOrder, false, cursor, limit);
+            List<Restaurant> results = page.getRestaurants();
             
             if (results.isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("No restaurants found matching your nutrition preferences", results));
+                return paged(page).body(ApiResponse.success("No restaurants found matching your nutrition preferences", results));
             } else {
-                return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " restaurant(s) matching your nutrition preferences", results));
+                return paged(page).body(ApiResponse.success("Found " + page.getTotal() + " restaurant(s) matching your nutrition preferences", results));
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -204,15 +271,20 @@ public class RestaurantController {
     public ResponseEntity<ApiResponse<List<Restaurant>>> searchRestaurants(
             @RequestParam(required = false) String cuisineType,
             @RequestParam(required = false) String location,
-            @RequestParam(required = false, defaultValue = "0") float maxBudget) {
+            @RequestParam(required = false, defaultValue = "0") float maxBudget,
+            @RequestParam(required = false, defaultValue = "0") int cursor,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            System.out.println("Searching restaurants with criteria - Cuisine: " + cuisineType + ", Location: " + location + ", Max Budget: " + maxBudget);
-            List<Restaurant> results = restaurantService.searchRestaurants(cuisineType, location, maxBudget);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("Searching restaurants with criteria - Cuisine: " + cuisineType + ", Location: " + location + ", Max Budget: " + maxBudget);
+            }
+            RestaurantPage page = restaurantService.searchRestaurants(cuisineType, location, maxBudget, cursor, limit);
+            List<Restaurant> results = page.getRestaurants();
             
             if (results.isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("No restaurants found matching your search criteria", results));
+                return paged(page).body(ApiResponse.success("No restaurants found matching your search criteria", results));
             } else {
-                return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " restaurant(s) matching your criteria", results));
+                return paged(page).body(ApiResponse.success("Found " + page.getTotal() + " restaurant(s) matching your criteria", results));
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
@@ -226,38 +298,126 @@ public class RestaurantController {
             @RequestParam(required = false, defaultValue = "0") float minBudget,
             @RequestParam(required = false, defaultValue = "0") float maxBudget,
             @RequestParam(required = false, defaultValue = "budget") String sortBy,
-            @RequestParam(required = false, defaultValue = "asc") String sortOrder) {
+            @RequestParam(required = false, defaultValue = "asc") String sortOrder,
+            @RequestParam(required = false, defaultValue = "0") int cursor,
+            @RequestParam(required = false, defaultValue = DEFAULT_PAGE_SIZE) int limit) {
         try {
-            System.out.println("\n" + "💰".repeat(20));
-            System.out.println("💰 API CALL: Search by Budget Range");
-            System.out.println("💰".repeat(20));
-            System.out.println("📋 Budget Criteria:");
-            System.out.println("  ├─ Min Budget: $" + String.format("%.2f", minBudget));
-            System.out.println("  ├─ Max Budget: $" + String.format("%.2f", maxBudget));
-            System.out.println("  ├─ Sort By: " + sortBy);
-            System.out.println("  └─ Sort Order: " + sortOrder);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("💰 API CALL: Search by Budget Range");
+                RequestTrace.log("📋 Budget Criteria:");
+                RequestTrace.log("  ├─ Min Budget: $" + String.format("%.2f", minBudget));
+                RequestTrace.log("  ├─ Max Budget: $" + String.format("%.2f", maxBudget));
+                RequestTrace.log("  ├─ Sort By: " + sortBy);
+                RequestTrace.log("  ├─ Sort Order: " + sortOrder);
+                RequestTrace.log("  └─ Page: cursor " + cursor + ", limit " + (limit > 0 ? limit : "none"));
+            }
             
-            List<Restaurant> results = restaurantService.searchRestaurantsAdvanced(
-                null, null, null, null, null, minBudget, maxBudget, 
-                null, null, null, null, sortBy, sortOrder);
+            RestaurantPage page;
+            if ("budget".equalsIgnoreCase(sortBy)) {
+                // Budget order comes straight from the budget index
+                page = restaurantService.searchRestaurantsByBudget(minBudget, maxBudget, sortOrder, cursor, limit);
+            } else {
+                page = restaurantService.searchRestaurantsAdvanced(
+                    null, null, null, null, null, minBudget, maxBudget, 
+                    null, null, null, null, sortBy, sortOrder, false, cursor, limit);
+            }
+            List<Restaurant> results = page.getRestaurants();
             
             if (results.isEmpty()) {
-                return ResponseEntity.ok(ApiResponse.success("No restaurants found in your budget range", results));
+                return paged(page).body(ApiResponse.success("No restaurants found in your budget range", results));
             } else {
-                return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " restaurant(s) in your budget range", results));
+                return paged(page).body(ApiResponse.success("Found " + page.getTotal() + " restaurant(s) in your budget range", results));
             }
         } catch (Exception e) {
             return ResponseEntity.internalServerError()
                 .body(ApiResponse.error("Failed to search by budget: " + e.getMessage()));
         }
     }
+    // Filter-chip counts for the search UI, for any subset of the advanced-search filters
+    @GetMapping("/facets")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getFacetCounts(
+            @RequestParam(required = false) String restaurantName,
+            @RequestParam(required = false) String cuisineType,
+            @RequestParam(required = false) String restaurantType,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) String nationality,
+            @RequestParam(required = false, defaultValue = "0") float minBudget,
+            @RequestParam(required = false, defaultValue = "0") float maxBudget,
+            @RequestParam(required = false) String carbLevel,
+            @RequestParam(required = false) String fatLevel,
+            @RequestParam(required = false) String proteinLevel,
+            @RequestParam(required = false, defaultValue = "false") boolean fuzzy) {
+        try {
+            Map<String, Object> counts = restaurantService.getFacetCounts(
+                restaurantName, cuisineType, restaurantType, location, nationality,
+                minBudget, maxBudget, carbLevel, fatLevel, proteinLevel, fuzzy);
+            return ResponseEntity.ok(ApiResponse.success("Facet counts for " + counts.get("total") + " restaurant(s)", counts));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get facet counts: " + e.getMessage()));
+        }
+    }
+
+    // Typeahead: ranked completions of q over restaurant names, cuisines, locations and nationalities
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<RestaurantSuggestIndex.Suggestion>>> suggest(
+            @RequestParam(required = false, defaultValue = "") String q,
+            @RequestParam(required = false, defaultValue = "8") int limit) {
+        try {
+            List<RestaurantSuggestIndex.Suggestion> suggestions = restaurantService.suggest(q, limit);
+            return ResponseEntity.ok(ApiResponse.success(suggestions.size() + " suggestion(s)", suggestions));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to get suggestions: " + e.getMessage()));
+        }
+    }
+
+    // Bounds of the public /nearby search (a race venue and its surroundings, not the whole catalog)
+    private static final double MAX_NEARBY_RADIUS_KM = 50;
+    private static final int MAX_NEARBY_LIMIT = 100;
+
+    // Restaurants around a point (e.g. a race venue), nearest first
+    @GetMapping("/nearby")
+    public ResponseEntity<ApiResponse<List<Restaurant>>> getNearbyRestaurants(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false, defaultValue = "5") double radiusKm,
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        try {
+            // Negated ranges so NaN is rejected too
+            if (!(lat >= -90 && lat <= 90) || !(lon >= -180 && lon <= 180)) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Latitude must be within [-90, 90] and longitude within [-180, 180]"));
+            }
+            if (!(radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM)) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Radius must be greater than 0 and at most " + (int) MAX_NEARBY_RADIUS_KM + " km"));
+            }
+            if (limit <= 0 || limit > MAX_NEARBY_LIMIT) {
+                return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Limit must be between 1 and " + MAX_NEARBY_LIMIT));
+            }
+            
+            List<Restaurant> results = restaurantService.findNearbyRestaurants(lat, lon, radiusKm, limit);
+            
+            if (results.isEmpty()) {
+                return ResponseEntity.ok(ApiResponse.success("No restaurants found within " + radiusKm + " km", results));
+            } else {
+                return ResponseEntity.ok(ApiResponse.success("Found " + results.size() + " restaurant(s) within " + radiusKm + " km", results));
+            }
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError()
+                .body(ApiResponse.error("Failed to search nearby restaurants: " + e.getMessage()));
+        }
+    }
+
     @GetMapping("/{restaurantId}")
     public ResponseEntity<ApiResponse<Restaurant>> getRestaurantById(@PathVariable String restaurantId) {
         try {
-            System.out.println("\n" + "🎯".repeat(20));
-            System.out.println("🎯 API CALL: Get Restaurant By ID");
-            System.out.println("🎯".repeat(20));
-            System.out.println("🔍 Restaurant ID: " + restaurantId);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🎯 API CALL: Get Restaurant By ID");
+                RequestTrace.log("🔍 Restaurant ID: " + restaurantId);
+            }
             
             // Validate input
             if (restaurantId == null || restaurantId.trim().isEmpty()) {
@@ -269,19 +429,25 @@ public class RestaurantController {
             Restaurant restaurant = restaurantService.getRestaurantById(restaurantId);
             
             if (restaurant == null) {
-                System.out.println("❌ Restaurant not found for ID: " + restaurantId);
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("❌ Restaurant not found for ID: " + restaurantId);
+                }
                 return ResponseEntity.status(404)
                     .body(ApiResponse.error("Restaurant not found with ID: " + restaurantId));
             } else {
-                System.out.println("✅ Restaurant found: " + restaurant.getRestaurantName());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("✅ Restaurant found: " + restaurant.getRestaurantName());
+                }
                 
                 // Display API response summary
-                System.out.println("\n📋 API RESPONSE SUMMARY:");
-                System.out.println("  ├─ Restaurant Name: " + restaurant.getRestaurantName());
-                System.out.println("  ├─ Cuisine: " + restaurant.getCuisineType());
-                System.out.println("  ├─ Type: " + restaurant.getRestaurantType());
-                System.out.println("  ├─ Budget: $" + String.format("%.2f", restaurant.getBudget()));
-                System.out.println("  └─ Location: " + restaurant.getLocation());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("📋 API RESPONSE SUMMARY:");
+                    RequestTrace.log("  ├─ Restaurant Name: " + restaurant.getRestaurantName());
+                    RequestTrace.log("  ├─ Cuisine: " + restaurant.getCuisineType());
+                    RequestTrace.log("  ├─ Type: " + restaurant.getRestaurantType());
+                    RequestTrace.log("  ├─ Budget: $" + String.format("%.2f", restaurant.getBudget()));
+                    RequestTrace.log("  └─ Location: " + restaurant.getLocation());
+                }
                 
                 return ResponseEntity.ok(ApiResponse.success("Restaurant details retrieved successfully", restaurant));
             }
@@ -300,4 +466,13 @@ public class RestaurantController {
     public ResponseEntity<ApiResponse<String>> healthCheck() {
         return ResponseEntity.ok(ApiResponse.success("Restaurant service is running"));
     }
+
+    // 200 response carrying the pagination headers: X-Total-Count always, X-Next-Cursor while more pages remain
+    private ResponseEntity.BodyBuilder paged(RestaurantPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().header("X-Total-Count", String.valueOf(page.getTotal()));
+        if (page.getNextCursor() != null) {
+            response.header("X-Next-Cursor", String.valueOf(page.getNextCursor()));
+        }
+        return response;
+    }
 }
@@ -49,6 +49,12 @@ public class Restaurant {
     @Transient
     private java.util.List<String> matchedRules;
 
+    @Transient
+    private java.util.List<RuleExplanation> explanation;
+
+    @Transient
+    private Double distanceKm;
+
     // Constructors
     public Restaurant() {}
 
@@ -59,6 +65,36 @@ public class Restaurant {
         this.budget = budget;
     }
 
+    // Copy constructor - catalog entries are shared, so per-request results work on a copy
+    public Restaurant(Restaurant other) {
+        this.restaurantId = other.restaurantId;
+        this.restaurantName = other.restaurantName;
+        this.cuisineType = other.cuisineType;
+        this.restaurantType = other.restaurantType;
+        this.location = other.location;
+        this.latitude = other.latitude;
+        this.longitude = other.longitude;
+        this.nationality = other.nationality;
+        this.budget = other.budget;
+        this.telephone = other.telephone;
+        if (other.nutritionProfile != null) {
+            this.nutritionProfile = new NutritionProfile(other.nutritionProfile.getCarbLevel(),
+                    other.nutritionProfile.getFatLevel(), other.nutritionProfile.getProteinLevel());
+        }
+        this.matchScore = other.matchScore;
+        this.ruleConfidence = other.ruleConfidence;
+        if (other.matchedRules != null) {
+            this.matchedRules = new java.util.ArrayList<>(other.matchedRules);
+        }
+        this.distanceKm = other.distanceKm;
+        if (other.explanation != null) {
+            this.explanation = new java.util.ArrayList<>();
+            for (RuleExplanation rule : other.explanation) {
+                this.explanation.add(new RuleExplanation(rule));
+            }
+        }
+    }
+
     // Getters and Setters
     public String getRestaurantId() { return restaurantId; }
     public void setRestaurantId(String restaurantId) { this.restaurantId = restaurantId; }
@@ -102,6 +138,13 @@ public class Restaurant {
     public java.util.List<String> getMatchedRules() { return matchedRules; }
     public void setMatchedRules(java.util.List<String> matchedRules) { this.matchedRules = matchedRules; }
 
+    public java.util.List<RuleExplanation> getExplanation() { return explanation; }
+    public void setExplanation(java.util.List<RuleExplanation> explanation) { this.explanation = explanation; }
+
+    // Distance from the query point, only set by nearby searches
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
     // Inner class for nutrition profile
     @Embeddable
     public static class NutritionProfile {
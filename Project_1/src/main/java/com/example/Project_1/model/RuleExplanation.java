@@ -0,0 +1,36 @@
+package com.example.Project_1.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// One rule firing behind a recommendation, returned only for explain requests
+public class RuleExplanation {
+    private String ruleId;
+    private Float confidence;
+    private List<String> matchedClauses = new ArrayList<>();
+
+    public RuleExplanation() {}
+
+    public RuleExplanation(String ruleId, Float confidence, List<String> matchedClauses) {
+        this.ruleId = ruleId;
+        this.confidence = confidence;
+        this.matchedClauses = matchedClauses;
+    }
+
+    // Copy constructor, see Restaurant(Restaurant)
+    public RuleExplanation(RuleExplanation other) {
+        this.ruleId = other.ruleId;
+        this.confidence = other.confidence;
+        this.matchedClauses = other.matchedClauses != null ? new ArrayList<>(other.matchedClauses) : null;
+    }
+
+    // Getters and Setters
+    public String getRuleId() { return ruleId; }
+    public void setRuleId(String ruleId) { this.ruleId = ruleId; }
+
+    public Float getConfidence() { return confidence; }
+    public void setConfidence(Float confidence) { this.confidence = confidence; }
+
+    public List<String> getMatchedClauses() { return matchedClauses; }
+    public void setMatchedClauses(List<String> matchedClauses) { this.matchedClauses = matchedClauses; }
+}
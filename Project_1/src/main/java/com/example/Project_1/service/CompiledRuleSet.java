@@ -0,0 +1,201 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+
+/**
+ * Recommendation rules compiled into typed matchers.
+ *
+ * Built on top of {@link RulePartialEvaluator}: the restaurant side of each rule
+ * is already a precomputed set of restaurant URIs, and the user side is compiled
+ * here from (?User re:&lt;property&gt; &lt;constant&gt;) patterns into plain field
+ * comparisons against a {@link RecommendationProfile}. Evaluating a request
+ * therefore touches no RDF at all: no user individual, no overlay graph and no
+ * GenericRuleReasoner. The semantics are those of the hybrid reasoner — a rule
+ * fires when every user condition holds and recommends its restaurant set with
+ * the confidence from the rule head.
+ *
+ * A user condition on a property this class doesn't know is reported by
+ * {@link #getUncompiledRules()}; callers fall back when {@link #isComplete()} is false.
+ */
+public final class CompiledRuleSet {
+
+    // Profile slot a user-side rule condition reads
+    enum ProfileField {
+        RUNNER_TYPE("RunnerType", false),
+        PRE_RUN_CARB("PreRunCarbConsumtion", false),
+        PRE_RUN_FAT("PreRunFatConsumtion", false),
+        PRE_RUN_PROTEIN("PreRunProteinConsumtion", false),
+        POST_RUN_CARB("PostRunCarbConsumtion", false),
+        POST_RUN_FAT("PostRunFatConsumtion", false),
+        POST_RUN_PROTEIN("PostRunProteinConsumtion", false),
+        RESTAURANT_TYPE_INTEREST("hasRestaurantTypeInterest", true),
+        FOOD_TYPE_INTEREST("hasFoodTypeInterest", true);
+
+        private final String localName;
+        final boolean resourceValued;
+
+        ProfileField(String localName, boolean resourceValued) {
+            this.localName = localName;
+            this.resourceValued = resourceValued;
+        }
+
+        boolean matches(RecommendationProfile profile, String expected) {
+            switch (this) {
+                case RUNNER_TYPE: return expected.equals(profile.getRunnerType());
+                case PRE_RUN_CARB: return expected.equals(profile.getPreRunCarb());
+                case PRE_RUN_FAT: return expected.equals(profile.getPreRunFat());
+                case PRE_RUN_PROTEIN: return expected.equals(profile.getPreRunProtein());
+                case POST_RUN_CARB: return expected.equals(profile.getPostRunCarb());
+                case POST_RUN_FAT: return expected.equals(profile.getPostRunFat());
+                case POST_RUN_PROTEIN: return expected.equals(profile.getPostRunProtein());
+                case RESTAURANT_TYPE_INTEREST: return profile.getRestaurantTypeInterests().contains(expected);
+                case FOOD_TYPE_INTEREST: return profile.getFoodTypeInterests().contains(expected);
+                default: return false;
+            }
+        }
+
+        static ProfileField forLocalName(String localName) {
+            for (ProfileField field : values()) {
+                if (field.localName.equals(localName)) return field;
+            }
+            return null;
+        }
+    }
+
+    private final RulePartialEvaluator source;
+    private final List<CompiledRule> rules;
+    private final List<String> uncompiledRules;
+
+    private CompiledRuleSet(RulePartialEvaluator source, List<CompiledRule> rules, List<String> uncompiledRules) {
+        this.source = source;
+        this.rules = Collections.unmodifiableList(rules);
+        this.uncompiledRules = Collections.unmodifiableList(uncompiledRules);
+    }
+
+    /**
+     * Compile the user side of every pre-evaluated rule.
+     *
+     * @param namespace ontology namespace the user properties and interest constants live in
+     */
+    public static CompiledRuleSet compile(RulePartialEvaluator evaluator, String namespace) {
+        List<CompiledRule> compiled = new ArrayList<>();
+        List<String> uncompiled = new ArrayList<>(evaluator.getUnsupportedRules());
+
+        for (RulePartialEvaluator.PrecomputedRule rule : evaluator.getRules()) {
+            List<Triple> conditions = rule.getUserConditions();
+            ProfileField[] fields = new ProfileField[conditions.size()];
+            String[] values = new String[conditions.size()];
+            boolean ok = true;
+            for (int i = 0; i < conditions.size() && ok; i++) {
+                Node predicate = conditions.get(i).getPredicate();
+                Node object = conditions.get(i).getObject();
+                ProfileField field = predicate.isURI() && predicate.getURI().startsWith(namespace)
+                        ? ProfileField.forLocalName(predicate.getURI().substring(namespace.length())) : null;
+                if (field == null) {
+                    ok = false;
+                } else if (field.resourceValued) {
+                    ok = object.isURI() && object.getURI().startsWith(namespace);
+                    if (ok) values[i] = object.getURI().substring(namespace.length());
+                } else {
+                    ok = object.isLiteral();
+                    if (ok) values[i] = object.getLiteralLexicalForm();
+                }
+                fields[i] = field;
+            }
+            if (ok) {
+                String[] restaurantUris = rule.getRestaurantUris().toArray(new String[0]);
+                compiled.add(new CompiledRule(rule.getName(), fields, values, rule.getConfidence(), restaurantUris));
+            } else {
+                uncompiled.add(rule.getName());
+            }
+        }
+        return new CompiledRuleSet(evaluator, compiled, uncompiled);
+    }
+
+    /**
+     * Evaluate every compiled rule against the profile. Same result shape as
+     * {@link RulePartialEvaluator#evaluate}: one entry per restaurant, highest
+     * confidence kept, ordered by confidence desc.
+     */
+    public List<RulePartialEvaluator.Recommendation> evaluate(RecommendationProfile profile) {
+        return evaluate(firedRules(profile));
+    }
+
+    // Indexes of the rules whose user conditions all hold for the profile
+    BitSet firedRules(RecommendationProfile profile) {
+        BitSet fired = new BitSet(rules.size());
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matches(profile)) fired.set(i);
+        }
+        return fired;
+    }
+
+    // Union of the restaurant sets of the given fired rules
+    List<RulePartialEvaluator.Recommendation> evaluate(BitSet fired) {
+        Map<String, RulePartialEvaluator.Recommendation> byRestaurant = new LinkedHashMap<>();
+        for (int i = fired.nextSetBit(0); i >= 0; i = fired.nextSetBit(i + 1)) {
+            CompiledRule rule = rules.get(i);
+            for (String uri : rule.restaurantUris) {
+                byRestaurant.computeIfAbsent(uri, RulePartialEvaluator.Recommendation::new).add(rule.name, rule.confidence);
+            }
+        }
+        List<RulePartialEvaluator.Recommendation> result = new ArrayList<>(byRestaurant.values());
+        result.sort((a, b) -> Float.compare(b.getConfidence(), a.getConfidence()));
+        return result;
+    }
+
+    // Distinct constants the rules compare each profile field against (the rule-relevant value space)
+    Map<ProfileField, Set<String>> conditionValues() {
+        Map<ProfileField, Set<String>> values = new EnumMap<>(ProfileField.class);
+        for (CompiledRule rule : rules) {
+            for (int i = 0; i < rule.fields.length; i++) {
+                values.computeIfAbsent(rule.fields[i], f -> new TreeSet<>()).add(rule.values[i]);
+            }
+        }
+        return values;
+    }
+
+    // Evaluator this set was compiled from (identifies the catalog and rule version)
+    public RulePartialEvaluator getSource() { return source; }
+
+    public int size() { return rules.size(); }
+
+    public List<String> getUncompiledRules() { return uncompiledRules; }
+
+    public boolean isComplete() { return uncompiledRules.isEmpty(); }
+
+    // User side of one rule as parallel field/value arrays, restaurant side as a URI array
+    private static final class CompiledRule {
+        private final String name;
+        private final ProfileField[] fields;
+        private final String[] values;
+        private final float confidence;
+        private final String[] restaurantUris;
+
+        CompiledRule(String name, ProfileField[] fields, String[] values, float confidence, String[] restaurantUris) {
+            this.name = name;
+            this.fields = fields;
+            this.values = values;
+            this.confidence = confidence;
+            this.restaurantUris = restaurantUris;
+        }
+
+        boolean matches(RecommendationProfile profile) {
+            for (int i = 0; i < fields.length; i++) {
+                if (!fields[i].matches(profile, values[i])) return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Bounded cache of recommendation results keyed by {@link RecommendationProfile}.
+ *
+ * Recommendations only depend on the preference profile, not on the user id,
+ * and most users share a handful of profiles. Entries are evicted least recently
+ * used first once {@code maxEntries} is reached and expire after {@code ttlMillis}.
+ * Every entry belongs to a catalog version; seeing a newer version drops the whole
+ * cache, so a reloaded ontology (and the rules pre-evaluated against it) never
+ * serves stale results. Simple synchronized in-memory implementation, same as
+ * the rate limiter — no cache library needed at this size.
+ *
+ * Restaurants are copied on the way in and on the way out, so callers may
+ * mutate the lists they get back.
+ */
+public final class RecommendationCache {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final LinkedHashMap<RecommendationProfile, Entry> entries;
+
+    private long version = -1;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long expirations;
+    private long invalidations;
+
+    public RecommendationCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RecommendationProfile, Entry> eldest) {
+                boolean evict = size() > RecommendationCache.this.maxEntries;
+                if (evict) evictions++;
+                return evict;
+            }
+        };
+    }
+
+    // Cached result for the profile, or null on a miss (absent, expired or from an older catalog version)
+    public synchronized List<Restaurant> get(RecommendationProfile profile, long catalogVersion) {
+        checkVersion(catalogVersion);
+        Entry entry = entries.get(profile);
+        if (entry != null && ttlMillis > 0 && System.currentTimeMillis() - entry.createdAt > ttlMillis) {
+            entries.remove(profile);
+            expirations++;
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return copy(entry.restaurants);
+    }
+
+    public synchronized void put(RecommendationProfile profile, long catalogVersion, List<Restaurant> restaurants) {
+        checkVersion(catalogVersion);
+        if (catalogVersion != version) return; // result computed against an older snapshot
+        entries.put(profile, new Entry(copy(restaurants)));
+    }
+
+    public synchronized void clear() {
+        if (!entries.isEmpty()) invalidations++;
+        entries.clear();
+    }
+
+    // Drop everything when a newer catalog version shows up
+    private void checkVersion(long catalogVersion) {
+        if (catalogVersion > version) {
+            if (!entries.isEmpty()) invalidations++;
+            entries.clear();
+            version = catalogVersion;
+        }
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        // Purge expired entries so the reported size is accurate
+        if (ttlMillis > 0) {
+            long now = System.currentTimeMillis();
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().createdAt > ttlMillis) {
+                    it.remove();
+                    expirations++;
+                }
+            }
+        }
+
+        long requests = hits + misses;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", entries.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("ttlSeconds", ttlMillis / 1000);
+        stats.put("catalogVersion", version);
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRate", requests == 0 ? 0.0 : (double) hits / requests);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations);
+        return stats;
+    }
+
+    private static List<Restaurant> copy(List<Restaurant> restaurants) {
+        List<Restaurant> copies = new ArrayList<>(restaurants.size());
+        for (Restaurant restaurant : restaurants) {
+            copies.add(new Restaurant(restaurant));
+        }
+        return copies;
+    }
+
+    private static final class Entry {
+        private final List<Restaurant> restaurants;
+        private final long createdAt = System.currentTimeMillis();
+
+        Entry(List<Restaurant> restaurants) {
+            this.restaurants = restaurants;
+        }
+    }
+}
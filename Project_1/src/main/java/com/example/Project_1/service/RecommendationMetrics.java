@@ -0,0 +1,94 @@
+package com.example.Project_1.service;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the recommendation pipeline, exported at /actuator/prometheus.
+ *
+ * restaurant.recommendation.stage is a timer per {strategy, stage}: the strategy is
+ * the recommendation method (Remove, Replace, Reload, their Improved variants,
+ * Default for getRestaurantRecommendations or Batch), the stage one of {@link Stage}.
+ * restaurant.recommendation is the end-to-end timer per strategy and
+ * restaurant.recommendation.rule.hits counts the recommendations derived by each rule
+ * wherever the fired rules are known (precomputed paths, explain and batch).
+ *
+ * Stages are recorded from System.nanoTime() starts, so a stage that a request
+ * skips (e.g. the reasoner on the precomputed paths) simply records nothing.
+ */
+@Component
+public class RecommendationMetrics {
+
+    public static final String RECOMMENDATION_TIMER = "restaurant.recommendation";
+    public static final String STAGE_TIMER = "restaurant.recommendation.stage";
+    public static final String RULE_HITS = "restaurant.recommendation.rule.hits";
+
+    public static final String DEFAULT_STRATEGY = "Default";
+    public static final String BATCH_STRATEGY = "Batch";
+
+    public enum Stage {
+        MODEL("model"),             // ontology load or per-request overlay over the cached graph
+        USER("user"),               // user individual construction
+        REASONER("reasoner"),       // reasoner creation and forward-rule preparation
+        SPARQL("sparql"),           // recommendation query, including backward-rule evaluation
+        DERIVATIONS("derivations"), // fired-rule collection (explain and batch only)
+        CONVERT("convert");         // RDF resources to Restaurant objects
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() { return tag; }
+    }
+
+    private final MeterRegistry registry;
+    private final ConcurrentHashMap<String, Timer> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> ruleHits = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RecommendationMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Record a stage that started at startNanos (System.nanoTime()) and ends now
+    public void record(String strategy, Stage stage, long startNanos) {
+        recordNanos(strategy, stage, System.nanoTime() - startNanos);
+    }
+
+    // Record an accumulated stage duration, e.g. conversions spread over a result loop
+    public void recordNanos(String strategy, Stage stage, long nanos) {
+        timers.computeIfAbsent(strategy + "|" + stage.getTag(), key -> Timer.builder(STAGE_TIMER)
+                .description("Recommendation pipeline stage latency")
+                .tag("strategy", strategy)
+                .tag("stage", stage.getTag())
+                .register(registry))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // Record a whole recommendation request that started at startNanos
+    public void recordRequest(String strategy, long startNanos) {
+        timers.computeIfAbsent(strategy, key -> Timer.builder(RECOMMENDATION_TIMER)
+                .description("Recommendation request latency")
+                .tag("strategy", strategy)
+                .register(registry))
+            .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // One recommendation derived by the named rule
+    public void ruleHit(String rule) {
+        if (rule == null) return;
+        ruleHits.computeIfAbsent(rule, key -> Counter.builder(RULE_HITS)
+                .description("Recommendations derived per rule")
+                .tag("rule", rule)
+                .register(registry))
+            .increment();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.Project_1.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Typed, canonical view of a recommendation request.
+ *
+ * Holds exactly what the rules can see about a user: runner type, the six
+ * pre/post-run nutrition levels, restaurant-type and food-type interests (as
+ * ontology local names, sorted) and the budget. The user id is deliberately not
+ * part of it. Instances are immutable; RestaurantService builds them with the
+ * same normalization it uses for the RDF user individual.
+ */
+public final class RecommendationProfile {
+
+    private final String runnerType;
+    private final String preRunCarb;
+    private final String preRunFat;
+    private final String preRunProtein;
+    private final String postRunCarb;
+    private final String postRunFat;
+    private final String postRunProtein;
+    private final Set<String> restaurantTypeInterests;
+    private final Set<String> foodTypeInterests;
+    private final float maxBudget;
+
+    public RecommendationProfile(String runnerType,
+                                 String preRunCarb, String preRunFat, String preRunProtein,
+                                 String postRunCarb, String postRunFat, String postRunProtein,
+                                 Collection<String> restaurantTypeInterests, Collection<String> foodTypeInterests,
+                                 float maxBudget) {
+        this.runnerType = runnerType;
+        this.preRunCarb = preRunCarb;
+        this.preRunFat = preRunFat;
+        this.preRunProtein = preRunProtein;
+        this.postRunCarb = postRunCarb;
+        this.postRunFat = postRunFat;
+        this.postRunProtein = postRunProtein;
+        this.restaurantTypeInterests = sortedCopy(restaurantTypeInterests);
+        this.foodTypeInterests = sortedCopy(foodTypeInterests);
+        this.maxBudget = maxBudget;
+    }
+
+    private static Set<String> sortedCopy(Collection<String> values) {
+        Set<String> sorted = new TreeSet<>();
+        if (values != null) {
+            for (String value : values) {
+                if (value != null && !value.isEmpty()) sorted.add(value);
+            }
+        }
+        return Collections.unmodifiableSet(sorted);
+    }
+
+    public String getRunnerType() { return runnerType; }
+    public String getPreRunCarb() { return preRunCarb; }
+    public String getPreRunFat() { return preRunFat; }
+    public String getPreRunProtein() { return preRunProtein; }
+    public String getPostRunCarb() { return postRunCarb; }
+    public String getPostRunFat() { return postRunFat; }
+    public String getPostRunProtein() { return postRunProtein; }
+    public Set<String> getRestaurantTypeInterests() { return restaurantTypeInterests; }
+    public Set<String> getFoodTypeInterests() { return foodTypeInterests; }
+    public float getMaxBudget() { return maxBudget; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RecommendationProfile)) return false;
+        RecommendationProfile other = (RecommendationProfile) o;
+        return Float.compare(maxBudget, other.maxBudget) == 0
+                && Objects.equals(runnerType, other.runnerType)
+                && Objects.equals(preRunCarb, other.preRunCarb)
+                && Objects.equals(preRunFat, other.preRunFat)
+                && Objects.equals(preRunProtein, other.preRunProtein)
+                && Objects.equals(postRunCarb, other.postRunCarb)
+                && Objects.equals(postRunFat, other.postRunFat)
+                && Objects.equals(postRunProtein, other.postRunProtein)
+                && restaurantTypeInterests.equals(other.restaurantTypeInterests)
+                && foodTypeInterests.equals(other.foodTypeInterests);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(runnerType, preRunCarb, preRunFat, preRunProtein, postRunCarb, postRunFat, postRunProtein,
+                restaurantTypeInterests, foodTypeInterests, maxBudget);
+    }
+
+    @Override
+    public String toString() {
+        return "RecommendationProfile{runnerType=" + runnerType +
+               ", preRun=" + preRunCarb + "/" + preRunFat + "/" + preRunProtein +
+               ", postRun=" + postRunCarb + "/" + postRunFat + "/" + postRunProtein +
+               ", restaurantTypes=" + restaurantTypeInterests +
+               ", foodTypes=" + foodTypeInterests +
+               ", maxBudget=" + maxBudget + "}";
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Exhaustive recommendation table over the rule-relevant preference space.
+ *
+ * The rules only compare a profile against a few constants ("Medium",
+ * "Fun run", re:Fast_Dining_Type, ...), so any profile collapses to one cell:
+ * per scalar field, which of those constants it equals (or none of them), and
+ * per interest constant, whether the profile has it. The table enumerates every
+ * cell once, records which rules fire there, and keeps one result list per
+ * distinct fired-rule set. A request is then a key computation plus an array
+ * lookup.
+ *
+ * The table is derived from a {@link CompiledRuleSet}, which is rebuilt per
+ * catalog version, so it is regenerated whenever the ontology or rules change.
+ */
+public final class RecommendationTable {
+
+    // Guard against rule sets whose value space would make the table unreasonably large
+    static final int MAX_CELLS = 1 << 20;
+
+    private final CompiledRuleSet source;
+    private final List<Dimension> dimensions;
+    private final int[] cellResults;
+    private final List<List<RulePartialEvaluator.Recommendation>> results;
+    private final long buildMillis;
+
+    private RecommendationTable(CompiledRuleSet source, List<Dimension> dimensions, int[] cellResults,
+                                List<List<RulePartialEvaluator.Recommendation>> results, long buildMillis) {
+        this.source = source;
+        this.dimensions = dimensions;
+        this.cellResults = cellResults;
+        this.results = results;
+        this.buildMillis = buildMillis;
+    }
+
+    /**
+     * Enumerate every cell of the preference space and evaluate the rules once per cell.
+     *
+     * @return the table, or null when the space is larger than {@link #MAX_CELLS}
+     */
+    public static RecommendationTable build(CompiledRuleSet rules) {
+        long start = System.currentTimeMillis();
+
+        List<Dimension> dimensions = new ArrayList<>();
+        long cells = 1;
+        for (Map.Entry<CompiledRuleSet.ProfileField, Set<String>> entry : rules.conditionValues().entrySet()) {
+            CompiledRuleSet.ProfileField field = entry.getKey();
+            if (field.resourceValued) {
+                // One yes/no dimension per interest constant
+                for (String value : entry.getValue()) {
+                    dimensions.add(new Dimension(field, Collections.singletonList(value)));
+                    cells *= 2;
+                }
+            } else {
+                // Index 0 = none of the constants, 1..n = equals that constant
+                Dimension dimension = new Dimension(field, new ArrayList<>(entry.getValue()));
+                dimensions.add(dimension);
+                cells *= dimension.radix();
+            }
+            if (cells > MAX_CELLS) return null;
+        }
+
+        int[] cellResults = new int[(int) cells];
+        List<List<RulePartialEvaluator.Recommendation>> results = new ArrayList<>();
+        Map<BitSet, Integer> resultIds = new HashMap<>();
+        int[] digits = new int[dimensions.size()];
+        for (int cell = 0; cell < cells; cell++) {
+            BitSet fired = rules.firedRules(profileFor(dimensions, digits));
+            Integer id = resultIds.get(fired);
+            if (id == null) {
+                id = results.size();
+                resultIds.put(fired, id);
+                results.add(Collections.unmodifiableList(rules.evaluate(fired)));
+            }
+            cellResults[cell] = id;
+            increment(dimensions, digits);
+        }
+
+        return new RecommendationTable(rules, dimensions, cellResults, results, System.currentTimeMillis() - start);
+    }
+
+    // Mixed-radix counter over the dimensions, first dimension varies fastest
+    private static void increment(List<Dimension> dimensions, int[] digits) {
+        for (int i = 0; i < digits.length; i++) {
+            if (++digits[i] < dimensions.get(i).radix()) return;
+            digits[i] = 0;
+        }
+    }
+
+    // Representative profile for one cell
+    private static RecommendationProfile profileFor(List<Dimension> dimensions, int[] digits) {
+        Map<CompiledRuleSet.ProfileField, String> scalars = new HashMap<>();
+        Set<String> restaurantTypes = new TreeSet<>();
+        Set<String> foodTypes = new TreeSet<>();
+        for (int i = 0; i < digits.length; i++) {
+            Dimension dimension = dimensions.get(i);
+            if (digits[i] == 0) continue;
+            String value = dimension.values.get(digits[i] - 1);
+            if (dimension.field == CompiledRuleSet.ProfileField.RESTAURANT_TYPE_INTEREST) {
+                restaurantTypes.add(value);
+            } else if (dimension.field == CompiledRuleSet.ProfileField.FOOD_TYPE_INTEREST) {
+                foodTypes.add(value);
+            } else {
+                scalars.put(dimension.field, value);
+            }
+        }
+        return new RecommendationProfile(
+            scalars.get(CompiledRuleSet.ProfileField.RUNNER_TYPE),
+            scalars.get(CompiledRuleSet.ProfileField.PRE_RUN_CARB),
+            scalars.get(CompiledRuleSet.ProfileField.PRE_RUN_FAT),
+            scalars.get(CompiledRuleSet.ProfileField.PRE_RUN_PROTEIN),
+            scalars.get(CompiledRuleSet.ProfileField.POST_RUN_CARB),
+            scalars.get(CompiledRuleSet.ProfileField.POST_RUN_FAT),
+            scalars.get(CompiledRuleSet.ProfileField.POST_RUN_PROTEIN),
+            restaurantTypes, foodTypes, 0f);
+    }
+
+    // Recommendations for the profile's cell (shared, read-only)
+    public List<RulePartialEvaluator.Recommendation> lookup(RecommendationProfile profile) {
+        int cell = 0;
+        int stride = 1;
+        for (Dimension dimension : dimensions) {
+            cell += dimension.digitOf(profile) * stride;
+            stride *= dimension.radix();
+        }
+        return results.get(cellResults[cell]);
+    }
+
+    // Rule set this table was enumerated from
+    public CompiledRuleSet getSource() { return source; }
+
+    // Number of cells in the preference space
+    public int size() { return cellResults.length; }
+
+    // Number of distinct result lists the cells point to
+    public int distinctResults() { return results.size(); }
+
+    public long getBuildMillis() { return buildMillis; }
+
+    public Map<String, Object> getStats() {
+        List<String> dimensionNames = new ArrayList<>();
+        for (Dimension dimension : dimensions) {
+            dimensionNames.add(dimension.field + (dimension.field.resourceValued ? "=" + dimension.values.get(0) : dimension.values.toString()));
+        }
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("catalogVersion", source.getSource().getCatalogVersion());
+        stats.put("rules", source.size());
+        stats.put("dimensions", dimensionNames);
+        stats.put("cells", size());
+        stats.put("distinctResults", distinctResults());
+        stats.put("buildMillis", buildMillis);
+        return stats;
+    }
+
+    // One axis of the preference space: a scalar field with its constants, or a single interest constant
+    private static final class Dimension {
+        private final CompiledRuleSet.ProfileField field;
+        private final List<String> values;
+
+        Dimension(CompiledRuleSet.ProfileField field, List<String> values) {
+            this.field = field;
+            this.values = values;
+        }
+
+        int radix() { return values.size() + 1; }
+
+        int digitOf(RecommendationProfile profile) {
+            if (field.resourceValued) {
+                return field.matches(profile, values.get(0)) ? 1 : 0;
+            }
+            for (int i = 0; i < values.size(); i++) {
+                if (field.matches(profile, values.get(i))) return i + 1;
+            }
+            return 0;
+        }
+    }
+}
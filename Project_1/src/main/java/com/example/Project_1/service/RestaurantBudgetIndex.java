@@ -0,0 +1,116 @@
+package com.example.Project_1.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Budget-ordered index of the catalog restaurants.
+ *
+ * Budgets are kept in a primitive float[] sorted ascending, next to the catalog
+ * positions (ordinals) they belong to, so a min/max range is two binary
+ * searches and its restaurants come out already ordered by budget. Equal
+ * budgets stay in catalog order in both directions, the same order a stable
+ * sort of the scanned results gives.
+ */
+public final class RestaurantBudgetIndex {
+
+    private final float[] budgets;
+    private final int[] ordinals;
+
+    RestaurantBudgetIndex(List<Restaurant> restaurants) {
+        int n = restaurants.size();
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        // Arrays.sort on objects is stable: ties keep catalog order
+        Arrays.sort(order, (a, b) -> Float.compare(restaurants.get(a).getBudget(), restaurants.get(b).getBudget()));
+
+        this.budgets = new float[n];
+        this.ordinals = new int[n];
+        for (int i = 0; i < n; i++) {
+            ordinals[i] = order[i];
+            budgets[i] = restaurants.get(order[i]).getBudget();
+        }
+    }
+
+    public int size() { return budgets.length; }
+
+    // First index position with budget >= minBudget (0 when minBudget <= 0, i.e. no lower bound)
+    public int from(float minBudget) {
+        if (minBudget <= 0) return 0;
+        int lo = 0, hi = budgets.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (budgets[mid] < minBudget) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // First index position with budget > maxBudget (size() when maxBudget <= 0, i.e. no upper bound)
+    public int to(float maxBudget) {
+        if (maxBudget <= 0) return budgets.length;
+        int lo = 0, hi = budgets.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (budgets[mid] <= maxBudget) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    // Number of restaurants within [minBudget, maxBudget]
+    public int count(float minBudget, float maxBudget) {
+        return Math.max(0, to(maxBudget) - from(minBudget));
+    }
+
+    // Catalog ordinals within [minBudget, maxBudget] as a bitset, to combine with other filters
+    public BitSet matching(float minBudget, float maxBudget) {
+        BitSet bits = new BitSet(budgets.length);
+        for (int i = from(minBudget), to = to(maxBudget); i < to; i++) {
+            bits.set(ordinals[i]);
+        }
+        return bits;
+    }
+
+    /**
+     * Catalog ordinals of one page of the [minBudget, maxBudget] range, ordered by
+     * budget. skip is the number of range entries before the page, limit the page
+     * size (<= 0 for the rest of the range).
+     */
+    public int[] page(float minBudget, float maxBudget, boolean ascending, int skip, int limit) {
+        int from = from(minBudget);
+        int to = to(maxBudget);
+        int available = Math.max(0, to - from - Math.max(0, skip));
+        int n = limit > 0 ? Math.min(limit, available) : available;
+        int[] page = new int[n];
+        if (n == 0) return page;
+
+        if (ascending) {
+            System.arraycopy(ordinals, from + Math.max(0, skip), page, 0, n);
+            return page;
+        }
+
+        // Descending: walk runs of equal budgets from the top, each run in catalog order
+        int skipped = 0;
+        int filled = 0;
+        int runEnd = to;
+        while (runEnd > from && filled < n) {
+            int runStart = runEnd - 1;
+            while (runStart > from && budgets[runStart - 1] == budgets[runEnd - 1]) {
+                runStart--;
+            }
+            for (int i = runStart; i < runEnd && filled < n; i++) {
+                if (skipped < skip) {
+                    skipped++;
+                } else {
+                    page[filled++] = ordinals[i];
+                }
+            }
+            runEnd = runStart;
+        }
+        return page;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.jena.rdf.model.Model;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Immutable snapshot of the restaurant catalog.
+ *
+ * Built once from the ontology and published atomically by RestaurantService,
+ * so every read path (browse, search, detail) works against the same projected
+ * Restaurant objects instead of re-parsing the RDF per request. The entries are
+ * shared between requests: callers that need to attach per-request data (match
+ * score, matched rules) must work on a copy, see {@link #copyOf(String)}.
+ *
+ * Detail lookups go through hash maps keyed by full URI and by local name (the
+ * part after '#'). Restaurants typed in other namespaces of the ontology (j.0 -
+ * j.3) are projected at build time too; they are reachable by URI and local name
+ * but are not part of {@link #getRestaurants()}, so browse and search results are
+ * unchanged.
+ */
+public final class RestaurantCatalog {
+
+    private final long version;
+    private final long builtAt;
+    private final Model model;
+    private final List<Restaurant> restaurants;
+    private final Map<String, Restaurant> restaurantsByUri;
+    private final Map<String, Restaurant> restaurantsByLocalName;
+    private final RestaurantFacetIndex facets;
+    private final RestaurantBudgetIndex budgetIndex;
+    private final RestaurantSortIndex sortIndex;
+    private final RestaurantGeoIndex geoIndex;
+    private final RestaurantSuggestIndex suggestIndex;
+    private final RestaurantNameIndex nameIndex;
+    private final RestaurantCuisineMatcher cuisineMatcher;
+    private final RestaurantScoringIndex scoringIndex;
+
+    RestaurantCatalog(long version, Model model, List<Restaurant> restaurants) {
+        this(version, model, restaurants, Collections.emptyList());
+    }
+
+    RestaurantCatalog(long version, Model model, List<Restaurant> restaurants, List<Restaurant> otherNamespaceRestaurants) {
+        this(version, model, restaurants, otherNamespaceRestaurants, Collections.emptyMap());
+    }
+
+    // cuisineAliases: cuisine label -> names the ontology gives its food type (labels, local name, class)
+    RestaurantCatalog(long version, Model model, List<Restaurant> restaurants, List<Restaurant> otherNamespaceRestaurants,
+                      Map<String, ? extends Collection<String>> cuisineAliases) {
+        this.version = version;
+        this.builtAt = System.currentTimeMillis();
+        this.model = model;
+        this.restaurants = Collections.unmodifiableList(new ArrayList<>(restaurants));
+
+        // Main namespace first, so its entries win local-name collisions
+        Map<String, Restaurant> byUri = new LinkedHashMap<>();
+        Map<String, Restaurant> byLocalName = new HashMap<>();
+        for (List<Restaurant> group : List.of(restaurants, otherNamespaceRestaurants)) {
+            for (Restaurant restaurant : group) {
+                byUri.putIfAbsent(restaurant.getRestaurantId(), restaurant);
+                if (restaurant.getRestaurantId() != null) {
+                    byLocalName.putIfAbsent(localName(restaurant.getRestaurantId()), restaurant);
+                }
+            }
+        }
+        this.restaurantsByUri = Collections.unmodifiableMap(byUri);
+        this.restaurantsByLocalName = Collections.unmodifiableMap(byLocalName);
+        this.facets = new RestaurantFacetIndex(this.restaurants);
+        this.budgetIndex = new RestaurantBudgetIndex(this.restaurants);
+        this.sortIndex = new RestaurantSortIndex(this.restaurants);
+        this.geoIndex = new RestaurantGeoIndex(this.restaurants);
+        this.suggestIndex = new RestaurantSuggestIndex(this.restaurants);
+        this.nameIndex = new RestaurantNameIndex(this.restaurants);
+        this.cuisineMatcher = new RestaurantCuisineMatcher(this.restaurants, cuisineAliases,
+                                                           RestaurantCuisineMatcher.defaultRules());
+        this.scoringIndex = new RestaurantScoringIndex(this.restaurants, this.cuisineMatcher);
+    }
+
+    // Monotonic version, bumped every time a new snapshot is published
+    public long getVersion() { return version; }
+
+    public long getBuiltAt() { return builtAt; }
+
+    // Read-only base model the snapshot was projected from
+    public Model getModel() { return model; }
+
+    public List<Restaurant> getRestaurants() { return restaurants; }
+
+    public int size() { return restaurants.size(); }
+
+    // Bitmap index over the search attributes, positions follow getRestaurants()
+    public RestaurantFacetIndex getFacets() { return facets; }
+
+    // Budget-sorted ordinals for range queries, positions follow getRestaurants()
+    public RestaurantBudgetIndex getBudgetIndex() { return budgetIndex; }
+
+    // Precomputed orders of the sortable fields, positions follow getRestaurants()
+    public RestaurantSortIndex getSortIndex() { return sortIndex; }
+
+    // Spatial grid over the restaurants with coordinates, positions follow getRestaurants()
+    public RestaurantGeoIndex getGeoIndex() { return geoIndex; }
+
+    // Prefix trie for typeahead over names, cuisines, locations and nationalities
+    public RestaurantSuggestIndex getSuggestIndex() { return suggestIndex; }
+
+    // Edit-distance (BK-tree) index over the normalized restaurant names
+    public RestaurantNameIndex getNameIndex() { return nameIndex; }
+
+    // Cuisine synonym dictionary compiled against this catalog's cuisine labels
+    public RestaurantCuisineMatcher getCuisineMatcher() { return cuisineMatcher; }
+
+    // Columnar scoring attributes for the heuristic ranker, positions follow getRestaurants()
+    public RestaurantScoringIndex getScoringIndex() { return scoringIndex; }
+
+    public Restaurant getRestaurant(String uri) {
+        return uri != null ? restaurantsByUri.get(uri) : null;
+    }
+
+    // Lookup by full URI, falling back to the local name of the id (the part after '#', or the whole id)
+    public Restaurant findRestaurant(String id) {
+        if (id == null) return null;
+        Restaurant restaurant = restaurantsByUri.get(id);
+        return restaurant != null ? restaurant : restaurantsByLocalName.get(localName(id));
+    }
+
+    private static String localName(String uri) {
+        return uri.contains("#") ? uri.substring(uri.lastIndexOf("#") + 1) : uri;
+    }
+
+    // Per-request copy of a catalog entry (safe to mutate)
+    public Restaurant copyOf(String uri) {
+        Restaurant restaurant = getRestaurant(uri);
+        return restaurant != null ? new Restaurant(restaurant) : null;
+    }
+}
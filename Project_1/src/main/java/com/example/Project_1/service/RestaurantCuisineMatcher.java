@@ -0,0 +1,242 @@
+package com.example.Project_1.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.Project_1.model.Restaurant;
+import com.example.Project_1.util.SearchTermUtil;
+
+/**
+ * Cuisine synonym dictionary of one catalog, compiled into sets of cuisine ids.
+ *
+ * Every distinct cuisine label of the catalog gets a small integer id. At build
+ * time each known term (the labels themselves, the ontology aliases of the food
+ * types and the terms of cuisine-synonyms.txt) is resolved once into the BitSet
+ * of cuisine ids it matches:
+ *   - labels the term contains or is contained in,
+ *   - labels with an ontology alias (rdfs:label, local name, food-type class) equal to the term,
+ *   - labels containing a keyword of a synonym rule listing the term.
+ * Matching a restaurant is then a lookup of its label id in that set. Terms
+ * outside the dictionary are resolved the same way on first use and memoized
+ * in a small LRU owned by the matcher.
+ */
+public final class RestaurantCuisineMatcher {
+
+    static final String SYNONYMS_FILE = "cuisine-synonyms.txt"; // classpath resource
+
+    private static final int MAX_CACHED_TERMS = 256;
+    private static volatile List<SynonymRule> defaultRules;
+
+    private final Map<String, Integer> idsByLabel = new HashMap<>();
+    private final List<String> lowerLabels = new ArrayList<>();
+    private final Map<String, BitSet> aliasIds = new HashMap<>();
+    private final List<SynonymRule> rules;
+    private final Map<String, BitSet> compiled = new HashMap<>();
+    private final Map<String, BitSet> resolvedTerms = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BitSet> eldest) {
+            return size() > MAX_CACHED_TERMS;
+        }
+    };
+
+    /**
+     * @param restaurants     catalog entries, their cuisine labels get the ids
+     * @param ontologyAliases cuisine label -> raw alias names from the ontology (expanded by {@link #aliasForms(String)})
+     * @param rules           synonym rules, usually {@link #defaultRules()}
+     */
+    RestaurantCuisineMatcher(List<Restaurant> restaurants, Map<String, ? extends Collection<String>> ontologyAliases,
+                             List<SynonymRule> rules) {
+        for (Restaurant restaurant : restaurants) {
+            String label = restaurant.getCuisineType();
+            if (label != null && !idsByLabel.containsKey(label)) {
+                idsByLabel.put(label, lowerLabels.size());
+                lowerLabels.add(label.toLowerCase().trim());
+            }
+        }
+        for (Map.Entry<String, ? extends Collection<String>> entry : ontologyAliases.entrySet()) {
+            Integer id = idsByLabel.get(entry.getKey());
+            if (id == null) continue;
+            for (String alias : entry.getValue()) {
+                for (String form : aliasForms(alias)) {
+                    aliasIds.computeIfAbsent(form, k -> new BitSet(lowerLabels.size())).set(id);
+                }
+            }
+        }
+        this.rules = rules;
+
+        Set<String> terms = new HashSet<>(lowerLabels);
+        terms.addAll(aliasIds.keySet());
+        for (SynonymRule rule : rules) {
+            terms.addAll(rule.terms);
+        }
+        for (String term : terms) {
+            compiled.put(term, resolve(term));
+        }
+    }
+
+    private BitSet resolve(String term) {
+        BitSet ids = new BitSet(lowerLabels.size());
+        for (int id = 0; id < lowerLabels.size(); id++) {
+            if (SearchTermUtil.containsEitherWay(lowerLabels.get(id), term)) {
+                ids.set(id);
+            }
+        }
+        BitSet aliases = aliasIds.get(term);
+        if (aliases != null) {
+            ids.or(aliases);
+        }
+        for (SynonymRule rule : rules) {
+            if (!rule.terms.contains(term)) continue;
+            for (int id = 0; id < lowerLabels.size(); id++) {
+                for (String keyword : rule.keywords) {
+                    if (lowerLabels.get(id).contains(keyword)) {
+                        ids.set(id);
+                        break;
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Cuisine ids matched by a search term (case and surrounding blanks ignored); the set must not be modified
+    public BitSet cuisineIds(String search) {
+        String term = search.toLowerCase().trim();
+        BitSet ids = compiled.get(term);
+        if (ids != null) return ids;
+        synchronized (resolvedTerms) {
+            ids = resolvedTerms.get(term);
+            if (ids == null) {
+                ids = resolve(term);
+                resolvedTerms.put(term, ids);
+            }
+        }
+        return ids;
+    }
+
+    // Whether a catalog cuisine label is in the id set; labels outside the catalog never match
+    public boolean matches(BitSet cuisineIds, String label) {
+        int id = idOf(label);
+        return id >= 0 && cuisineIds.get(id);
+    }
+
+    // Whether the label matches any of the search terms
+    public boolean matchesAny(Collection<String> searches, String label) {
+        int id = idOf(label);
+        if (id < 0) return false;
+        for (String search : searches) {
+            if (search != null && cuisineIds(search).get(id)) return true;
+        }
+        return false;
+    }
+
+    // Id of a catalog cuisine label, -1 when the catalog has no such label
+    public int idOf(String label) {
+        Integer id = label != null ? idsByLabel.get(label) : null;
+        return id != null ? id : -1;
+    }
+
+    // Number of distinct cuisine labels
+    public int size() { return lowerLabels.size(); }
+
+    /**
+     * Search forms of an ontology name: "Shabu_Sukiyaki_Type" and "ShabuSukiyaki" both
+     * give "shabu sukiyaki" and "shabusukiyaki". A trailing "Type" word is dropped.
+     */
+    static Set<String> aliasForms(String name) {
+        Set<String> forms = new LinkedHashSet<>();
+        if (name == null) return forms;
+        String spaced = name.replace('_', ' ')
+            .replaceAll("([a-z0-9])([A-Z])", "$1 $2")
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("\\s+", " ")
+            .trim();
+        if (spaced.endsWith(" type")) {
+            spaced = spaced.substring(0, spaced.length() - " type".length());
+        }
+        if (spaced.isEmpty() || spaced.equals("type")) return forms;
+        forms.add(spaced);
+        forms.add(spaced.replace(" ", ""));
+        return forms;
+    }
+
+    // Rules of the bundled cuisine-synonyms.txt, parsed once per class loader
+    static List<SynonymRule> defaultRules() {
+        List<SynonymRule> rules = defaultRules;
+        if (rules == null) {
+            try (InputStream in = RestaurantCuisineMatcher.class.getClassLoader().getResourceAsStream(SYNONYMS_FILE)) {
+                if (in == null) {
+                    System.err.println("⚠️ " + SYNONYMS_FILE + " not found, cuisine search uses labels and ontology aliases only");
+                    rules = Collections.emptyList();
+                } else {
+                    rules = parseRules(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+                rules = Collections.emptyList();
+            }
+            defaultRules = rules;
+        }
+        return rules;
+    }
+
+    // "term, term => keyword, keyword" per line; blank lines and # comments are skipped
+    static List<SynonymRule> parseRules(BufferedReader reader) throws IOException {
+        List<SynonymRule> rules = new ArrayList<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) continue;
+
+            int arrow = content.indexOf("=>");
+            if (arrow < 0) {
+                throw new IOException(SYNONYMS_FILE + ":" + lineNumber + ": expected 'terms => keywords'");
+            }
+            Set<String> terms = splitList(content.substring(0, arrow));
+            Set<String> keywords = splitList(content.substring(arrow + 2));
+            if (terms.isEmpty() || keywords.isEmpty()) {
+                throw new IOException(SYNONYMS_FILE + ":" + lineNumber + ": terms and keywords must not be empty");
+            }
+            rules.add(new SynonymRule(terms, new ArrayList<>(keywords)));
+        }
+        return Collections.unmodifiableList(rules);
+    }
+
+    private static Set<String> splitList(String list) {
+        Set<String> values = new LinkedHashSet<>();
+        for (String value : list.split(",")) {
+            String trimmed = value.toLowerCase(Locale.ROOT).trim();
+            if (!trimmed.isEmpty()) values.add(trimmed);
+        }
+        return values;
+    }
+
+    // One line of the synonym file: searches equal to a term match cuisines containing a keyword
+    static final class SynonymRule {
+        private final Set<String> terms;
+        private final List<String> keywords;
+
+        SynonymRule(Set<String> terms, List<String> keywords) {
+            this.terms = Collections.unmodifiableSet(terms);
+            this.keywords = Collections.unmodifiableList(keywords);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Per-catalog bitmap index over the searchable restaurant attributes.
+ *
+ * For every facet the index keeps one BitSet per distinct raw value, with bit i
+ * set when the i-th catalog restaurant carries that value. A search filter is
+ * evaluated once per distinct value (there are a few dozen, against hundreds of
+ * restaurants) and the matching postings are OR-ed together; the filters of a
+ * query are then AND-ed. Restaurants without a value for a facet (for example
+ * no nutrition profile) get no posting for it and never match that filter.
+ *
+ * The same postings give facet counts (cardinality of posting AND filter result)
+ * for the search UI. Count results are memoized per filter key in a small LRU
+ * owned by the index, so they live exactly as long as the catalog version.
+ */
+public final class RestaurantFacetIndex {
+
+    public enum Facet {
+        NAME, CUISINE, RESTAURANT_TYPE, LOCATION, NATIONALITY, CARB, FAT, PROTEIN, BUDGET_RANGE
+    }
+
+    // Upper bounds (exclusive) of the budget buckets; the last bucket is open-ended
+    static final float[] BUDGET_BUCKET_BOUNDS = {100f, 200f, 500f, 1000f};
+
+    private static final int MAX_CACHED_COUNTS = 256;
+
+    private final int size;
+    private final Map<Facet, Map<String, BitSet>> postings = new EnumMap<>(Facet.class);
+    private final Map<String, Map<String, Object>> cachedCounts = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Map<String, Object>> eldest) {
+            return size() > MAX_CACHED_COUNTS;
+        }
+    };
+
+    RestaurantFacetIndex(List<Restaurant> restaurants) {
+        this.size = restaurants.size();
+        index(Facet.NAME, restaurants, Restaurant::getRestaurantName);
+        index(Facet.CUISINE, restaurants, Restaurant::getCuisineType);
+        index(Facet.RESTAURANT_TYPE, restaurants, Restaurant::getRestaurantType);
+        index(Facet.LOCATION, restaurants, Restaurant::getLocation);
+        index(Facet.NATIONALITY, restaurants, Restaurant::getNationality);
+        index(Facet.CARB, restaurants, r -> r.getNutritionProfile() != null ? r.getNutritionProfile().getCarbLevel() : null);
+        index(Facet.FAT, restaurants, r -> r.getNutritionProfile() != null ? r.getNutritionProfile().getFatLevel() : null);
+        index(Facet.PROTEIN, restaurants, r -> r.getNutritionProfile() != null ? r.getNutritionProfile().getProteinLevel() : null);
+        index(Facet.BUDGET_RANGE, restaurants, r -> budgetBucket(r.getBudget()));
+    }
+
+    // Bucket label of a budget, e.g. "100-200" or "1000+"
+    static String budgetBucket(float budget) {
+        float lower = 0f;
+        for (float upper : BUDGET_BUCKET_BOUNDS) {
+            if (budget < upper) {
+                return Math.round(lower) + "-" + Math.round(upper);
+            }
+            lower = upper;
+        }
+        return Math.round(lower) + "+";
+    }
+
+    private void index(Facet facet, List<Restaurant> restaurants, Function<Restaurant, String> value) {
+        Map<String, BitSet> byValue = new LinkedHashMap<>();
+        for (int i = 0; i < restaurants.size(); i++) {
+            String v = value.apply(restaurants.get(i));
+            if (v != null) {
+                byValue.computeIfAbsent(v, k -> new BitSet(size)).set(i);
+            }
+        }
+        postings.put(facet, byValue);
+    }
+
+    // Number of indexed restaurants (positions 0..size-1 of the catalog list)
+    public int size() { return size; }
+
+    // Fresh bitset with every restaurant set, the starting point of a search
+    public BitSet all() {
+        BitSet bits = new BitSet(size);
+        bits.set(0, size);
+        return bits;
+    }
+
+    // Union of the postings of every distinct value accepted by the predicate
+    public BitSet match(Facet facet, Predicate<String> accepts) {
+        BitSet bits = new BitSet(size);
+        for (Map.Entry<String, BitSet> entry : postings.get(facet).entrySet()) {
+            if (accepts.test(entry.getKey())) {
+                bits.or(entry.getValue());
+            }
+        }
+        return bits;
+    }
+
+    // Union of the postings of the given values (values without a posting are ignored)
+    public BitSet match(Facet facet, Collection<String> values) {
+        BitSet bits = new BitSet(size);
+        Map<String, BitSet> byValue = postings.get(facet);
+        for (String value : values) {
+            BitSet posting = byValue.get(value);
+            if (posting != null) bits.or(posting);
+        }
+        return bits;
+    }
+
+    private static int bucketLowerBound(String bucket) {
+        return Integer.parseInt(bucket.split("[-+]")[0]);
+    }
+
+    // Number of matching restaurants per distinct value, highest count first (budget buckets in
+    // price order), zero counts left out
+    public Map<String, Integer> counts(Facet facet, BitSet matches) {
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, BitSet> entry : postings.get(facet).entrySet()) {
+            BitSet hits = (BitSet) entry.getValue().clone();
+            hits.and(matches);
+            int count = hits.cardinality();
+            if (count > 0) {
+                entries.add(Map.entry(entry.getKey(), count));
+            }
+        }
+        if (facet == Facet.BUDGET_RANGE) {
+            // Budget buckets read best in price order
+            entries.sort((a, b) -> Integer.compare(bucketLowerBound(a.getKey()), bucketLowerBound(b.getKey())));
+        } else {
+            entries.sort((a, b) -> Integer.compare(b.getValue(), a.getValue()));
+        }
+
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> entry : entries) {
+            counts.put(entry.getKey(), entry.getValue());
+        }
+        return counts;
+    }
+
+    // Memoized facet counts for a filter key, computed once per key for this catalog version
+    public Map<String, Object> cachedCounts(String filterKey, Supplier<Map<String, Object>> compute) {
+        synchronized (cachedCounts) {
+            Map<String, Object> counts = cachedCounts.get(filterKey);
+            if (counts != null) return counts;
+        }
+        Map<String, Object> counts = Collections.unmodifiableMap(compute.get());
+        synchronized (cachedCounts) {
+            cachedCounts.putIfAbsent(filterKey, counts);
+        }
+        return counts;
+    }
+
+    // Distinct value -> restaurant positions; the bitsets must not be modified
+    public Map<String, BitSet> postings(Facet facet) {
+        return Collections.unmodifiableMap(postings.get(facet));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Fixed-size latitude/longitude grid over the catalog restaurants that have coordinates.
+ *
+ * Each cell holds the catalog ordinals located in it. A radius query only visits
+ * the cells overlapping the bounding box of the circle, computes the great-circle
+ * (haversine) distance for those candidates and sorts the ones within the radius
+ * by distance. Restaurants without latitude/longitude are not indexed.
+ */
+public final class RestaurantGeoIndex {
+
+    // Cell edge in degrees, about 5.5 km of latitude
+    static final double CELL_DEGREES = 0.05;
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final Map<Long, int[]> cells = new HashMap<>();
+    private final int indexed;
+
+    RestaurantGeoIndex(List<Restaurant> restaurants) {
+        int n = restaurants.size();
+        this.latitudes = new double[n];
+        this.longitudes = new double[n];
+
+        Map<Long, List<Integer>> building = new HashMap<>();
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            Restaurant restaurant = restaurants.get(i);
+            Double lat = restaurant.getLatitude();
+            Double lon = restaurant.getLongitude();
+            if (lat == null || lon == null || lat.isNaN() || lon.isNaN()) continue;
+            latitudes[i] = lat;
+            longitudes[i] = lon;
+            building.computeIfAbsent(cellKey(row(lat), normalizeColumn(column(lon))), k -> new ArrayList<>()).add(i);
+            count++;
+        }
+        for (Map.Entry<Long, List<Integer>> entry : building.entrySet()) {
+            cells.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        this.indexed = count;
+    }
+
+    // Number of restaurants with coordinates
+    public int size() { return indexed; }
+
+    /**
+     * Restaurants within radiusKm of (lat, lon), nearest first, at most limit
+     * entries (<= 0 for all). Equal distances keep catalog order.
+     */
+    public List<Hit> nearby(double lat, double lon, double radiusKm, int limit) {
+        List<Hit> hits = new ArrayList<>();
+        if (indexed == 0 || radiusKm < 0) return hits;
+
+        double latSpan = radiusKm / KM_PER_DEGREE;
+        double cosLat = Math.cos(Math.toRadians(lat));
+        // Near the poles the longitude span covers everything
+        double lonSpan = cosLat > 1e-6 ? Math.min(180, radiusKm / (KM_PER_DEGREE * cosLat)) : 180;
+
+        int minRow = row(lat - latSpan), maxRow = row(lat + latSpan);
+        int minColumn = column(lon - lonSpan), maxColumn = column(lon + lonSpan);
+        long cellsToVisit = (long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1);
+        if (lonSpan >= 180 || cellsToVisit > cells.size()) {
+            // The box covers more cells than are occupied: visit the occupied ones instead
+            for (int[] ordinals : cells.values()) {
+                collect(ordinals, lat, lon, radiusKm, hits);
+            }
+        } else {
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int c = minColumn; c <= maxColumn; c++) {
+                    int[] ordinals = cells.get(cellKey(r, normalizeColumn(c)));
+                    if (ordinals != null) {
+                        collect(ordinals, lat, lon, radiusKm, hits);
+                    }
+                }
+            }
+        }
+
+        Hit[] sorted = hits.toArray(new Hit[0]);
+        Arrays.sort(sorted, (a, b) -> a.distanceKm != b.distanceKm
+            ? Double.compare(a.distanceKm, b.distanceKm) : Integer.compare(a.ordinal, b.ordinal));
+        int n = limit > 0 ? Math.min(limit, sorted.length) : sorted.length;
+        return Arrays.asList(sorted).subList(0, n);
+    }
+
+    private void collect(int[] ordinals, double lat, double lon, double radiusKm, List<Hit> hits) {
+        for (int ordinal : ordinals) {
+            double distance = haversineKm(lat, lon, latitudes[ordinal], longitudes[ordinal]);
+            if (distance <= radiusKm) {
+                hits.add(new Hit(ordinal, distance));
+            }
+        }
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor(Math.max(-90, Math.min(90, lat)) / CELL_DEGREES);
+    }
+
+    private static int column(double lon) {
+        return (int) Math.floor(lon / CELL_DEGREES);
+    }
+
+    // Wrap a column across the antimeridian
+    private static int normalizeColumn(int column) {
+        int columns = (int) Math.round(360 / CELL_DEGREES);
+        int offset = Math.floorMod(column + columns / 2, columns);
+        return offset - columns / 2;
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xffffffffL);
+    }
+
+    // Catalog ordinal and its distance from the query point
+    public static final class Hit {
+        private final int ordinal;
+        private final double distanceKm;
+
+        Hit(int ordinal, double distanceKm) {
+            this.ordinal = ordinal;
+            this.distanceKm = distanceKm;
+        }
+
+        public int getOrdinal() { return ordinal; }
+
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
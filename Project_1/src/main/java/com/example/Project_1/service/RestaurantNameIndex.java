@@ -0,0 +1,186 @@
+package com.example.Project_1.service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * BK-tree over normalized restaurant names for typo-tolerant name search.
+ *
+ * Keys are the normalized full names plus their individual words (3+ characters),
+ * so "noodel" finds "Noodle Shop" through the word "noodle". Normalization
+ * lowercases, strips accents and punctuation and collapses whitespace, which
+ * absorbs most transliteration noise ("Baan-Rim Pa" vs "baan rim pa"). A query
+ * only visits subtrees whose edge distance lies within the triangle-inequality
+ * window, so it touches a small part of the tree instead of every name.
+ *
+ * Plain (non-fuzzy) name search is answered here too: a trigram index over the
+ * lowercased names finds the names containing the query, and exact lookups of
+ * the query's substrings find the names contained in it.
+ */
+public final class RestaurantNameIndex {
+
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final int GRAM_LENGTH = 3;
+
+    private final Map<String, Set<String>> namesByKey = new HashMap<>();
+    private Node root;
+
+    // Lowercased name -> raw names, and trigram -> lowercased names containing it
+    private final Map<String, Set<String>> namesByLowerName = new HashMap<>();
+    private final Map<String, Set<String>> lowerNamesByGram = new HashMap<>();
+    private int maxLowerNameLength;
+
+    RestaurantNameIndex(List<Restaurant> restaurants) {
+        for (Restaurant restaurant : restaurants) {
+            String name = restaurant.getRestaurantName();
+            if (name == null) continue;
+            indexSubstrings(name);
+            String normalized = normalize(name);
+            if (normalized.isEmpty()) continue;
+            add(normalized, name);
+            for (String word : normalized.split(" ")) {
+                if (word.length() >= MIN_WORD_LENGTH && !word.equals(normalized)) {
+                    add(word, name);
+                }
+            }
+        }
+    }
+
+    private void indexSubstrings(String name) {
+        String lower = name.toLowerCase();
+        namesByLowerName.computeIfAbsent(lower, k -> new LinkedHashSet<>()).add(name);
+        maxLowerNameLength = Math.max(maxLowerNameLength, lower.length());
+        for (int i = 0; i + GRAM_LENGTH <= lower.length(); i++) {
+            lowerNamesByGram.computeIfAbsent(lower.substring(i, i + GRAM_LENGTH), k -> new HashSet<>()).add(lower);
+        }
+    }
+
+    private void add(String key, String name) {
+        Set<String> names = namesByKey.get(key);
+        if (names == null) {
+            names = new LinkedHashSet<>();
+            namesByKey.put(key, names);
+            insert(key);
+        }
+        names.add(name);
+    }
+
+    private void insert(String key) {
+        if (root == null) {
+            root = new Node(key);
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = levenshtein(key, node.key);
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(key));
+                return;
+            }
+            node = child;
+        }
+    }
+
+    // Raw restaurant names with a key (full name or word) within maxDistance edits of the query
+    public Set<String> search(String query, int maxDistance) {
+        Set<String> names = new HashSet<>();
+        String key = normalize(query);
+        if (root == null || key.isEmpty()) return names;
+
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = levenshtein(key, node.key);
+            if (distance <= maxDistance) {
+                names.addAll(namesByKey.get(node.key));
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    pending.push(child.getValue());
+                }
+            }
+        }
+        return names;
+    }
+
+    // Raw names whose lowercased form contains the lowercased query or is contained in it,
+    // i.e. SearchTermUtil.containsEitherWay without a pass over every name (except for
+    // queries shorter than a trigram)
+    public Set<String> containing(String query) {
+        Set<String> names = new HashSet<>();
+
+        // Names inside the query: its substrings that are whole names
+        for (int from = 0; from < query.length(); from++) {
+            for (int to = from + 1; to <= Math.min(query.length(), from + maxLowerNameLength); to++) {
+                Set<String> hit = namesByLowerName.get(query.substring(from, to));
+                if (hit != null) names.addAll(hit);
+            }
+        }
+
+        // Names containing the query: candidates from the query's rarest trigram, then verified
+        if (query.length() < GRAM_LENGTH) {
+            for (Map.Entry<String, Set<String>> entry : namesByLowerName.entrySet()) {
+                if (entry.getKey().contains(query)) names.addAll(entry.getValue());
+            }
+            return names;
+        }
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= query.length(); i++) {
+            Set<String> posting = lowerNamesByGram.get(query.substring(i, i + GRAM_LENGTH));
+            if (posting == null) return names;
+            if (candidates == null || posting.size() < candidates.size()) candidates = posting;
+        }
+        for (String lower : candidates) {
+            if (lower.contains(query)) names.addAll(namesByLowerName.get(lower));
+        }
+        return names;
+    }
+
+    // Lowercase, no Latin accents or punctuation, single spaces (Thai vowel and tone marks are kept)
+    static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("[\\u0300-\\u036f]", "");
+        return decomposed.toLowerCase(Locale.ROOT)
+            .replaceAll("[^\\p{L}\\p{M}\\p{N}]+", " ")
+            .trim();
+    }
+
+    static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static final class Node {
+        private final String key;
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        Node(String key) {
+            this.key = key;
+        }
+    }
+}
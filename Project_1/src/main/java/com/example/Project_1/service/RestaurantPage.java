@@ -0,0 +1,39 @@
+package com.example.Project_1.service;
+
+import java.util.List;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * One page of a search result.
+ *
+ * The cursor is the position of the first restaurant of the next page in the
+ * sorted result, null once the last page has been returned. Cursors are only
+ * meaningful against the catalog version they were issued for.
+ */
+public final class RestaurantPage {
+
+    private final List<Restaurant> restaurants;
+    private final int total;
+    private final Integer nextCursor;
+
+    public RestaurantPage(List<Restaurant> restaurants, int total, Integer nextCursor) {
+        this.restaurants = restaurants;
+        this.total = total;
+        this.nextCursor = nextCursor;
+    }
+
+    // Page of a fully materialized, already sorted result (limit <= 0 returns the rest)
+    public static RestaurantPage of(List<Restaurant> sorted, int cursor, int limit) {
+        int from = Math.min(Math.max(0, cursor), sorted.size());
+        int to = limit > 0 ? Math.min(sorted.size(), from + limit) : sorted.size();
+        return new RestaurantPage(sorted.subList(from, to), sorted.size(), to < sorted.size() ? to : null);
+    }
+
+    public List<Restaurant> getRestaurants() { return restaurants; }
+
+    // Size of the whole result, across all pages
+    public int getTotal() { return total; }
+
+    public Integer getNextCursor() { return nextCursor; }
+}
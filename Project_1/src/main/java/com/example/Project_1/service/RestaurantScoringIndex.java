@@ -0,0 +1,257 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.model.Restaurant;
+import com.example.Project_1.util.SearchTermUtil;
+
+/**
+ * Columnar copy of the scoring attributes of the catalog, for the heuristic
+ * (non-rule) recommendation ranker.
+ *
+ * Budgets are kept as a float[], cuisine and restaurant type as int codes and
+ * the nutrition levels as byte codes, one slot per catalog ordinal. A request
+ * is turned into per-code bonus tables once (a few dozen string comparisons
+ * against the distinct values), after which every restaurant is scored by the
+ * same straight loops over primitive arrays and the best K are kept in a heap,
+ * so the catalog is never sorted.
+ *
+ * Points: budget within the maximum +50 (+20 more under 70% of it), preferred
+ * cuisine +30, preferred restaurant type +20, and +15 per pre-run and per
+ * post-run nutrition level equal to the restaurant's.
+ *
+ * The loops are plain scalar code shaped for HotSpot's auto-vectorizer; the
+ * JDK Vector API is still an incubator module on Java 17 (it needs
+ * --add-modules at build and launch time) and is not used.
+ */
+public final class RestaurantScoringIndex {
+
+    static final float BUDGET_POINTS = 50f;
+    static final float UNDER_BUDGET_POINTS = 20f;
+    static final float UNDER_BUDGET_RATIO = 0.7f;
+    static final float CUISINE_POINTS = 30f;
+    static final float TYPE_POINTS = 20f;
+    static final float NUTRITION_POINTS = 15f;
+
+    private final int size;
+    private final float[] budgets;
+    // Code 0 = no value; cuisine code = cuisine matcher id + 1, type code = index in typeLabels + 1
+    private final int[] cuisineCodes;
+    private final int[] typeCodes;
+    private final byte[] carbCodes;
+    private final byte[] fatCodes;
+    private final byte[] proteinCodes;
+
+    private final RestaurantCuisineMatcher cuisineMatcher;
+    private final List<String> typeLabels = new ArrayList<>();
+    private final Map<String, Byte> levelCodes = new HashMap<>();
+
+    RestaurantScoringIndex(List<Restaurant> restaurants, RestaurantCuisineMatcher cuisineMatcher) {
+        this.size = restaurants.size();
+        this.cuisineMatcher = cuisineMatcher;
+        this.budgets = new float[size];
+        this.cuisineCodes = new int[size];
+        this.typeCodes = new int[size];
+        this.carbCodes = new byte[size];
+        this.fatCodes = new byte[size];
+        this.proteinCodes = new byte[size];
+
+        Map<String, Integer> typeIds = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Restaurant restaurant = restaurants.get(i);
+            budgets[i] = restaurant.getBudget();
+            cuisineCodes[i] = cuisineMatcher.idOf(restaurant.getCuisineType()) + 1;
+
+            String type = restaurant.getRestaurantType();
+            if (type != null) {
+                Integer id = typeIds.get(type);
+                if (id == null) {
+                    id = typeLabels.size();
+                    typeIds.put(type, id);
+                    typeLabels.add(type.toLowerCase().trim());
+                }
+                typeCodes[i] = id + 1;
+            }
+
+            Restaurant.NutritionProfile nutrition = restaurant.getNutritionProfile();
+            if (nutrition != null) {
+                carbCodes[i] = levelCode(nutrition.getCarbLevel(), true);
+                fatCodes[i] = levelCode(nutrition.getFatLevel(), true);
+                proteinCodes[i] = levelCode(nutrition.getProteinLevel(), true);
+            }
+        }
+    }
+
+    // Code of a nutrition level (case-insensitive); unknown levels get -1 unless they are being indexed
+    private byte levelCode(String level, boolean add) {
+        if (level == null) return (byte) (add ? 0 : -1);
+        String key = level.toLowerCase(Locale.ROOT);
+        Byte code = levelCodes.get(key);
+        if (code == null) {
+            if (!add || levelCodes.size() >= Byte.MAX_VALUE) return -1;
+            code = (byte) (levelCodes.size() + 1);
+            levelCodes.put(key, code);
+        }
+        return code;
+    }
+
+    // Number of indexed restaurants (positions 0..size-1 of the catalog list)
+    public int size() { return size; }
+
+    // Heuristic score of every catalog restaurant, indexed by ordinal
+    public float[] scores(RestaurantRecommendationRequest request) {
+        float[] scores = new float[size];
+
+        float maxBudget = request.getMaxBudget();
+        for (int i = 0; i < size; i++) {
+            float budget = budgets[i];
+            scores[i] = budget <= maxBudget
+                ? (budget / maxBudget < UNDER_BUDGET_RATIO ? BUDGET_POINTS + UNDER_BUDGET_POINTS : BUDGET_POINTS)
+                : 0f;
+        }
+
+        if (request.getPreferredCuisines() != null && !request.getPreferredCuisines().isEmpty()) {
+            float[] cuisineBonus = new float[cuisineMatcher.size() + 1];
+            for (String cuisine : request.getPreferredCuisines()) {
+                if (cuisine == null) continue;
+                BitSet ids = cuisineMatcher.cuisineIds(cuisine);
+                for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                    cuisineBonus[id + 1] = CUISINE_POINTS;
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                scores[i] += cuisineBonus[cuisineCodes[i]];
+            }
+        }
+
+        if (request.getPreferredRestaurantTypes() != null && !request.getPreferredRestaurantTypes().isEmpty()) {
+            float[] typeBonus = new float[typeLabels.size() + 1];
+            for (int id = 0; id < typeLabels.size(); id++) {
+                for (String type : request.getPreferredRestaurantTypes()) {
+                    if (type != null && typeMatches(type.toLowerCase().trim(), typeLabels.get(id))) {
+                        typeBonus[id + 1] = TYPE_POINTS;
+                        break;
+                    }
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                scores[i] += typeBonus[typeCodes[i]];
+            }
+        }
+
+        if (request.getPreRunNutrition() != null) {
+            addNutrition(scores, request.getPreRunNutrition());
+        }
+        if (request.getPostRunNutrition() != null) {
+            addNutrition(scores, request.getPostRunNutrition());
+        }
+        return scores;
+    }
+
+    private void addNutrition(float[] scores, RestaurantRecommendationRequest.NutritionPreference requirement) {
+        byte carb = levelCode(requirement.getCarbLevel(), false);
+        byte fat = levelCode(requirement.getFatLevel(), false);
+        byte protein = levelCode(requirement.getProteinLevel(), false);
+        for (int i = 0; i < size; i++) {
+            scores[i] += (carbCodes[i] == carb ? NUTRITION_POINTS : 0f)
+                       + (fatCodes[i] == fat ? NUTRITION_POINTS : 0f)
+                       + (proteinCodes[i] == protein ? NUTRITION_POINTS : 0f);
+        }
+    }
+
+    // Restaurant type rule of the heuristic ranker: containment either way, or a shared "... dining"/"casual"
+    private static boolean typeMatches(String userType, String restaurantType) {
+        if (SearchTermUtil.containsEitherWay(restaurantType, userType)) return true;
+        return (userType.contains("fast dining") && restaurantType.contains("fast dining"))
+            || (userType.contains("casual dining") && restaurantType.contains("casual dining"))
+            || (userType.contains("casual") && restaurantType.contains("casual"));
+    }
+
+    /**
+     * The k best-scoring candidates (all restaurants when candidates is null), highest
+     * score first, ties in catalog order. Uses a k-entry min-heap over the score array.
+     */
+    public List<Hit> top(RestaurantRecommendationRequest request, BitSet candidates, int k) {
+        List<Hit> hits = new ArrayList<>();
+        if (k <= 0 || size == 0) return hits;
+        float[] scores = scores(request);
+
+        int[] heap = new int[Math.min(k, size)];
+        int count = 0;
+        for (int i = candidates != null ? candidates.nextSetBit(0) : 0;
+             i >= 0 && i < size;
+             i = candidates != null ? candidates.nextSetBit(i + 1) : i + 1) {
+            if (count < heap.length) {
+                heap[count] = i;
+                siftUp(heap, count++, scores);
+            } else if (worse(heap[0], i, scores)) {
+                heap[0] = i;
+                siftDown(heap, count, scores);
+            }
+        }
+
+        // Pop worst-first, fill from the back
+        Hit[] sorted = new Hit[count];
+        for (int n = count; n > 0; n--) {
+            int ordinal = heap[0];
+            sorted[n - 1] = new Hit(ordinal, scores[ordinal]);
+            heap[0] = heap[n - 1];
+            siftDown(heap, n - 1, scores);
+        }
+        for (Hit hit : sorted) {
+            hits.add(hit);
+        }
+        return hits;
+    }
+
+    // a ranks below b: lower score, or same score and later in the catalog
+    private static boolean worse(int a, int b, float[] scores) {
+        return scores[a] < scores[b] || (scores[a] == scores[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, float[] scores) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!worse(heap[index], heap[parent], scores)) break;
+            int swap = heap[index];
+            heap[index] = heap[parent];
+            heap[parent] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int count, float[] scores) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= count) return;
+            if (child + 1 < count && worse(heap[child + 1], heap[child], scores)) child++;
+            if (!worse(heap[child], heap[index], scores)) return;
+            int swap = heap[index];
+            heap[index] = heap[child];
+            heap[child] = swap;
+            index = child;
+        }
+    }
+
+    // Catalog ordinal and its heuristic score
+    public static final class Hit {
+        private final int ordinal;
+        private final float score;
+
+        Hit(int ordinal, float score) {
+            this.ordinal = ordinal;
+            this.score = score;
+        }
+
+        public int getOrdinal() { return ordinal; }
+
+        public float getScore() { return score; }
+    }
+}
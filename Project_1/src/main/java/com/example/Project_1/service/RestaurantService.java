@@ -5,35 +5,227 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
 
+import jakarta.annotation.PostConstruct;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.compose.Delta;
 import org.apache.jena.rdf.model.*;
 import org.apache.jena.reasoner.*;
+import org.apache.jena.reasoner.rulesys.GenericRuleReasoner;
 import org.apache.jena.reasoner.rulesys.GenericRuleReasonerFactory;
+import org.apache.jena.reasoner.rulesys.ClauseEntry;
+import org.apache.jena.reasoner.rulesys.Rule;
+import org.apache.jena.reasoner.rulesys.RuleDerivation;
 import org.apache.jena.vocabulary.ReasonerVocabulary;
 import org.apache.jena.rdf.model.ResourceFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.sparql.graph.GraphReadOnly;
  
 import org.apache.jena.vocabulary.RDF;
 import org.apache.jena.vocabulary.RDFS;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.example.Project_1.model.Restaurant;
+import com.example.Project_1.model.RuleExplanation;
 import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.util.OntologyPrecompiler;
+import com.example.Project_1.util.RequestTrace;
+import com.example.Project_1.util.SearchTermUtil;
 
 @Service
 public class RestaurantService {
 
     private static final String ONTOLOGY_FILE = "RestaurantOntology_03_12_24.rdf"; // classpath resource
+    private static final String COMPILED_ONTOLOGY_FILE = OntologyPrecompiler.compiledResourceName(ONTOLOGY_FILE); // RDF Thrift, generated at build time
     private static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";  // Namespace of RDF data
     private static final String RULES_FILE = "rule.rules"; // classpath resource for rules
 
     // Cached resources for improved performance
-    private static volatile Model cachedModel = null;
-    private static volatile InfModel cachedInfModel = null;
+    private static volatile RestaurantCatalog cachedCatalog = null;
+    private static volatile Reasoner cachedReasoner = null;
+    private static volatile BatchRules cachedBatchRules = null;
+    private static volatile RulePartialEvaluator cachedRuleEvaluator = null;
+    private static volatile CompiledRuleSet cachedCompiledRules = null;
+    private static volatile RecommendationTable cachedRecommendationTable = null;
+    // Compiled rules whose preference space was too large for a table (not retried until recompiled)
+    private static volatile CompiledRuleSet oversizedTableSource = null;
     private static final Object cacheLock = new Object();
+    private static final AtomicLong catalogVersion = new AtomicLong();
+
+    // Pre-parsed SPARQL, executed with the user bound as ?user
+    private static final String QUERY_USER_RECOMMENDATIONS = "userRecommendations";
+    private static final SparqlQueryRegistry sparqlQueries = new SparqlQueryRegistry();
+    static {
+        sparqlQueries.register(QUERY_USER_RECOMMENDATIONS,
+            "PREFIX re: <" + NS + ">\n" +
+            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n" +
+            "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
+            "  ?user re:hasRecommend ?restaurant .\n" +
+            "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
+            "} ORDER BY DESC(?confidence)");
+    }
+
+    // Ontology file or URL to serve instead of the bundled one, e.g. a catalog from
+    // SyntheticOntologyGenerator (language from the extension: .rdf, .rt, .ttl, ...)
+    @Value("${restaurant.ontology.location:}")
+    private String ontologyLocation = "";
+
+    // How recommendations are derived: table (exhaustive lookup table), compiled (typed matchers),
+    // partial (pre-evaluated rules over the user overlay graph) or reasoner (hybrid GenericRuleReasoner).
+    // Falls back to the next mode when a rule can't be handled by the selected one.
+    @Value("${restaurant.rules.mode:table}")
+    private String rulesMode = "table";
+
+    // Recommendation results memoized per preference profile (0 entries disables the cache)
+    @Value("${restaurant.recommendation-cache.max-entries:1000}")
+    private int recommendationCacheMaxEntries = 1000;
+
+    @Value("${restaurant.recommendation-cache.ttl-seconds:600}")
+    private long recommendationCacheTtlSeconds = 600;
+
+    private volatile RecommendationCache recommendationCache = null;
+
+    // Per-stage timers and per-rule hit counters of the recommendation paths
+    @Autowired
+    private RecommendationMetrics metrics;
+
+    // Rule results shorter than this are topped up by the heuristic ranker (0 disables the fallback)
+    @Value("${restaurant.recommendation.fallback.min-results:0}")
+    private int fallbackMinResults = 0;
+
+    // Largest edit distance accepted by fuzzy name search (short queries get less, see fuzzyDistance)
+    @Value("${restaurant.search.fuzzy.max-distance:2}")
+    private int fuzzyMaxDistance = 2;
+
+    // Build the catalog snapshot at startup so the first request doesn't pay for the parse
+    @PostConstruct
+    public void initCatalog() {
+        try {
+            getCatalog();
+        } catch (Exception e) {
+            System.err.println("❌ ERROR building restaurant catalog at startup: " + e.getMessage());
+        }
+    }
+
+    // Current catalog snapshot (built once, then shared by all read paths)
+    public RestaurantCatalog getCatalog() {
+        RestaurantCatalog catalog = cachedCatalog;
+        if (catalog == null) {
+            synchronized (cacheLock) {
+                catalog = cachedCatalog;
+                if (catalog == null) {
+                    catalog = buildCatalog(loadRestaurantOntology());
+                    cachedCatalog = catalog;
+                }
+            }
+        }
+        return catalog;
+    }
+
+    // Rebuild the snapshot from the ontology and publish it in one swap; in-flight readers keep the old one
+    public RestaurantCatalog reloadCatalog() {
+        RestaurantCatalog catalog = buildCatalog(loadRestaurantOntology());
+        synchronized (cacheLock) {
+            cachedCatalog = catalog;
+        }
+        return catalog;
+    }
+
+    // Project every restaurant individual once and freeze the result
+    private RestaurantCatalog buildCatalog(Model model) {
+        long start = System.currentTimeMillis();
+        Model baseModel = ModelFactory.createModelForGraph(new GraphReadOnly(model.getGraph()));
+
+        List<Restaurant> restaurants = new ArrayList<>();
+        StmtIterator restaurantIterator = baseModel.listStatements(null, RDF.type, baseModel.createResource(NS + "Restaurant"));
+        while (restaurantIterator.hasNext()) {
+            Restaurant restaurant = convertToRestaurantModel(restaurantIterator.nextStatement().getSubject(), baseModel);
+            if (restaurant != null) {
+                restaurants.add(restaurant);
+            }
+        }
+
+        // Restaurants typed in the other namespaces of the ontology (j.0 - j.3), for detail lookups only
+        List<Restaurant> otherNamespaceRestaurants = new ArrayList<>();
+        java.util.Set<String> seen = new java.util.HashSet<>();
+        for (Restaurant restaurant : restaurants) {
+            seen.add(restaurant.getRestaurantId());
+        }
+        StmtIterator typeIterator = baseModel.listStatements(null, RDF.type, (RDFNode) null);
+        while (typeIterator.hasNext()) {
+            Statement typeStmt = typeIterator.nextStatement();
+            Resource subject = typeStmt.getSubject();
+            if (subject.isURIResource() && typeStmt.getObject().toString().contains("Restaurant")
+                    && seen.add(subject.getURI())) {
+                Restaurant restaurant = convertToRestaurantModel(subject, baseModel);
+                if (restaurant != null) {
+                    otherNamespaceRestaurants.add(restaurant);
+                }
+            }
+        }
+
+        RestaurantCatalog catalog = new RestaurantCatalog(catalogVersion.incrementAndGet(), baseModel, restaurants,
+                                                          otherNamespaceRestaurants, collectCuisineAliases(baseModel));
+        System.out.println("📦 Restaurant catalog v" + catalog.getVersion() + " built: " + catalog.size() +
+                           " restaurants (+" + otherNamespaceRestaurants.size() + " in other namespaces) in " +
+                           (System.currentTimeMillis() - start) + " ms");
+        return catalog;
+    }
+
+    // Cuisine label -> names the ontology gives the food type behind it (local name, rdfs:label, class),
+    // the ontology half of the cuisine synonym dictionary
+    private java.util.Map<String, java.util.Set<String>> collectCuisineAliases(Model model) {
+        java.util.Map<String, java.util.Set<String>> aliases = new java.util.HashMap<>();
+        StmtIterator foodTypeIterator = model.listStatements(null, model.createProperty(NS + "hasFoodType"), (RDFNode) null);
+        while (foodTypeIterator.hasNext()) {
+            RDFNode object = foodTypeIterator.nextStatement().getObject();
+            if (!object.isURIResource()) continue;
+            Resource foodType = object.asResource();
+            java.util.Set<String> names = aliases.computeIfAbsent(getCuisineLabel(model, foodType.getURI()),
+                k -> new java.util.LinkedHashSet<>());
+            names.add(foodType.getLocalName());
+            StmtIterator labels = foodType.listProperties(RDFS.label);
+            while (labels.hasNext()) {
+                names.add(labels.nextStatement().getObject().toString());
+            }
+            StmtIterator types = foodType.listProperties(RDF.type);
+            while (types.hasNext()) {
+                RDFNode type = types.nextStatement().getObject();
+                if (type.isURIResource() && type.asResource().getURI().startsWith(NS)) {
+                    names.add(type.asResource().getLocalName());
+                }
+            }
+        }
+        return aliases;
+    }
 
-    // Method to load the RDF model from classpath
+    // Method to load the RDF model from restaurant.ontology.location when set, otherwise from
+    // classpath (binary RDF Thrift artifact when bundled, RDF/XML otherwise)
     public Model loadRestaurantOntology() {
         Model model = ModelFactory.createDefaultModel();
+        if (ontologyLocation != null && !ontologyLocation.isBlank()) {
+            try {
+                RDFDataMgr.read(model, ontologyLocation.trim());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to load ontology from " + ontologyLocation + ": " + e.getMessage(), e);
+            }
+            return model;
+        }
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(COMPILED_ONTOLOGY_FILE)) {
+            if (in != null) {
+                RDFDataMgr.read(model, in, Lang.RDFTHRIFT);
+                return model;
+            }
+        } catch (Exception e) {
+            System.err.println("⚠️  Failed to read compiled ontology, falling back to RDF/XML: " + e.getMessage());
+            model = ModelFactory.createDefaultModel();
+        }
         try (InputStream in = getClass().getClassLoader().getResourceAsStream(ONTOLOGY_FILE)) {
             if (in == null) {
                 throw new RuntimeException("Ontology file not found on classpath: " + ONTOLOGY_FILE);
@@ -60,207 +252,633 @@ public class RestaurantService {
 
     // Method to load rules and apply reasoning on the model (hybrid mode via factory)
     public InfModel applyRulesToModel(Model model) {
+        return applyRulesToModel(model, false);
+    }
+
+    // Derivation logging (needed for InfGraph.getDerivation) keeps a record per inferred triple,
+    // so it is only switched on for explain requests; rule tracing stays off.
+    public InfModel applyRulesToModel(Model model, boolean explain) {
         Model cfgModel = ModelFactory.createDefaultModel();
         Resource cfg = cfgModel.createResource();
         cfg.addProperty(ReasonerVocabulary.PROPruleMode, "hybrid");
         cfg.addProperty(ReasonerVocabulary.PROPruleSet, RULES_FILE);
-        cfg.addProperty(ReasonerVocabulary.PROPtraceOn, "true");
+        cfg.addProperty(ReasonerVocabulary.PROPtraceOn, "false");
+        cfg.addProperty(ReasonerVocabulary.PROPderivationLogging, explain ? "true" : "false");
         Reasoner reasoner = GenericRuleReasonerFactory.theInstance().create(cfg);
         return ModelFactory.createInfModel(reasoner, model);
     }
 
-    // Optimized: Get cached model (load once, reuse)
+    // Optimized: Get a per-request overlay over the catalog's base graph (no triple copying).
+    // Reads see base + overlay as one graph; adds and removes are recorded in the small Delta
+    // layer only, so per-request memory scales with the user profile, not the catalog.
     private Model getCachedModel() {
-        if (cachedModel == null) {
+        return ModelFactory.createModelForGraph(new Delta(getCatalog().getModel().getGraph()));
+    }
+
+    // Optimized: Get cached reasoner (rules parsed once, bound to a fresh overlay per request)
+    private Reasoner getCachedReasoner() {
+        if (cachedReasoner == null) {
+            synchronized (cacheLock) {
+                if (cachedReasoner == null) {
+                    cachedReasoner = applyRulesToModel(ModelFactory.createDefaultModel()).getReasoner();
+                }
+            }
+        }
+        return cachedReasoner;
+    }
+
+    // Rules for the batch inference pass, tagged so each user's fired rules can be read back (built once)
+    private BatchRules getBatchRules() {
+        if (cachedBatchRules == null) {
+            synchronized (cacheLock) {
+                if (cachedBatchRules == null) {
+                    cachedBatchRules = BatchRules.build(Rule.rulesFromURL(RULES_FILE));
+                }
+            }
+        }
+        return cachedBatchRules;
+    }
+
+    // Rules with their restaurant-side conditions pre-matched against the current catalog version
+    private RulePartialEvaluator getRuleEvaluator(RestaurantCatalog catalog) {
+        RulePartialEvaluator evaluator = cachedRuleEvaluator;
+        if (evaluator == null || evaluator.getCatalogVersion() != catalog.getVersion()) {
+            synchronized (cacheLock) {
+                evaluator = cachedRuleEvaluator;
+                if (evaluator == null || evaluator.getCatalogVersion() != catalog.getVersion()) {
+                    long start = System.currentTimeMillis();
+                    evaluator = RulePartialEvaluator.build(Rule.rulesFromURL(RULES_FILE), catalog.getModel().getGraph(),
+                            catalog.getVersion(), NodeFactory.createURI(NS + "hasRecommend"),
+                            NodeFactory.createURI(NS + "confidence"));
+                    cachedRuleEvaluator = evaluator;
+                    System.out.println("📐 Rules pre-evaluated for catalog v" + catalog.getVersion() + ": " +
+                                       evaluator.getRules().size() + " rules in " + (System.currentTimeMillis() - start) + " ms" +
+                                       (evaluator.isComplete() ? "" : ", unsupported (reasoner fallback): " + evaluator.getUnsupportedRules()));
+                }
+            }
+        }
+        return evaluator;
+    }
+
+    // User sides of the pre-evaluated rules compiled into typed profile matchers
+    private CompiledRuleSet getCompiledRules(RulePartialEvaluator evaluator) {
+        CompiledRuleSet compiled = cachedCompiledRules;
+        if (compiled == null || compiled.getSource() != evaluator) {
             synchronized (cacheLock) {
-                if (cachedModel == null) {
-                    cachedModel = loadRestaurantOntology();
+                compiled = cachedCompiledRules;
+                if (compiled == null || compiled.getSource() != evaluator) {
+                    compiled = CompiledRuleSet.compile(evaluator, NS);
+                    cachedCompiledRules = compiled;
+                    System.out.println("🧩 Compiled " + compiled.size() + " rules for catalog v" + evaluator.getCatalogVersion() +
+                                       (compiled.isComplete() ? "" : ", not compiled: " + compiled.getUncompiledRules()));
                 }
             }
         }
-        // Return a copy to avoid concurrent modification issues
-        return ModelFactory.createDefaultModel().add(cachedModel);
+        return compiled;
     }
 
-    // Optimized: Get cached InfModel (apply rules once, reuse)
-    private InfModel getCachedInfModel() {
-        if (cachedInfModel == null) {
+    // Exhaustive lookup table over the rule-relevant preference space (null when the space is too large)
+    private RecommendationTable getRecommendationTable(CompiledRuleSet compiled) {
+        if (oversizedTableSource == compiled) return null;
+        RecommendationTable table = cachedRecommendationTable;
+        if (table == null || table.getSource() != compiled) {
             synchronized (cacheLock) {
-                if (cachedInfModel == null) {
-                    Model baseModel = getCachedModel();
-                    cachedInfModel = applyRulesToModel(baseModel);
+                if (oversizedTableSource == compiled) return null;
+                table = cachedRecommendationTable;
+                if (table == null || table.getSource() != compiled) {
+                    table = RecommendationTable.build(compiled);
+                    if (table == null) {
+                        oversizedTableSource = compiled;
+                        System.out.println("⚠️  Preference space exceeds " + RecommendationTable.MAX_CELLS + " cells, using compiled rules");
+                        return null;
+                    }
+                    cachedRecommendationTable = table;
+                    System.out.println("🗂️  Recommendation table for catalog v" + compiled.getSource().getCatalogVersion() + ": " +
+                                       table.size() + " cells, " + table.distinctResults() + " distinct results in " +
+                                       table.getBuildMillis() + " ms");
+                }
+            }
+        }
+        return table;
+    }
+
+    // Size and build time of the current recommendation table (built on demand)
+    public java.util.Map<String, Object> getRecommendationTableStats() {
+        RestaurantCatalog catalog = getCatalog();
+        RulePartialEvaluator evaluator = getRuleEvaluator(catalog);
+        CompiledRuleSet compiled = getCompiledRules(evaluator);
+        java.util.Map<String, Object> stats = new java.util.LinkedHashMap<>();
+        stats.put("mode", rulesMode);
+        if (!compiled.isComplete()) {
+            stats.put("available", false);
+            stats.put("uncompiledRules", compiled.getUncompiledRules());
+            return stats;
+        }
+        RecommendationTable table = getRecommendationTable(compiled);
+        stats.put("available", table != null);
+        if (table != null) stats.putAll(table.getStats());
+        return stats;
+    }
+
+    // Canonical, typed preference profile (same normalization as addUserInstance, user id left out)
+    RecommendationProfile toProfile(RestaurantRecommendationRequest request) {
+        RestaurantRecommendationRequest.NutritionPreference pre = request.getPreRunNutrition();
+        RestaurantRecommendationRequest.NutritionPreference post = request.getPostRunNutrition();
+
+        List<String> restaurantTypes = new ArrayList<>();
+        if (request.getPreferredRestaurantTypes() != null) {
+            for (String type : request.getPreferredRestaurantTypes()) {
+                if (type != null && !type.isEmpty()) restaurantTypes.add(normalizeRestaurantType(type));
+            }
+        }
+        List<String> cuisines = new ArrayList<>();
+        if (request.getPreferredCuisines() != null) {
+            for (String cuisine : request.getPreferredCuisines()) {
+                if (cuisine != null && !cuisine.isEmpty()) cuisines.add(normalizeCuisineType(cuisine));
+            }
+        }
+
+        return new RecommendationProfile(
+            request.getRunnerType() != null ? normalizeRunnerType(request.getRunnerType()) : null,
+            pre != null ? pre.getCarbLevel() : null, pre != null ? pre.getFatLevel() : null, pre != null ? pre.getProteinLevel() : null,
+            post != null ? post.getCarbLevel() : null, post != null ? post.getFatLevel() : null, post != null ? post.getProteinLevel() : null,
+            restaurantTypes, cuisines, request.getMaxBudget());
+    }
+
+    // Profile-keyed recommendation cache, created on first use from the configured limits
+    public RecommendationCache getRecommendationCache() {
+        RecommendationCache cache = recommendationCache;
+        if (cache == null) {
+            synchronized (this) {
+                cache = recommendationCache;
+                if (cache == null) {
+                    cache = new RecommendationCache(recommendationCacheMaxEntries, recommendationCacheTtlSeconds * 1000);
+                    recommendationCache = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    // Initial binding of ?user for the registered queries
+    private org.apache.jena.query.QuerySolutionMap userBinding(Model model, String userURI) {
+        org.apache.jena.query.QuerySolutionMap binding = new org.apache.jena.query.QuerySolutionMap();
+        binding.add("user", model.getResource(userURI));
+        return binding;
+    }
+
+    // Execution counts and timings of the registered SPARQL queries
+    public java.util.Map<String, Object> getQueryStats() {
+        return sparqlQueries.getStats();
+    }
+
+    // Add the request's user individual (profile triples) to the given model
+    private Resource addUserInstance(Model model, String userURI, RestaurantRecommendationRequest request) {
+        Resource userInstance = model.createResource(userURI);
+        userInstance.addProperty(RDF.type, model.createResource(NS + "User"));
+
+        if (request.getRunnerType() != null) {
+            String normalizedRunner = normalizeRunnerType(request.getRunnerType());
+            userInstance.addProperty(model.createProperty(NS + "RunnerType"), normalizedRunner);
+        }
+        userInstance.addLiteral(model.createProperty(NS + "BudgetInterest"), request.getMaxBudget());
+
+        if (request.getPreRunNutrition() != null) {
+            userInstance.addProperty(model.createProperty(NS + "PreRunCarbConsumtion"), request.getPreRunNutrition().getCarbLevel());
+            userInstance.addProperty(model.createProperty(NS + "PreRunFatConsumtion"), request.getPreRunNutrition().getFatLevel());
+            userInstance.addProperty(model.createProperty(NS + "PreRunProteinConsumtion"), request.getPreRunNutrition().getProteinLevel());
+        }
+        if (request.getPostRunNutrition() != null) {
+            userInstance.addProperty(model.createProperty(NS + "PostRunCarbConsumtion"), request.getPostRunNutrition().getCarbLevel());
+            userInstance.addProperty(model.createProperty(NS + "PostRunFatConsumtion"), request.getPostRunNutrition().getFatLevel());
+            userInstance.addProperty(model.createProperty(NS + "PostRunProteinConsumtion"), request.getPostRunNutrition().getProteinLevel());
+        }
+
+        if (request.getPreferredRestaurantTypes() != null) {
+            for (String type : request.getPreferredRestaurantTypes()) {
+                if (type != null && !type.isEmpty()) {
+                    userInstance.addProperty(
+                        model.createProperty(NS + "hasRestaurantTypeInterest"),
+                        model.createResource(NS + normalizeRestaurantType(type))
+                    );
+                }
+            }
+        }
+        if (request.getPreferredCuisines() != null) {
+            for (String cuisine : request.getPreferredCuisines()) {
+                if (cuisine != null && !cuisine.isEmpty()) {
+                    userInstance.addProperty(
+                        model.createProperty(NS + "hasFoodTypeInterest"),
+                        model.createResource(NS + normalizeCuisineType(cuisine))
+                    );
                 }
             }
         }
-        // Return a new InfModel with a copy of the base model to avoid concurrent modification
-        Model baseModelCopy = ModelFactory.createDefaultModel().add(cachedModel);
-        Reasoner reasoner = cachedInfModel.getReasoner();
-        return ModelFactory.createInfModel(reasoner, baseModelCopy);
+        return userInstance;
     }
 
     // Removed old file-based rules loading helper; rules are loaded via Reasoner config from classpath now.
 
     // NEW METHOD: Get restaurant recommendations as structured data for frontend
     public List<Restaurant> getRestaurantRecommendations(RestaurantRecommendationRequest request) {
+        return getRestaurantRecommendations(request, false);
+    }
+
+    // explain = true runs the reasoner with derivation logging and attaches the fired rules and
+    // matched clauses to every restaurant; it bypasses the precomputed paths and the result cache.
+    public List<Restaurant> getRestaurantRecommendations(RestaurantRecommendationRequest request, boolean explain) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
-            System.out.println("\n" + "=".repeat(80));
-            System.out.println("🏃‍♂️ RESTAURANT RECOMMENDATION PROCESS STARTED");
-            System.out.println("=".repeat(80));
-            System.out.println("👤 User ID: " + request.getUserId());
-            System.out.println("📋 User Preferences:");
-            System.out.println("  ├─ Runner Type: " + request.getRunnerType());
-            System.out.println("  ├─ Max Budget: $" + String.format("%.2f", request.getMaxBudget()));
-            System.out.println("  ├─ Preferred Cuisines: " + (request.getPreferredCuisines() != null ? request.getPreferredCuisines() : "Any"));
-            System.out.println("  ├─ Preferred Restaurant Types: " + (request.getPreferredRestaurantTypes() != null ? request.getPreferredRestaurantTypes() : "Any"));
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🏃‍♂️ RESTAURANT RECOMMENDATION PROCESS STARTED");
+                RequestTrace.log("👤 User ID: " + request.getUserId());
+                RequestTrace.log("📋 User Preferences:");
+                RequestTrace.log("  ├─ Runner Type: " + request.getRunnerType());
+                RequestTrace.log("  ├─ Max Budget: $" + String.format("%.2f", request.getMaxBudget()));
+                RequestTrace.log("  ├─ Preferred Cuisines: " + (request.getPreferredCuisines() != null ? request.getPreferredCuisines() : "Any"));
+                RequestTrace.log("  ├─ Preferred Restaurant Types: " + (request.getPreferredRestaurantTypes() != null ? request.getPreferredRestaurantTypes() : "Any"));
+            }
             
             if (request.getPreRunNutrition() != null) {
-                System.out.println("  ├─ Pre-run Nutrition:");
-                System.out.println("    ├─ Carbohydrates: " + request.getPreRunNutrition().getCarbLevel());
-                System.out.println("    ├─ Fat: " + request.getPreRunNutrition().getFatLevel());
-                System.out.println("    └─ Protein: " + request.getPreRunNutrition().getProteinLevel());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  ├─ Pre-run Nutrition:");
+                    RequestTrace.log("    ├─ Carbohydrates: " + request.getPreRunNutrition().getCarbLevel());
+                    RequestTrace.log("    ├─ Fat: " + request.getPreRunNutrition().getFatLevel());
+                    RequestTrace.log("    └─ Protein: " + request.getPreRunNutrition().getProteinLevel());
+                }
             }
             
             if (request.getPostRunNutrition() != null) {
-                System.out.println("  └─ Post-run Nutrition:");
-                System.out.println("    ├─ Carbohydrates: " + request.getPostRunNutrition().getCarbLevel());
-                System.out.println("    ├─ Fat: " + request.getPostRunNutrition().getFatLevel());
-                System.out.println("    └─ Protein: " + request.getPostRunNutrition().getProteinLevel());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  └─ Post-run Nutrition:");
+                    RequestTrace.log("    ├─ Carbohydrates: " + request.getPostRunNutrition().getCarbLevel());
+                    RequestTrace.log("    ├─ Fat: " + request.getPostRunNutrition().getFatLevel());
+                    RequestTrace.log("    └─ Protein: " + request.getPostRunNutrition().getProteinLevel());
+                }
             }
             
-            System.out.println("=".repeat(80));
-            
-            // Load the RDF model
-            System.out.println("📚 Loading RDF ontology...");
-            Model model = loadRestaurantOntology();
-            System.out.println("✅ RDF ontology loaded successfully");
+            RestaurantCatalog catalog = getCatalog();
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("📚 Using restaurant catalog v" + catalog.getVersion());
+            }
+
+            // Results only depend on the preference profile, so identical profiles share one evaluation
+            RecommendationProfile profile = toProfile(request);
+            boolean cacheEnabled = recommendationCacheMaxEntries > 0 && !explain;
+            List<Restaurant> cached = cacheEnabled ? getRecommendationCache().get(profile, catalog.getVersion()) : null;
+            if (cached != null) {
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("♻️  Recommendation cache hit: " + cached.size() + " restaurant(s)");
+                }
+                return cached;
+            }
 
-            // Create or update a user individual in the model from request (normalize terms to ontology local names)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) ? request.getUserId() : "apiUser";
             String userURI = NS + userLocalName;
-            Resource userInstance = model.createResource(userURI);
-            userInstance.addProperty(RDF.type, model.createResource(NS + "User"));
 
-            if (request.getRunnerType() != null) {
-                String normalizedRunner = normalizeRunnerType(request.getRunnerType());
-                userInstance.addProperty(model.createProperty(NS + "RunnerType"), normalizedRunner);
+            RulePartialEvaluator evaluator = (explain || "reasoner".equalsIgnoreCase(rulesMode)) ? null : getRuleEvaluator(catalog);
+            boolean tableMode = "table".equalsIgnoreCase(rulesMode);
+            CompiledRuleSet compiledRules = (evaluator != null && (tableMode || "compiled".equalsIgnoreCase(rulesMode)))
+                ? getCompiledRules(evaluator) : null;
+            RecommendationTable table = (tableMode && compiledRules != null && compiledRules.isComplete())
+                ? getRecommendationTable(compiledRules) : null;
+
+            if (table != null) {
+                RequestTrace.log("⚡ Looking up the preference profile in the recommendation table...");
+                recommendations.addAll(toRecommendedRestaurants(table.lookup(profile), catalog, catalog.getModel()));
+            } else if (compiledRules != null && compiledRules.isComplete()) {
+                // Typed matchers: no RDF user individual at all
+                RequestTrace.log("⚡ Matching compiled rules against the preference profile...");
+                recommendations.addAll(toRecommendedRestaurants(compiledRules.evaluate(profile), catalog, catalog.getModel()));
+            } else {
+                // Layer the user individual over the catalog snapshot's base graph instead of re-parsing the ontology
+                long stageStart = System.nanoTime();
+                Model model = ModelFactory.createModelForGraph(new Delta(catalog.getModel().getGraph()));
+                metrics.record(RecommendationMetrics.DEFAULT_STRATEGY, RecommendationMetrics.Stage.MODEL, stageStart);
+                stageStart = System.nanoTime();
+                addUserInstance(model, userURI, request);
+                metrics.record(RecommendationMetrics.DEFAULT_STRATEGY, RecommendationMetrics.Stage.USER, stageStart);
+
+                if (evaluator != null && evaluator.isComplete()) {
+                    RequestTrace.log("⚡ Matching user conditions against pre-evaluated rules...");
+                    List<RulePartialEvaluator.Recommendation> matches = evaluator.evaluate(model.getGraph(), NodeFactory.createURI(userURI));
+                    recommendations.addAll(toRecommendedRestaurants(matches, catalog, model));
+                } else {
+                    recommendations.addAll(recommendWithReasoner(model, userURI, catalog, explain));
+                }
             }
-            userInstance.addLiteral(model.createProperty(NS + "BudgetInterest"), request.getMaxBudget());
 
-            if (request.getPreRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PreRunCarbConsumtion"), request.getPreRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunFatConsumtion"), request.getPreRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunProteinConsumtion"), request.getPreRunNutrition().getProteinLevel());
+            // Sort by score desc
+            recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
+            if (recommendations.size() < fallbackMinResults) {
+                List<Restaurant> fallback = rankFallback(catalog, request, recommendations, fallbackMinResults - recommendations.size());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("🧮 Only " + recommendations.size() + " rule match(es), adding " + fallback.size() + " heuristic match(es)");
+                }
+                recommendations.addAll(fallback);
             }
-            if (request.getPostRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PostRunCarbConsumtion"), request.getPostRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunFatConsumtion"), request.getPostRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunProteinConsumtion"), request.getPostRunNutrition().getProteinLevel());
+            if (cacheEnabled) {
+                getRecommendationCache().put(profile, catalog.getVersion(), recommendations);
             }
+            
+            RequestTrace.log("🏁 RECOMMENDATION PROCESS COMPLETED");
 
-            if (request.getPreferredRestaurantTypes() != null) {
-                for (String type : request.getPreferredRestaurantTypes()) {
-                    if (type != null && !type.isEmpty()) {
-                        String normalizedType = normalizeRestaurantType(type);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasRestaurantTypeInterest"),
-                            model.createResource(NS + normalizedType)
-                        );
-                    }
+        } catch (Exception e) {
+            System.err.println("\n❌ ERROR in getRestaurantRecommendations: " + e.getMessage());
+            System.err.println("📍 Stack trace:");
+            e.printStackTrace();
+            System.err.println("=".repeat(80));
+        } finally {
+            metrics.recordRequest(RecommendationMetrics.DEFAULT_STRATEGY, requestStart);
+        }
+
+        return recommendations;
+    }
+
+    public java.util.Map<String, List<Restaurant>> getRestaurantRecommendationsBatch(List<RestaurantRecommendationRequest> requests) {
+        return getRestaurantRecommendationsBatch(requests, false);
+    }
+
+    // Recommendations for many users at once, keyed by user id (duplicates/blank ids get an index suffix).
+    // With the precomputed rule paths each distinct profile is evaluated once; in reasoner mode (and for
+    // explain) every user is added to one overlay and the rules run in a single inference pass.
+    public java.util.Map<String, List<Restaurant>> getRestaurantRecommendationsBatch(List<RestaurantRecommendationRequest> requests,
+                                                                                     boolean explain) {
+        java.util.Map<String, List<Restaurant>> results = new java.util.LinkedHashMap<>();
+        if (requests == null || requests.isEmpty()) return results;
+
+        List<String> userIds = new ArrayList<>();
+        java.util.Set<String> usedIds = new java.util.HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            RestaurantRecommendationRequest request = requests.get(i);
+            String baseId = (request.getUserId() != null && !request.getUserId().isEmpty()) ? request.getUserId() : "apiUser";
+            String userId = baseId;
+            // Suffix until unused, so a later "a" can't land on an earlier "a_2"
+            for (int suffix = i; !usedIds.add(userId); suffix++) {
+                userId = baseId + "_" + suffix;
+            }
+            userIds.add(userId);
+        }
+
+        long start = System.currentTimeMillis();
+        RestaurantCatalog catalog = getCatalog();
+        RulePartialEvaluator evaluator = (explain || "reasoner".equalsIgnoreCase(rulesMode)) ? null : getRuleEvaluator(catalog);
+
+        if (evaluator != null && evaluator.isComplete()) {
+            java.util.Map<RecommendationProfile, List<Restaurant>> byProfile = new java.util.HashMap<>();
+            for (int i = 0; i < requests.size(); i++) {
+                RestaurantRecommendationRequest request = requests.get(i);
+                RecommendationProfile profile = toProfile(request);
+                List<Restaurant> shared = byProfile.get(profile);
+                if (shared == null) {
+                    shared = getRestaurantRecommendations(request);
+                    byProfile.put(profile, shared);
                 }
-            }
-            if (request.getPreferredCuisines() != null) {
-                for (String cuisine : request.getPreferredCuisines()) {
-                    if (cuisine != null && !cuisine.isEmpty()) {
-                        String normalizedCuisine = normalizeCuisineType(cuisine);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasFoodTypeInterest"),
-                            model.createResource(NS + normalizedCuisine)
-                        );
-                    }
+                List<Restaurant> copies = new ArrayList<>(shared.size());
+                for (Restaurant restaurant : shared) {
+                    copies.add(new Restaurant(restaurant));
                 }
+                results.put(userIds.get(i), copies);
+            }
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("📦 Batch recommendations: " + requests.size() + " user(s), " + byProfile.size() +
+                                 " distinct profile(s) in " + (System.currentTimeMillis() - start) + " ms");
             }
+            return results;
+        }
 
-            System.out.println("🧠 Applying reasoning rules (hybrid)...");
-            InfModel infModel = applyRulesToModel(model);
-            System.out.println("✅ Reasoning rules applied successfully");
-
-            // SPARQL over inferred model to fetch recommendations + confidence
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                Property hasRecommend = infModel.getProperty(NS, "hasRecommend");
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
+        // Single inference pass over all users. Confidence triples sit on the restaurant and are shared
+        // between users, so each user's confidence comes from the rules that recommended to that user:
+        // read from the tagged per-rule triples, or from the derivations when explaining.
+        Model model = ModelFactory.createModelForGraph(new Delta(catalog.getModel().getGraph()));
+        for (int i = 0; i < requests.size(); i++) {
+            addUserInstance(model, NS + userIds.get(i), requests.get(i));
+        }
+        BatchRules batchRules = explain ? null : getBatchRules();
+        long stageStart = System.nanoTime();
+        InfModel infModel = explain ? applyRulesToModel(model, true) : ModelFactory.createInfModel(batchRules.reasoner, model);
+        infModel.prepare();
+        metrics.record(RecommendationMetrics.BATCH_STRATEGY, RecommendationMetrics.Stage.REASONER, stageStart);
+        Property hasRecommend = infModel.getProperty(NS, "hasRecommend");
+
+        long derivationNanos = 0;
+        for (String userId : userIds) {
+            Resource user = infModel.getResource(NS + userId);
+            java.util.Map<String, Restaurant> byUri = new java.util.LinkedHashMap<>();
+            StmtIterator it = infModel.listStatements(user, explain ? hasRecommend : null, (RDFNode) null);
+            try {
+                while (it.hasNext()) {
+                    Statement stmt = it.nextStatement();
+                    if (!stmt.getObject().isURIResource()) continue;
+                    List<RuleExplanation> fired;
+                    if (explain) {
+                        long derivationStart = System.nanoTime();
+                        fired = explainDerivations(infModel, stmt);
+                        derivationNanos += System.nanoTime() - derivationStart;
                     } else {
-                        // fallback: try reading directly from graph
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f; // default if rule omitted confidence
-                    restaurant.setRuleConfidence(conf);
-                    restaurant.setMatchScore(conf);
-
-                    // collect matched rule names from derivations using the triple <user> re:hasRecommend <restaurant>
-                    java.util.List<String> matchedRules = new java.util.ArrayList<>();
-                    org.apache.jena.reasoner.InfGraph ig = (org.apache.jena.reasoner.InfGraph) infModel.getGraph();
-                    Statement recommendStmt = infModel.createStatement(infModel.getResource(userURI), hasRecommend, restaurantRes);
-                    java.util.Iterator<?> derivs = ig.getDerivation(recommendStmt.asTriple());
-                    while (derivs != null && derivs.hasNext()) {
-                        String s = String.valueOf(derivs.next());
-                        int idx = s.indexOf("Rule ");
-                        if (idx >= 0) {
-                            int end = s.indexOf('\n', idx);
-                            String ruleLine = end > idx ? s.substring(idx, end) : s.substring(idx);
-                            matchedRules.add(ruleLine.trim());
+                        RuleExplanation rule = batchRules.byPredicate.get(stmt.getPredicate().getURI());
+                        if (rule == null) continue;
+                        fired = java.util.Collections.singletonList(rule);
+                    }
+
+                    Resource restaurantRes = stmt.getObject().asResource();
+                    Restaurant restaurant = byUri.get(restaurantRes.getURI());
+                    if (restaurant == null) {
+                        restaurant = catalog.copyOf(restaurantRes.getURI());
+                        if (restaurant == null) restaurant = convertToRestaurantModel(restaurantRes, infModel);
+                        if (restaurant == null) continue;
+                        restaurant.setRuleConfidence(0f);
+                        restaurant.setMatchedRules(new ArrayList<>());
+                        if (explain) restaurant.setExplanation(fired);
+                        byUri.put(restaurantRes.getURI(), restaurant);
+                    }
+                    for (RuleExplanation rule : fired) {
+                        restaurant.getMatchedRules().add(rule.getRuleId());
+                        metrics.ruleHit(rule.getRuleId());
+                        if (rule.getConfidence() != null) {
+                            restaurant.setRuleConfidence(Math.max(restaurant.getRuleConfidence(), rule.getConfidence()));
                         }
                     }
-                    restaurant.setMatchedRules(matchedRules);
-
-                    recommendations.add(restaurant);
                 }
+            } finally {
+                it.close();
+            }
+            List<Restaurant> recommendations = new ArrayList<>(byUri.values());
+            for (Restaurant restaurant : recommendations) {
+                if (restaurant.getRuleConfidence() <= 0f) restaurant.setRuleConfidence(100f); // default if rule omitted confidence
+                restaurant.setMatchScore(restaurant.getRuleConfidence());
             }
-
-            // Sort by score desc
             recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
-            
-            System.out.println("=".repeat(80));
-            System.out.println("🏁 RECOMMENDATION PROCESS COMPLETED");
-            System.out.println("=".repeat(80));
+            results.put(userId, recommendations);
+        }
+        if (explain) {
+            metrics.recordNanos(RecommendationMetrics.BATCH_STRATEGY, RecommendationMetrics.Stage.DERIVATIONS, derivationNanos);
+        }
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("📦 Batch recommendations: " + requests.size() + " user(s) in one inference pass, " +
+                             (System.currentTimeMillis() - start) + " ms");
+        }
+        return results;
+    }
 
-        } catch (Exception e) {
-            System.err.println("\n❌ ERROR in getRestaurantRecommendations: " + e.getMessage());
-            System.err.println("📍 Stack trace:");
-            e.printStackTrace();
-            System.err.println("=".repeat(80));
+    // Per-request copies of the matched restaurants with confidence and fired rules attached
+    private List<Restaurant> toRecommendedRestaurants(List<RulePartialEvaluator.Recommendation> matches,
+                                                      RestaurantCatalog catalog, Model model) {
+        long start = System.nanoTime();
+        List<Restaurant> recommendations = new ArrayList<>();
+        for (RulePartialEvaluator.Recommendation match : matches) {
+            Restaurant restaurant = catalog.copyOf(match.getRestaurantUri());
+            if (restaurant == null) restaurant = convertToRestaurantModel(model.getResource(match.getRestaurantUri()), model);
+            if (restaurant == null) continue;
+
+            float conf = match.getConfidence();
+            if (conf <= 0f) conf = 100f; // default if rule omitted confidence
+            restaurant.setRuleConfidence(conf);
+            restaurant.setMatchScore(conf);
+            restaurant.setMatchedRules(new ArrayList<>(match.getRuleNames()));
+            for (String rule : match.getRuleNames()) {
+                metrics.ruleHit(rule);
+            }
+            recommendations.add(restaurant);
         }
+        metrics.record(RecommendationMetrics.DEFAULT_STRATEGY, RecommendationMetrics.Stage.CONVERT, start);
+        return recommendations;
+    }
+
+    // Best heuristic matches within the budget that the rules didn't return, after the rule results;
+    // they carry the heuristic score and no rule confidence or matched rules
+    private List<Restaurant> rankFallback(RestaurantCatalog catalog, RestaurantRecommendationRequest request,
+                                          List<Restaurant> ruleResults, int count) {
+        BitSet candidates = catalog.getBudgetIndex().matching(0f, request.getMaxBudget());
+        List<Restaurant> catalogRestaurants = catalog.getRestaurants();
+        java.util.Set<String> recommended = new java.util.HashSet<>();
+        for (Restaurant restaurant : ruleResults) {
+            recommended.add(restaurant.getRestaurantId());
+        }
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (recommended.contains(catalogRestaurants.get(i).getRestaurantId())) candidates.clear(i);
+        }
+
+        List<Restaurant> fallback = new ArrayList<>();
+        for (RestaurantScoringIndex.Hit hit : catalog.getScoringIndex().top(request, candidates, count)) {
+            Restaurant restaurant = new Restaurant(catalogRestaurants.get(hit.getOrdinal()));
+            restaurant.setMatchScore(hit.getScore());
+            restaurant.setMatchedRules(new ArrayList<>());
+            fallback.add(restaurant);
+        }
+        return fallback;
+    }
 
+    // Recommendations from the hybrid rule reasoner (used when a rule can't be partially evaluated, or to explain)
+    private List<Restaurant> recommendWithReasoner(Model model, String userURI, RestaurantCatalog catalog, boolean explain) {
+        String strategy = RecommendationMetrics.DEFAULT_STRATEGY;
+        List<Restaurant> recommendations = new ArrayList<>();
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("🧠 Applying reasoning rules (hybrid" + (explain ? ", derivation logging" : "") + ")...");
+        }
+        long stageStart = System.nanoTime();
+        InfModel infModel = applyRulesToModel(model, explain);
+        infModel.prepare();
+        metrics.record(strategy, RecommendationMetrics.Stage.REASONER, stageStart);
+        RequestTrace.log("✅ Reasoning rules applied successfully");
+
+        // SPARQL over inferred model to fetch recommendations + confidence
+        List<RecommendationRow> rows = queryRecommendations(strategy, infModel, userURI);
+
+        Property hasRecommend = infModel.getProperty(NS, "hasRecommend");
+        java.util.Set<String> seen = new java.util.HashSet<>();
+        long convertNanos = 0;
+        long derivationNanos = 0;
+        for (RecommendationRow row : rows) {
+            // One row per confidence value; the first one (highest) wins
+            if (!seen.add(String.valueOf(row.restaurant.getURI()))) continue;
+            long start = System.nanoTime();
+            Restaurant restaurant = catalog.copyOf(row.restaurant.getURI());
+            if (restaurant == null) restaurant = convertToRestaurantModel(row.restaurant, infModel);
+            convertNanos += System.nanoTime() - start;
+            if (restaurant == null) continue;
+
+            restaurant.setRuleConfidence(row.confidence);
+            restaurant.setMatchScore(row.confidence);
+
+            if (explain) {
+                start = System.nanoTime();
+                Statement recommendStmt = infModel.createStatement(infModel.getResource(userURI), hasRecommend, row.restaurant);
+                List<RuleExplanation> explanation = explainDerivations(infModel, recommendStmt);
+                derivationNanos += System.nanoTime() - start;
+                List<String> matchedRules = new ArrayList<>();
+                for (RuleExplanation rule : explanation) {
+                    matchedRules.add(rule.getRuleId());
+                    metrics.ruleHit(rule.getRuleId());
+                }
+                restaurant.setMatchedRules(matchedRules);
+                restaurant.setExplanation(explanation);
+            } else {
+                restaurant.setMatchedRules(new ArrayList<>());
+            }
+
+            recommendations.add(restaurant);
+        }
+        metrics.recordNanos(strategy, RecommendationMetrics.Stage.CONVERT, convertNanos);
+        if (explain) {
+            metrics.recordNanos(strategy, RecommendationMetrics.Stage.DERIVATIONS, derivationNanos);
+        }
         return recommendations;
     }
 
-    // NEW METHOD: Convert RDF resource to Restaurant model
-    private Restaurant convertToRestaurantModel(Resource restaurantResource, Model model) {
+    // Structured rule derivations of an inferred statement (requires derivation logging)
+    private List<RuleExplanation> explainDerivations(InfModel infModel, Statement inferred) {
+        List<RuleExplanation> explanation = new ArrayList<>();
+        java.util.Iterator<Derivation> derivations = infModel.getDerivation(inferred);
+        while (derivations != null && derivations.hasNext()) {
+            Derivation derivation = derivations.next();
+            if (!(derivation instanceof RuleDerivation)) continue;
+            RuleDerivation ruleDerivation = (RuleDerivation) derivation;
+            Rule rule = ruleDerivation.getRule();
+
+            List<String> clauses = new ArrayList<>();
+            for (org.apache.jena.graph.Triple match : ruleDerivation.getMatches()) {
+                if (match != null) clauses.add(formatTriple(match));
+            }
+            explanation.add(new RuleExplanation(rule.getName() != null ? rule.getName() : rule.toShortString(),
+                                                headConfidence(rule), clauses));
+        }
+        return explanation;
+    }
+
+    // Confidence literal from a rule head, e.g. (?Restaurant re:confidence "100")
+    private static Float headConfidence(Rule rule) {
+        for (ClauseEntry entry : rule.getHead()) {
+            if (entry instanceof TriplePattern) {
+                TriplePattern head = (TriplePattern) entry;
+                if (head.getPredicate().isURI() && (NS + "confidence").equals(head.getPredicate().getURI())
+                        && head.getObject().isLiteral()) {
+                    try {
+                        return Float.parseFloat(head.getObject().getLiteralLexicalForm());
+                    } catch (NumberFormatException ignore) {}
+                }
+            }
+        }
+        return null;
+    }
+
+    // Matched clause in readable form: local names for ontology resources, quoted literals
+    private String formatTriple(org.apache.jena.graph.Triple triple) {
+        return formatNode(triple.getSubject()) + " " + formatNode(triple.getPredicate()) + " " + formatNode(triple.getObject());
+    }
+
+    private String formatNode(org.apache.jena.graph.Node node) {
+        if (node.isURI()) {
+            return node.getURI().startsWith(NS) ? "re:" + node.getURI().substring(NS.length()) : "<" + node.getURI() + ">";
+        }
+        if (node.isLiteral()) return "\"" + node.getLiteralLexicalForm() + "\"";
+        return node.toString();
+    }
+
+    // NEW METHOD: Convert RDF resource to Restaurant model (package-private for the JMH benchmarks)
+    Restaurant convertToRestaurantModel(Resource restaurantResource, Model model) {
         try {
             String restaurantName = getLiteralValue(restaurantResource.getProperty(model.createProperty(NS + "RestaurantName")));
             if (restaurantName.equals("N/A")) return null;
@@ -278,11 +896,13 @@ public class RestaurantService {
             restaurant.setRestaurantType(restaurantType);
             
             // Debug logging for label conversion
-            System.out.println("🏷️  Label Conversion Debug:");
-            System.out.println("  ├─ Cuisine URI: " + cuisineTypeURI);
-            System.out.println("  ├─ Cuisine Label: " + cuisineType);
-            System.out.println("  ├─ Type URI: " + type);
-            System.out.println("  └─ Type Label: " + restaurantType);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🏷️  Label Conversion Debug:");
+                RequestTrace.log("  ├─ Cuisine URI: " + cuisineTypeURI);
+                RequestTrace.log("  ├─ Cuisine Label: " + cuisineType);
+                RequestTrace.log("  ├─ Type URI: " + type);
+                RequestTrace.log("  └─ Type Label: " + restaurantType);
+            }
             
             String location = getResourceOrLiteralValue(restaurantResource.getProperty(model.createProperty(NS + "hasRestaurantPlace")));
             restaurant.setLocation(resolveHumanReadableLabel(model, location));
@@ -313,7 +933,9 @@ public class RestaurantService {
                             try {
                                 restaurant.setLatitude(Double.parseDouble(latStr));
                             } catch (NumberFormatException e) {
-                                System.out.println("⚠️  Invalid latitude format: " + latStr);
+                                if (RequestTrace.isActive()) {
+                                    RequestTrace.log("⚠️  Invalid latitude format: " + latStr);
+                                }
                             }
                         }
                         
@@ -324,12 +946,16 @@ public class RestaurantService {
                             try {
                                 restaurant.setLongitude(Double.parseDouble(lonStr));
                             } catch (NumberFormatException e) {
-                                System.out.println("⚠️  Invalid longitude format: " + lonStr);
+                                if (RequestTrace.isActive()) {
+                                    RequestTrace.log("⚠️  Invalid longitude format: " + lonStr);
+                                }
                             }
                         }
                     }
                 } catch (Exception e) {
-                    System.out.println("⚠️  Error extracting coordinates from location: " + e.getMessage());
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("⚠️  Error extracting coordinates from location: " + e.getMessage());
+                    }
                 }
             }
 
@@ -381,473 +1007,30 @@ public class RestaurantService {
             proteinLevel = "Medium";
         }
 
-        System.out.println("🍎 Nutrition Profile for " + getLiteralValue(restaurantResource.getProperty(model.createProperty(NS + "RestaurantName"))) + 
-                         ": Carbs=" + carbLevel + ", Fat=" + fatLevel + ", Protein=" + proteinLevel);
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("🍎 Nutrition Profile for " + getLiteralValue(restaurantResource.getProperty(model.createProperty(NS + "RestaurantName"))) +
+                           ": Carbs=" + carbLevel + ", Fat=" + fatLevel + ", Protein=" + proteinLevel);
+        }
 
         return new Restaurant.NutritionProfile(carbLevel, fatLevel, proteinLevel);
     }
 
-    // NEW METHOD: Check if restaurant matches user preferences
-    private boolean matchesUserPreferences(Restaurant restaurant, RestaurantRecommendationRequest request) {
-        System.out.println("🔍 Checking if restaurant matches user preferences...");
-        
-        // Check budget
-        if (restaurant.getBudget() > request.getMaxBudget()) {
-            System.out.println("❌ Budget mismatch: Restaurant $" + restaurant.getBudget() + " > User $" + request.getMaxBudget());
-            return false;
-        }
-        System.out.println("✅ Budget match: Restaurant $" + restaurant.getBudget() + " <= User $" + request.getMaxBudget());
-
-        // Check cuisine type - more flexible matching
-        if (request.getPreferredCuisines() != null && !request.getPreferredCuisines().isEmpty()) {
-            boolean cuisineMatch = request.getPreferredCuisines().stream()
-                .anyMatch(cuisine -> {
-                    String userCuisine = cuisine.toLowerCase().trim();
-                    String restaurantCuisine = restaurant.getCuisineType().toLowerCase().trim();
-                    
-                    System.out.println("  🔍 Comparing cuisine: User '" + userCuisine + "' vs Restaurant '" + restaurantCuisine + "'");
-                    
-                    // Direct match
-                    if (restaurantCuisine.contains(userCuisine) || userCuisine.contains(restaurantCuisine)) {
-                        System.out.println("  ✅ Direct cuisine match found!");
-                        return true;
-                    }
-                    
-                    // Special cases for common cuisine types (comprehensive mapping)
-                    // Japanese cuisine variations
-                    if ((userCuisine.equals("japanese") && (restaurantCuisine.contains("ramen") || restaurantCuisine.contains("sushi") || restaurantCuisine.contains("japanese"))) ||
-                        (userCuisine.equals("ramen") && restaurantCuisine.contains("japanese")) ||
-                        (userCuisine.equals("sushi") && restaurantCuisine.contains("japanese"))) {
-                        System.out.println("  ✅ Japanese cuisine match found!");
-                        return true;
-                    }
-                    
-                    // Thai cuisine variations
-                    else if (userCuisine.equals("thai") && restaurantCuisine.contains("thai")) {
-                        System.out.println("  ✅ Thai cuisine match found!");
-                        return true;
-                    }
-                    
-                    // Fast food variations
-                    else if ((userCuisine.equals("fast food") || userCuisine.equals("fastfood")) && restaurantCuisine.contains("fast")) {
-                        System.out.println("  ✅ Fast food match found!");
-                        return true;
-                    }
-                    
-                    // Grilled pork variations
-                    else if ((userCuisine.equals("grilled pork") || userCuisine.equals("grilledpork")) && restaurantCuisine.contains("grilled")) {
-                        System.out.println("  ✅ Grilled pork match found!");
-                        return true;
-                    }
-                    
-                    // Noodles variations
-                    else if (userCuisine.equals("noodles") && restaurantCuisine.contains("noodle")) {
-                        System.out.println("  ✅ Noodles match found!");
-                        return true;
-                    }
-                    
-                    // Burger variations
-                    else if (userCuisine.equals("burger") && restaurantCuisine.contains("burger")) {
-                        System.out.println("  ✅ Burger match found!");
-                        return true;
-                    }
-                    
-                    // Steak variations
-                    else if (userCuisine.equals("steak") && restaurantCuisine.contains("steak")) {
-                        System.out.println("  ✅ Steak match found!");
-                        return true;
-                    }
-                    
-                    // Bubble milk tea variations
-                    else if ((userCuisine.equals("bubble milk tea") || userCuisine.equals("bubblemilktea")) && restaurantCuisine.contains("bubble")) {
-                        System.out.println("  ✅ Bubble milk tea match found!");
-                        return true;
-                    }
-                    
-                    // Breakfast variations
-                    else if (userCuisine.equals("breakfast") && restaurantCuisine.contains("breakfast")) {
-                        System.out.println("  ✅ Breakfast match found!");
-                        return true;
-                    }
-                    
-                    // Shabu Sukiyaki variations
-                    else if ((userCuisine.equals("shabu sukiyaki") || userCuisine.equals("shabusukiyaki")) && restaurantCuisine.contains("shabu")) {
-                        System.out.println("  ✅ Shabu Sukiyaki match found!");
-                        return true;
-                    }
-                    
-                    // A la carte variations
-                    else if ((userCuisine.equals("a la carte") || userCuisine.equals("alacarte")) && restaurantCuisine.contains("carte")) {
-                        System.out.println("  ✅ A la carte match found!");
-                        return true;
-                    }
-                    
-                    // Vegetarian variations
-                    else if ((userCuisine.equals("vegetarian jay") || userCuisine.equals("vegetarianjay")) && restaurantCuisine.contains("vegetarian")) {
-                        System.out.println("  ✅ Vegetarian Jay match found!");
-                        return true;
-                    }
-                    else if ((userCuisine.equals("vegetarian food") || userCuisine.equals("vegetarianfood")) && restaurantCuisine.contains("vegetarian")) {
-                        System.out.println("  ✅ Vegetarian food match found!");
-                        return true;
-                    }
-                    
-                    // Buffet variations
-                    else if (userCuisine.equals("buffet") && restaurantCuisine.contains("buffet")) {
-                        System.out.println("  ✅ Buffet match found!");
-                        return true;
-                    }
-                    
-                    // Omakase variations
-                    else if (userCuisine.equals("omakase") && restaurantCuisine.contains("omakase")) {
-                        System.out.println("  ✅ Omakase match found!");
-                        return true;
-                    }
-                    
-                    // Pizza variations
-                    else if (userCuisine.equals("pizza") && restaurantCuisine.contains("pizza")) {
-                        System.out.println("  ✅ Pizza match found!");
-                        return true;
-                    }
-                    
-                    // Seafood variations
-                    else if (userCuisine.equals("seafood") && restaurantCuisine.contains("seafood")) {
-                        System.out.println("  ✅ Seafood match found!");
-                        return true;
-                    }
-                    
-                    // Grill variations
-                    else if (userCuisine.equals("grill") && restaurantCuisine.contains("grill")) {
-                        System.out.println("  ✅ Grill match found!");
-                        return true;
-                    }
-                    
-                    // Ice cream variations
-                    else if ((userCuisine.equals("ice cream") || userCuisine.equals("icecream")) && restaurantCuisine.contains("ice")) {
-                        System.out.println("  ✅ Ice cream match found!");
-                        return true;
-                    }
-                    
-                    // Drinks juice variations
-                    else if ((userCuisine.equals("drinks juice") || userCuisine.equals("drinksjuice")) && restaurantCuisine.contains("drink")) {
-                        System.out.println("  ✅ Drinks juice match found!");
-                        return true;
-                    }
-                    
-                    // One dish meal variations
-                    else if ((userCuisine.equals("one dish meal") || userCuisine.equals("onedishmeal")) && restaurantCuisine.contains("dish")) {
-                        System.out.println("  ✅ One dish meal match found!");
-                        return true;
-                    }
-                    
-                    // Dimsum variations
-                    else if (userCuisine.equals("dimsum") && restaurantCuisine.contains("dimsum")) {
-                        System.out.println("  ✅ Dimsum match found!");
-                        return true;
-                    }
-                    
-                    // Dessert variations
-                    else if (userCuisine.equals("dessert") && restaurantCuisine.contains("dessert")) {
-                        System.out.println("  ✅ Dessert match found!");
-                        return true;
-                    }
-                    
-                    // Clean food salad variations
-                    else if ((userCuisine.equals("clean food salad") || userCuisine.equals("cleanfoodsalad")) && restaurantCuisine.contains("clean")) {
-                        System.out.println("  ✅ Clean food salad match found!");
-                        return true;
-                    }
-                    
-                    // Bakery cake variations
-                    else if ((userCuisine.equals("bakery cake") || userCuisine.equals("bakerycake")) && restaurantCuisine.contains("bakery")) {
-                        System.out.println("  ✅ Bakery cake match found!");
-                        return true;
-                    }
-                    
-                    System.out.println("  ❌ No cuisine match");
-                    return false;
-                });
-            if (!cuisineMatch) {
-                System.out.println("❌ No cuisine type matches found");
-                return false;
-            }
-            System.out.println("✅ Cuisine type match found");
-        }
-
-        // Check restaurant type - more flexible matching
-        if (request.getPreferredRestaurantTypes() != null && !request.getPreferredRestaurantTypes().isEmpty()) {
-            boolean typeMatch = request.getPreferredRestaurantTypes().stream()
-                .anyMatch(type -> {
-                    String userType = type.toLowerCase().trim();
-                    String restaurantType = restaurant.getRestaurantType().toLowerCase().trim();
-                    
-                    System.out.println("  🔍 Comparing restaurant type: User '" + userType + "' vs Restaurant '" + restaurantType + "'");
-                    
-                    // Direct match
-                    if (restaurantType.contains(userType) || userType.contains(restaurantType)) {
-                        System.out.println("  ✅ Direct restaurant type match found!");
-                        return true;
-                    }
-                    
-                    // Special cases for restaurant types (comprehensive mapping)
-                    // Fast Dining variations
-                    if ((userType.contains("fast dining") || userType.equals("fastdining")) && restaurantType.contains("fast")) {
-                        System.out.println("  ✅ Fast Dining match found!");
-                        return true;
-                    }
-                    
-                    // Casual Dining variations
-                    else if ((userType.contains("casual dining") || userType.equals("casualdining")) && restaurantType.contains("casual")) {
-                        System.out.println("  ✅ Casual Dining match found!");
-                        return true;
-                    }
-                    
-                    // Fine Dining variations
-                    else if ((userType.contains("fine dining") || userType.equals("finedining")) && restaurantType.contains("fine")) {
-                        System.out.println("  ✅ Fine Dining match found!");
-                        return true;
-                    }
-                    
-                    // Buffet variations
-                    else if (userType.equals("buffet") && restaurantType.contains("buffet")) {
-                        System.out.println("  ✅ Buffet match found!");
-                        return true;
-                    }
-                    
-                    // Street Food variations
-                    else if ((userType.equals("street food") || userType.equals("streetfood")) && restaurantType.contains("street")) {
-                        System.out.println("  ✅ Street Food match found!");
-                        return true;
-                    }
-                    
-                    // Cafe variations
-                    else if (userType.equals("cafe") && restaurantType.contains("cafe")) {
-                        System.out.println("  ✅ Cafe match found!");
-                        return true;
-                    }
-                    
-                    // Food Court variations
-                    else if ((userType.equals("food court") || userType.equals("foodcourt")) && restaurantType.contains("court")) {
-                        System.out.println("  ✅ Food Court match found!");
-                        return true;
-                    }
-                    
-                    // Food Truck variations
-                    else if ((userType.equals("food truck") || userType.equals("foodtruck")) && restaurantType.contains("truck")) {
-                        System.out.println("  ✅ Food Truck match found!");
-                        return true;
-                    }
-                    
-                    // Family Restaurant variations
-                    else if ((userType.equals("family restaurant") || userType.equals("familyrestaurant")) && restaurantType.contains("family")) {
-                        System.out.println("  ✅ Family Restaurant match found!");
-                        return true;
-                    }
-                    
-                    // Bistro variations
-                    else if (userType.equals("bistro") && restaurantType.contains("bistro")) {
-                        System.out.println("  ✅ Bistro match found!");
-                        return true;
-                    }
-                    
-                    // Pub variations
-                    else if (userType.equals("pub") && restaurantType.contains("pub")) {
-                        System.out.println("  ✅ Pub match found!");
-                        return true;
-                    }
-                    
-                    // Diner variations
-                    else if (userType.equals("diner") && restaurantType.contains("diner")) {
-                        System.out.println("  ✅ Diner match found!");
-                        return true;
-                    }
-                    
-                    // Kiosk variations
-                    else if (userType.equals("kiosk") && restaurantType.contains("kiosk")) {
-                        System.out.println("  ✅ Kiosk match found!");
-                        return true;
-                    }
-                    
-                    System.out.println("  ❌ No restaurant type match");
-                    return false;
-                });
-            if (!typeMatch) {
-                System.out.println("❌ No restaurant type matches found");
-                return false;
-            }
-            System.out.println("✅ Restaurant type match found");
-        }
-
-        System.out.println("✅ All criteria matched! Restaurant is recommended.");
-        return true;
-    }
-
-    // NEW METHOD: Calculate match score for restaurant
-    private float calculateMatchScore(Restaurant restaurant, RestaurantRecommendationRequest request) {
-        float score = 0.0f;
-        System.out.println("🎯 Calculating match score for " + restaurant.getRestaurantName());
-        
-        // Base score for budget match (closer to max budget = higher score)
-        if (restaurant.getBudget() <= request.getMaxBudget()) {
-            score += 50.0f;
-            System.out.println("  💰 Budget score: +50 (Restaurant $" + restaurant.getBudget() + " <= User $" + request.getMaxBudget() + ")");
-            
-            // Bonus for being well under budget
-            float budgetRatio = restaurant.getBudget() / request.getMaxBudget();
-            if (budgetRatio < 0.7f) {
-                score += 20.0f;
-                System.out.println("  💰 Budget bonus: +20 (Well under budget: " + String.format("%.2f", budgetRatio * 100) + "%)");
-            }
-        }
-
-        // Score for cuisine type match
-        if (request.getPreferredCuisines() != null && !request.getPreferredCuisines().isEmpty()) {
-            boolean cuisineMatch = request.getPreferredCuisines().stream()
-                .anyMatch(cuisine -> {
-                    String userCuisine = cuisine.toLowerCase().trim();
-                    String restaurantCuisine = restaurant.getCuisineType().toLowerCase().trim();
-                    
-                    if (restaurantCuisine.contains(userCuisine) || userCuisine.contains(restaurantCuisine)) {
-                        return true;
-                    }
-                    
-                    // Special cases for common cuisine types
-                    if ((userCuisine.equals("japanese") && restaurantCuisine.contains("ramen")) ||
-                        (userCuisine.equals("japanese") && restaurantCuisine.contains("sushi")) ||
-                        (userCuisine.equals("japanese") && restaurantCuisine.contains("japanese")) ||
-                        (userCuisine.equals("thai") && restaurantCuisine.contains("thai"))) {
-                        return true;
-                    }
-                    
-                    return false;
-                });
-            if (cuisineMatch) {
-                score += 30.0f;
-                System.out.println("  🍜 Cuisine type score: +30");
-            }
-        }
-
-        // Score for restaurant type match
-        if (request.getPreferredRestaurantTypes() != null && !request.getPreferredRestaurantTypes().isEmpty()) {
-            boolean typeMatch = request.getPreferredRestaurantTypes().stream()
-                .anyMatch(type -> {
-                    String userType = type.toLowerCase().trim();
-                    String restaurantType = restaurant.getRestaurantType().toLowerCase().trim();
-                    
-                    if (restaurantType.contains(userType) || userType.contains(restaurantType)) {
-                        return true;
-                    }
-                    
-                    // Special cases for restaurant types
-                    if ((userType.contains("fast dining") && restaurantType.contains("fast dining")) ||
-                        (userType.contains("casual dining") && restaurantType.contains("casual dining")) ||
-                        (userType.contains("casual") && restaurantType.contains("casual"))) {
-                        return true;
-                    }
-                    
-                    return false;
-                });
-            if (typeMatch) {
-                score += 20.0f;
-                System.out.println("  🏢 Restaurant type score: +20");
-            }
-        }
-
-        // Score for nutrition match
-        if (restaurant.getNutritionProfile() != null) {
-            Restaurant.NutritionProfile nutrition = restaurant.getNutritionProfile();
-            System.out.println("  🥗 Nutrition matching:");
-            
-            // Check pre-run nutrition
-            if (request.getPreRunNutrition() != null) {
-                System.out.println("    Pre-run nutrition:");
-                if (nutrition.getCarbLevel().equalsIgnoreCase(request.getPreRunNutrition().getCarbLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Carb match: +15 (Restaurant: " + nutrition.getCarbLevel() + " vs User: " + request.getPreRunNutrition().getCarbLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Carb mismatch: Restaurant: " + nutrition.getCarbLevel() + " vs User: " + request.getPreRunNutrition().getCarbLevel());
-                }
-                
-                if (nutrition.getFatLevel().equalsIgnoreCase(request.getPreRunNutrition().getFatLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Fat match: +15 (Restaurant: " + nutrition.getFatLevel() + " vs User: " + request.getPreRunNutrition().getFatLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Fat mismatch: Restaurant: " + nutrition.getFatLevel() + " vs User: " + request.getPreRunNutrition().getFatLevel());
-                }
-                
-                if (nutrition.getProteinLevel().equalsIgnoreCase(request.getPreRunNutrition().getProteinLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Protein match: +15 (Restaurant: " + nutrition.getProteinLevel() + " vs User: " + request.getPreRunNutrition().getProteinLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Protein mismatch: Restaurant: " + nutrition.getProteinLevel() + " vs User: " + request.getPreRunNutrition().getProteinLevel());
-                }
-            }
-            
-            // Check post-run nutrition
-            if (request.getPostRunNutrition() != null) {
-                System.out.println("    Post-run nutrition:");
-                if (nutrition.getCarbLevel().equalsIgnoreCase(request.getPostRunNutrition().getCarbLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Carb match: +15 (Restaurant: " + nutrition.getCarbLevel() + " vs User: " + request.getPostRunNutrition().getCarbLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Carb mismatch: Restaurant: " + nutrition.getCarbLevel() + " vs User: " + request.getPostRunNutrition().getCarbLevel());
-                }
-                
-                if (nutrition.getFatLevel().equalsIgnoreCase(request.getPostRunNutrition().getFatLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Fat match: +15 (Restaurant: " + nutrition.getFatLevel() + " vs User: " + request.getPostRunNutrition().getFatLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Fat mismatch: Restaurant: " + nutrition.getFatLevel() + " vs User: " + request.getPostRunNutrition().getFatLevel());
-                }
-                
-                if (nutrition.getProteinLevel().equalsIgnoreCase(request.getPostRunNutrition().getProteinLevel())) {
-                    score += 15.0f;
-                    System.out.println("      ✅ Protein match: +15 (Restaurant: " + nutrition.getProteinLevel() + " vs User: " + request.getPostRunNutrition().getProteinLevel() + ")");
-                } else {
-                    System.out.println("      ❌ Protein mismatch: Restaurant: " + nutrition.getProteinLevel() + " vs User: " + request.getPostRunNutrition().getProteinLevel());
-                }
-            }
-        }
-
-        System.out.println("  🎯 Total match score: " + score);
-        return score;
-    }
-
-    // NEW METHOD: Get all restaurants (for browsing)
-    public List<Restaurant> getAllRestaurants() {
-        List<Restaurant> restaurants = new ArrayList<>();
+    // NEW METHOD: Get all restaurants (for browsing)
+    public List<Restaurant> getAllRestaurants() {
+        List<Restaurant> restaurants = new ArrayList<>();
         
         try {
-            System.out.println("\n" + "=".repeat(60));
-            System.out.println("🍽️ GETTING ALL RESTAURANTS");
-            System.out.println("=".repeat(60));
+            RequestTrace.log("🍽️ GETTING ALL RESTAURANTS");
             
-            Model model = loadRestaurantOntology();
-            System.out.println("✅ RDF ontology loaded");
+            RestaurantCatalog catalog = getCatalog();
+            restaurants.addAll(catalog.getRestaurants());
             
-            StmtIterator restaurantIterator = model.listStatements(null, RDF.type, model.createResource(NS + "Restaurant"));
-            System.out.println("🔍 Querying restaurants...");
-
-            int count = 0;
-            while (restaurantIterator.hasNext()) {
-                Statement restaurantStmt = restaurantIterator.nextStatement();
-                Resource restaurantResource = restaurantStmt.getSubject();
-                
-                Restaurant restaurant = convertToRestaurantModel(restaurantResource, model);
-                if (restaurant != null) {
-                    count++;
-                    restaurants.add(restaurant);
-                    System.out.println("  " + count + ". " + restaurant.getRestaurantName() + 
-                                     " (" + restaurant.getCuisineType() + ") - $" + 
-                                     String.format("%.2f", restaurant.getBudget()));
-                }
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("📊 SUMMARY:");
+                RequestTrace.log("  ├─ Catalog version: " + catalog.getVersion());
+                RequestTrace.log("  └─ Total restaurants: " + restaurants.size());
             }
             
-            System.out.println("\n📊 SUMMARY:");
-            System.out.println("  ├─ Total restaurants found: " + count);
-            System.out.println("  └─ Successfully converted: " + restaurants.size());
-            System.out.println("=".repeat(60));
-            
         } catch (Exception e) {
             System.err.println("❌ ERROR getting all restaurants: " + e.getMessage());
             e.printStackTrace();
@@ -861,448 +1044,226 @@ public class RestaurantService {
                                                      String location, String nationality, float minBudget, float maxBudget,
                                                      String carbLevel, String fatLevel, String proteinLevel,
                                                      String runnerType, String sortBy, String sortOrder) {
+        return searchRestaurantsAdvanced(restaurantName, cuisineType, restaurantType, location, nationality,
+                                         minBudget, maxBudget, carbLevel, fatLevel, proteinLevel,
+                                         runnerType, sortBy, sortOrder, false, 0, 0).getRestaurants();
+    }
+
+    // Paged advanced search: filters are AND-ed bitmaps, the page is read off the precomputed
+    // sort order of sortBy, skipping cursor matches and stopping after limit (<= 0 for all).
+    // fuzzy also accepts restaurant names within a few edits of restaurantName.
+    public RestaurantPage searchRestaurantsAdvanced(String restaurantName, String cuisineType, String restaurantType, 
+                                                    String location, String nationality, float minBudget, float maxBudget,
+                                                    String carbLevel, String fatLevel, String proteinLevel,
+                                                    String runnerType, String sortBy, String sortOrder,
+                                                    boolean fuzzy, int cursor, int limit) {
         List<Restaurant> results = new ArrayList<>();
+        int total = 0;
+        Integer nextCursor = null;
         
         try {
-            System.out.println("\n" + "=".repeat(80));
-            System.out.println("🔍 ADVANCED RESTAURANT SEARCH");
-            System.out.println("=".repeat(80));
-            System.out.println("📋 Search Criteria:");
-            System.out.println("  ├─ Restaurant Name: " + (restaurantName != null ? restaurantName : "Any"));
-            System.out.println("  ├─ Cuisine Type: " + (cuisineType != null ? cuisineType : "Any"));
-            System.out.println("  ├─ Restaurant Type: " + (restaurantType != null ? restaurantType : "Any"));
-            System.out.println("  ├─ Location: " + (location != null ? location : "Any"));
-            System.out.println("  ├─ Nationality: " + (nationality != null ? nationality : "Any"));
-            System.out.println("  ├─ Budget Range: $" + String.format("%.2f", minBudget) + " - $" + String.format("%.2f", maxBudget));
-            System.out.println("  ├─ Nutrition:");
-            System.out.println("    ├─ Carb Level: " + (carbLevel != null ? carbLevel : "Any"));
-            System.out.println("    ├─ Fat Level: " + (fatLevel != null ? fatLevel : "Any"));
-            System.out.println("    └─ Protein Level: " + (proteinLevel != null ? proteinLevel : "Any"));
-            System.out.println("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
-            System.out.println("  ├─ Sort By: " + (sortBy != null ? sortBy : "name"));
-            System.out.println("  └─ Sort Order: " + (sortOrder != null ? sortOrder : "asc"));
-            System.out.println("=".repeat(80));
-            
-            Model model = loadRestaurantOntology();
-            System.out.println("✅ RDF ontology loaded");
-            
-            StmtIterator restaurantIterator = model.listStatements(null, RDF.type, model.createResource(NS + "Restaurant"));
-            System.out.println("🔍 Querying restaurants...");
-
-            int totalChecked = 0;
-            int matched = 0;
-            
-            while (restaurantIterator.hasNext()) {
-                Statement restaurantStmt = restaurantIterator.nextStatement();
-                Resource restaurantResource = restaurantStmt.getSubject();
-                
-                Restaurant restaurant = convertToRestaurantModel(restaurantResource, model);
-                if (restaurant != null) {
-                    totalChecked++;
-                    
-                    if (matchesAdvancedSearchCriteria(restaurant, restaurantName, cuisineType, restaurantType, 
-                                                     location, nationality, minBudget, maxBudget,
-                                                     carbLevel, fatLevel, proteinLevel, runnerType)) {
-                        matched++;
-                        results.add(restaurant);
-                        System.out.println("  ✅ " + matched + ". " + restaurant.getRestaurantName() + 
-                                         " (" + restaurant.getCuisineType() + ") - $" + 
-                                         String.format("%.2f", restaurant.getBudget()) + " - " + restaurant.getLocation());
-                    }
-                }
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🔍 ADVANCED RESTAURANT SEARCH");
+                RequestTrace.log("📋 Search Criteria:");
+                RequestTrace.log("  ├─ Restaurant Name: " + (restaurantName != null ? restaurantName : "Any") + (fuzzy ? " (fuzzy)" : ""));
+                RequestTrace.log("  ├─ Cuisine Type: " + (cuisineType != null ? cuisineType : "Any"));
+                RequestTrace.log("  ├─ Restaurant Type: " + (restaurantType != null ? restaurantType : "Any"));
+                RequestTrace.log("  ├─ Location: " + (location != null ? location : "Any"));
+                RequestTrace.log("  ├─ Nationality: " + (nationality != null ? nationality : "Any"));
+                RequestTrace.log("  ├─ Budget Range: $" + String.format("%.2f", minBudget) + " - $" + String.format("%.2f", maxBudget));
+                RequestTrace.log("  ├─ Nutrition:");
+                RequestTrace.log("    ├─ Carb Level: " + (carbLevel != null ? carbLevel : "Any"));
+                RequestTrace.log("    ├─ Fat Level: " + (fatLevel != null ? fatLevel : "Any"));
+                RequestTrace.log("    └─ Protein Level: " + (proteinLevel != null ? proteinLevel : "Any"));
+                RequestTrace.log("  ├─ Runner Type: " + (runnerType != null ? runnerType : "Any"));
+                RequestTrace.log("  ├─ Sort By: " + (sortBy != null ? sortBy : "name"));
+                RequestTrace.log("  ├─ Sort Order: " + (sortOrder != null ? sortOrder : "asc"));
+                RequestTrace.log("  └─ Page: cursor " + cursor + ", limit " + (limit > 0 ? limit : "none"));
+            }
+            
+            RestaurantCatalog catalog = getCatalog();
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🔍 Searching restaurant catalog v" + catalog.getVersion() + "...");
+            }
+
+            BitSet matches = matchSearchFilters(catalog, restaurantName, cuisineType, restaurantType, location,
+                                                nationality, minBudget, maxBudget, carbLevel, fatLevel, proteinLevel, fuzzy);
+
+            List<Restaurant> restaurants = catalog.getRestaurants();
+            int skip = Math.max(0, cursor);
+            total = matches.cardinality();
+            int[] page = catalog.getSortIndex().page(matches, sortBy, sortOrder, skip, limit);
+
+            for (int ordinal : page) {
+                Restaurant restaurant = restaurants.get(ordinal);
+                results.add(restaurant);
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  ✅ " + (skip + results.size()) + ". " + restaurant.getRestaurantName() +
+                                   " (" + restaurant.getCuisineType() + ") - $" + 
+                                   String.format("%.2f", restaurant.getBudget()) + " - " + restaurant.getLocation());
+                }
+            }
+            if (skip + page.length < total) {
+                nextCursor = skip + page.length;
+            }
+            
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("📊 ADVANCED SEARCH SUMMARY:");
+                RequestTrace.log("  ├─ Total restaurants checked: " + restaurants.size());
+                RequestTrace.log("  ├─ Matched criteria: " + total);
+                RequestTrace.log("  ├─ Results returned: " + results.size());
+                RequestTrace.log("  ├─ Sort by: " + sortBy);
+                RequestTrace.log("  ├─ Sort order: " + sortOrder);
+                RequestTrace.log("  └─ Next cursor: " + (nextCursor != null ? nextCursor : "none"));
             }
             
-            // Sort results
-            sortRestaurantResults(results, sortBy, sortOrder);
-            
-            System.out.println("\n📊 ADVANCED SEARCH SUMMARY:");
-            System.out.println("  ├─ Total restaurants checked: " + totalChecked);
-            System.out.println("  ├─ Matched criteria: " + matched);
-            System.out.println("  ├─ Results returned: " + results.size());
-            System.out.println("  ├─ Sort by: " + sortBy);
-            System.out.println("  └─ Sort order: " + sortOrder);
-            System.out.println("=".repeat(80));
-            
         } catch (Exception e) {
             System.err.println("❌ ERROR in advanced search: " + e.getMessage());
             e.printStackTrace();
         }
 
-        return results;
+        return new RestaurantPage(results, total, nextCursor);
     }
 
-    // ENHANCED METHOD: Check if restaurant matches advanced search criteria
-    private boolean matchesAdvancedSearchCriteria(Restaurant restaurant, String restaurantName, String cuisineType, 
-                                                 String restaurantType, String location, String nationality,
-                                                 float minBudget, float maxBudget, String carbLevel, 
-                                                 String fatLevel, String proteinLevel, String runnerType) {
-        
-        System.out.println("🔍 Checking restaurant: " + restaurant.getRestaurantName());
-        
-        // Restaurant name matching (flexible)
+    // Catalog positions passing every given advanced-search filter (null/blank filters and
+    // non-positive budget bounds are ignored); runnerType plays no part in search filtering
+    private BitSet matchSearchFilters(RestaurantCatalog catalog, String restaurantName, String cuisineType,
+                                      String restaurantType, String location, String nationality,
+                                      float minBudget, float maxBudget, String carbLevel, String fatLevel,
+                                      String proteinLevel, boolean fuzzy) {
+        RestaurantFacetIndex facets = catalog.getFacets();
+        BitSet matches = facets.all();
+
         if (restaurantName != null && !restaurantName.trim().isEmpty()) {
             String searchName = restaurantName.toLowerCase().trim();
-            String restaurantNameLower = restaurant.getRestaurantName().toLowerCase();
-            
-            if (!restaurantNameLower.contains(searchName) && !searchName.contains(restaurantNameLower)) {
-                System.out.println("❌ Restaurant name mismatch: '" + searchName + "' vs '" + restaurantNameLower + "'");
-                return false;
-            }
-            System.out.println("✅ Restaurant name match: '" + searchName + "' vs '" + restaurantNameLower + "'");
+            RestaurantNameIndex nameIndex = catalog.getNameIndex();
+            java.util.Set<String> names = nameIndex.containing(searchName);
+            // Fuzzy: names with a full-name or word key within the edit distance also match
+            if (fuzzy) names.addAll(nameIndex.search(searchName, fuzzyDistance(searchName)));
+            matches.and(facets.match(RestaurantFacetIndex.Facet.NAME, names));
         }
-        
-        // Cuisine type matching (using recommendation-style flexible matching)
         if (cuisineType != null && !cuisineType.trim().isEmpty()) {
-            String searchCuisine = cuisineType.toLowerCase().trim();
-            String restaurantCuisine = restaurant.getCuisineType().toLowerCase().trim();
-            
-            System.out.println("🔍 Comparing cuisine: Search '" + searchCuisine + "' vs Restaurant '" + restaurantCuisine + "'");
-            
-            boolean cuisineMatch = false;
-            
-            // Direct match
-            if (restaurantCuisine.contains(searchCuisine) || searchCuisine.contains(restaurantCuisine)) {
-                System.out.println("✅ Direct cuisine match found!");
-                cuisineMatch = true;
-            }
-            
-            // Special cases for common cuisine types (comprehensive mapping)
-            if (!cuisineMatch) {
-                // Japanese cuisine variations
-                if ((searchCuisine.equals("japanese") && (restaurantCuisine.contains("ramen") || restaurantCuisine.contains("sushi") || restaurantCuisine.contains("japanese"))) ||
-                    (searchCuisine.equals("ramen") && restaurantCuisine.contains("japanese")) ||
-                    (searchCuisine.equals("sushi") && restaurantCuisine.contains("japanese"))) {
-                    System.out.println("✅ Japanese cuisine match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Thai cuisine variations
-                else if (searchCuisine.equals("thai") && restaurantCuisine.contains("thai")) {
-                    System.out.println("✅ Thai cuisine match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Fast food variations
-                else if ((searchCuisine.equals("fast food") || searchCuisine.equals("fastfood")) && restaurantCuisine.contains("fast")) {
-                    System.out.println("✅ Fast food match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Grilled pork variations
-                else if ((searchCuisine.equals("grilled pork") || searchCuisine.equals("grilledpork")) && restaurantCuisine.contains("grilled")) {
-                    System.out.println("✅ Grilled pork match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Noodles variations
-                else if (searchCuisine.equals("noodles") && restaurantCuisine.contains("noodle")) {
-                    System.out.println("✅ Noodles match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Burger variations
-                else if (searchCuisine.equals("burger") && restaurantCuisine.contains("burger")) {
-                    System.out.println("✅ Burger match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Steak variations
-                else if (searchCuisine.equals("steak") && restaurantCuisine.contains("steak")) {
-                    System.out.println("✅ Steak match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Bubble milk tea variations
-                else if ((searchCuisine.equals("bubble milk tea") || searchCuisine.equals("bubblemilktea")) && restaurantCuisine.contains("bubble")) {
-                    System.out.println("✅ Bubble milk tea match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Breakfast variations
-                else if (searchCuisine.equals("breakfast") && restaurantCuisine.contains("breakfast")) {
-                    System.out.println("✅ Breakfast match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Shabu Sukiyaki variations
-                else if ((searchCuisine.equals("shabu sukiyaki") || searchCuisine.equals("shabusukiyaki")) && restaurantCuisine.contains("shabu")) {
-                    System.out.println("✅ Shabu Sukiyaki match found!");
-                    cuisineMatch = true;
-                }
-                
-                // A la carte variations
-                else if ((searchCuisine.equals("a la carte") || searchCuisine.equals("alacarte")) && restaurantCuisine.contains("carte")) {
-                    System.out.println("✅ A la carte match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Vegetarian variations
-                else if ((searchCuisine.equals("vegetarian jay") || searchCuisine.equals("vegetarianjay")) && restaurantCuisine.contains("vegetarian")) {
-                    System.out.println("✅ Vegetarian Jay match found!");
-                    cuisineMatch = true;
-                }
-                else if ((searchCuisine.equals("vegetarian food") || searchCuisine.equals("vegetarianfood")) && restaurantCuisine.contains("vegetarian")) {
-                    System.out.println("✅ Vegetarian food match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Buffet variations
-                else if (searchCuisine.equals("buffet") && restaurantCuisine.contains("buffet")) {
-                    System.out.println("✅ Buffet match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Omakase variations
-                else if (searchCuisine.equals("omakase") && restaurantCuisine.contains("omakase")) {
-                    System.out.println("✅ Omakase match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Pizza variations
-                else if (searchCuisine.equals("pizza") && restaurantCuisine.contains("pizza")) {
-                    System.out.println("✅ Pizza match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Seafood variations
-                else if (searchCuisine.equals("seafood") && restaurantCuisine.contains("seafood")) {
-                    System.out.println("✅ Seafood match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Grill variations
-                else if (searchCuisine.equals("grill") && restaurantCuisine.contains("grill")) {
-                    System.out.println("✅ Grill match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Ice cream variations
-                else if ((searchCuisine.equals("ice cream") || searchCuisine.equals("icecream")) && restaurantCuisine.contains("ice")) {
-                    System.out.println("✅ Ice cream match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Drinks juice variations
-                else if ((searchCuisine.equals("drinks juice") || searchCuisine.equals("drinksjuice")) && restaurantCuisine.contains("drink")) {
-                    System.out.println("✅ Drinks juice match found!");
-                    cuisineMatch = true;
-                }
-                
-                // One dish meal variations
-                else if ((searchCuisine.equals("one dish meal") || searchCuisine.equals("onedishmeal")) && restaurantCuisine.contains("dish")) {
-                    System.out.println("✅ One dish meal match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Dimsum variations
-                else if (searchCuisine.equals("dimsum") && restaurantCuisine.contains("dimsum")) {
-                    System.out.println("✅ Dimsum match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Dessert variations
-                else if (searchCuisine.equals("dessert") && restaurantCuisine.contains("dessert")) {
-                    System.out.println("✅ Dessert match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Clean food salad variations
-                else if ((searchCuisine.equals("clean food salad") || searchCuisine.equals("cleanfoodsalad")) && restaurantCuisine.contains("clean")) {
-                    System.out.println("✅ Clean food salad match found!");
-                    cuisineMatch = true;
-                }
-                
-                // Bakery cake variations
-                else if ((searchCuisine.equals("bakery cake") || searchCuisine.equals("bakerycake")) && restaurantCuisine.contains("bakery")) {
-                    System.out.println("✅ Bakery cake match found!");
-                    cuisineMatch = true;
-                }
-            }
-            
-            if (!cuisineMatch) {
-                System.out.println("❌ No cuisine match found");
-                return false;
-            }
-            System.out.println("✅ Cuisine type match confirmed");
+            RestaurantCuisineMatcher cuisineMatcher = catalog.getCuisineMatcher();
+            BitSet cuisineIds = cuisineMatcher.cuisineIds(cuisineType);
+            matches.and(facets.match(RestaurantFacetIndex.Facet.CUISINE, value -> cuisineMatcher.matches(cuisineIds, value)));
         }
-        
-        // Restaurant type matching (using recommendation-style flexible matching)
         if (restaurantType != null && !restaurantType.trim().isEmpty()) {
             String searchType = restaurantType.toLowerCase().trim();
-            String restaurantTypeLower = restaurant.getRestaurantType().toLowerCase().trim();
-            
-            System.out.println("🔍 Comparing restaurant type: Search '" + searchType + "' vs Restaurant '" + restaurantTypeLower + "'");
-            
-            boolean typeMatch = false;
-            
-            // Direct match
-            if (restaurantTypeLower.contains(searchType) || searchType.contains(restaurantTypeLower)) {
-                System.out.println("✅ Direct restaurant type match found!");
-                typeMatch = true;
-            }
-            
-            // Special cases for restaurant types (comprehensive mapping)
-            if (!typeMatch) {
-                // Fast Dining variations
-                if ((searchType.contains("fast dining") || searchType.equals("fastdining")) && restaurantTypeLower.contains("fast")) {
-                    System.out.println("✅ Fast Dining match found!");
-                    typeMatch = true;
-                }
-                
-                // Casual Dining variations
-                else if ((searchType.contains("casual dining") || searchType.equals("casualdining")) && restaurantTypeLower.contains("casual")) {
-                    System.out.println("✅ Casual Dining match found!");
-                    typeMatch = true;
-                }
-                
-                // Fine Dining variations
-                else if ((searchType.contains("fine dining") || searchType.equals("finedining")) && restaurantTypeLower.contains("fine")) {
-                    System.out.println("✅ Fine Dining match found!");
-                    typeMatch = true;
-                }
-                
-                // Buffet variations
-                else if (searchType.equals("buffet") && restaurantTypeLower.contains("buffet")) {
-                    System.out.println("✅ Buffet match found!");
-                    typeMatch = true;
-                }
-                
-                // Street Food variations
-                else if ((searchType.equals("street food") || searchType.equals("streetfood")) && restaurantTypeLower.contains("street")) {
-                    System.out.println("✅ Street Food match found!");
-                    typeMatch = true;
-                }
-                
-                // Cafe variations
-                else if (searchType.equals("cafe") && restaurantTypeLower.contains("cafe")) {
-                    System.out.println("✅ Cafe match found!");
-                    typeMatch = true;
-                }
-                
-                // Food Court variations
-                else if ((searchType.equals("food court") || searchType.equals("foodcourt")) && restaurantTypeLower.contains("court")) {
-                    System.out.println("✅ Food Court match found!");
-                    typeMatch = true;
-                }
-                
-                // Food Truck variations
-                else if ((searchType.equals("food truck") || searchType.equals("foodtruck")) && restaurantTypeLower.contains("truck")) {
-                    System.out.println("✅ Food Truck match found!");
-                    typeMatch = true;
-                }
-                
-                // Family Restaurant variations
-                else if ((searchType.equals("family restaurant") || searchType.equals("familyrestaurant")) && restaurantTypeLower.contains("family")) {
-                    System.out.println("✅ Family Restaurant match found!");
-                    typeMatch = true;
-                }
-                
-                // Bistro variations
-                else if (searchType.equals("bistro") && restaurantTypeLower.contains("bistro")) {
-                    System.out.println("✅ Bistro match found!");
-                    typeMatch = true;
-                }
-                
-                // Pub variations
-                else if (searchType.equals("pub") && restaurantTypeLower.contains("pub")) {
-                    System.out.println("✅ Pub match found!");
-                    typeMatch = true;
-                }
-                
-                // Diner variations
-                else if (searchType.equals("diner") && restaurantTypeLower.contains("diner")) {
-                    System.out.println("✅ Diner match found!");
-                    typeMatch = true;
-                }
-                
-                // Kiosk variations
-                else if (searchType.equals("kiosk") && restaurantTypeLower.contains("kiosk")) {
-                    System.out.println("✅ Kiosk match found!");
-                    typeMatch = true;
-                }
-            }
-            
-            if (!typeMatch) {
-                System.out.println("❌ No restaurant type match found");
-                return false;
-            }
-            System.out.println("✅ Restaurant type match confirmed");
+            matches.and(facets.match(RestaurantFacetIndex.Facet.RESTAURANT_TYPE,
+                value -> SearchTermUtil.restaurantTypeMatches(searchType, value.toLowerCase().trim())));
         }
-        
-        // Location matching (flexible)
         if (location != null && !location.trim().isEmpty()) {
             String searchLocation = location.toLowerCase().trim();
-            String restaurantLocation = restaurant.getLocation().toLowerCase();
-            
-            if (!restaurantLocation.contains(searchLocation) && !searchLocation.contains(restaurantLocation)) {
-                System.out.println("❌ Location mismatch: '" + searchLocation + "' vs '" + restaurantLocation + "'");
-                return false;
-            }
-            System.out.println("✅ Location match: '" + searchLocation + "' vs '" + restaurantLocation + "'");
+            matches.and(facets.match(RestaurantFacetIndex.Facet.LOCATION,
+                value -> SearchTermUtil.containsEitherWay(value.toLowerCase(), searchLocation)));
         }
-        
-        // Nationality matching (flexible)
         if (nationality != null && !nationality.trim().isEmpty()) {
             String searchNationality = nationality.toLowerCase().trim();
-            String restaurantNationality = restaurant.getNationality().toLowerCase();
-            
-            if (!restaurantNationality.contains(searchNationality) && !searchNationality.contains(restaurantNationality)) {
-                System.out.println("❌ Nationality mismatch: '" + searchNationality + "' vs '" + restaurantNationality + "'");
-                return false;
-            }
-            System.out.println("✅ Nationality match: '" + searchNationality + "' vs '" + restaurantNationality + "'");
+            matches.and(facets.match(RestaurantFacetIndex.Facet.NATIONALITY,
+                value -> SearchTermUtil.containsEitherWay(value.toLowerCase(), searchNationality)));
         }
-        
-        // Budget range matching
-        if (minBudget > 0 && restaurant.getBudget() < minBudget) {
-            System.out.println("❌ Budget too low: Restaurant $" + restaurant.getBudget() + " < Min $" + minBudget);
-            return false;
+        // Nutrition levels are exact (case-insensitive) matches
+        if (carbLevel != null && !carbLevel.trim().isEmpty()) {
+            matches.and(facets.match(RestaurantFacetIndex.Facet.CARB, value -> value.equalsIgnoreCase(carbLevel.trim())));
         }
-        if (maxBudget > 0 && restaurant.getBudget() > maxBudget) {
-            System.out.println("❌ Budget too high: Restaurant $" + restaurant.getBudget() + " > Max $" + maxBudget);
-            return false;
+        if (fatLevel != null && !fatLevel.trim().isEmpty()) {
+            matches.and(facets.match(RestaurantFacetIndex.Facet.FAT, value -> value.equalsIgnoreCase(fatLevel.trim())));
         }
-        System.out.println("✅ Budget match: $" + restaurant.getBudget() + " within range $" + minBudget + " - $" + maxBudget);
-        
-        // Nutrition matching (exact match for nutrition levels)
-        if (restaurant.getNutritionProfile() != null) {
-            Restaurant.NutritionProfile nutrition = restaurant.getNutritionProfile();
-            
-            if (carbLevel != null && !carbLevel.trim().isEmpty()) {
-                if (!nutrition.getCarbLevel().equalsIgnoreCase(carbLevel.trim())) {
-                    System.out.println("❌ Carb level mismatch: Restaurant '" + nutrition.getCarbLevel() + "' vs Search '" + carbLevel + "'");
-                    return false;
-                }
-                System.out.println("✅ Carb level match: '" + nutrition.getCarbLevel() + "'");
-            }
-            
-            if (fatLevel != null && !fatLevel.trim().isEmpty()) {
-                if (!nutrition.getFatLevel().equalsIgnoreCase(fatLevel.trim())) {
-                    System.out.println("❌ Fat level mismatch: Restaurant '" + nutrition.getFatLevel() + "' vs Search '" + fatLevel + "'");
-                    return false;
-                }
-                System.out.println("✅ Fat level match: '" + nutrition.getFatLevel() + "'");
-            }
-            
-            if (proteinLevel != null && !proteinLevel.trim().isEmpty()) {
-                if (!nutrition.getProteinLevel().equalsIgnoreCase(proteinLevel.trim())) {
-                    System.out.println("❌ Protein level mismatch: Restaurant '" + nutrition.getProteinLevel() + "' vs Search '" + proteinLevel + "'");
-                    return false;
-                }
-                System.out.println("✅ Protein level match: '" + nutrition.getProteinLevel() + "'");
-            }
-        } else {
-            // If nutrition criteria specified but restaurant has no nutrition data
-            if ((carbLevel != null && !carbLevel.trim().isEmpty()) || 
-                (fatLevel != null && !fatLevel.trim().isEmpty()) || 
-                (proteinLevel != null && !proteinLevel.trim().isEmpty())) {
-                System.out.println("❌ Nutrition criteria specified but restaurant has no nutrition data");
-                return false;
-            }
+        if (proteinLevel != null && !proteinLevel.trim().isEmpty()) {
+            matches.and(facets.match(RestaurantFacetIndex.Facet.PROTEIN, value -> value.equalsIgnoreCase(proteinLevel.trim())));
         }
-        
-        System.out.println("✅ All search criteria matched! Restaurant is included in results.");
-        return true;
+
+        // Budget range from the budget index
+        if (minBudget > 0 || maxBudget > 0) {
+            matches.and(catalog.getBudgetIndex().matching(minBudget, maxBudget));
+        }
+        return matches;
+    }
+
+    // Edit distance for a fuzzy name query: 1 up to 5 characters, then one more per 4 characters,
+    // capped at restaurant.search.fuzzy.max-distance
+    private int fuzzyDistance(String query) {
+        int length = query.length();
+        return Math.max(0, Math.min(fuzzyMaxDistance, length <= 5 ? 1 : 1 + (length - 2) / 4));
+    }
+
+    // Facet counts (cuisine, type, location, nationality, nutrition levels, budget buckets) over the
+    // restaurants passing the given filters, memoized per filter combination for the catalog version
+    public java.util.Map<String, Object> getFacetCounts(String restaurantName, String cuisineType, String restaurantType,
+                                                        String location, String nationality, float minBudget, float maxBudget,
+                                                        String carbLevel, String fatLevel, String proteinLevel,
+                                                        boolean fuzzy) {
+        RestaurantCatalog catalog = getCatalog();
+        RestaurantFacetIndex facets = catalog.getFacets();
+        String filterKey = String.join("|", String.valueOf(restaurantName), String.valueOf(cuisineType),
+            String.valueOf(restaurantType), String.valueOf(location), String.valueOf(nationality),
+            String.valueOf(minBudget), String.valueOf(maxBudget), String.valueOf(carbLevel),
+            String.valueOf(fatLevel), String.valueOf(proteinLevel), String.valueOf(fuzzy));
+
+        return facets.cachedCounts(filterKey, () -> {
+            BitSet matches = matchSearchFilters(catalog, restaurantName, cuisineType, restaurantType, location,
+                                                nationality, minBudget, maxBudget, carbLevel, fatLevel, proteinLevel, fuzzy);
+            java.util.Map<String, Object> counts = new java.util.LinkedHashMap<>();
+            counts.put("catalogVersion", catalog.getVersion());
+            counts.put("total", matches.cardinality());
+            counts.put("cuisineType", facets.counts(RestaurantFacetIndex.Facet.CUISINE, matches));
+            counts.put("restaurantType", facets.counts(RestaurantFacetIndex.Facet.RESTAURANT_TYPE, matches));
+            counts.put("location", facets.counts(RestaurantFacetIndex.Facet.LOCATION, matches));
+            counts.put("nationality", facets.counts(RestaurantFacetIndex.Facet.NATIONALITY, matches));
+            counts.put("carbLevel", facets.counts(RestaurantFacetIndex.Facet.CARB, matches));
+            counts.put("fatLevel", facets.counts(RestaurantFacetIndex.Facet.FAT, matches));
+            counts.put("proteinLevel", facets.counts(RestaurantFacetIndex.Facet.PROTEIN, matches));
+            counts.put("budget", facets.counts(RestaurantFacetIndex.Facet.BUDGET_RANGE, matches));
+            return counts;
+        });
+    }
+
+    // Budget range search answered from the budget index: binary search for the range,
+    // results already ordered by budget, only the requested page is materialized
+    public RestaurantPage searchRestaurantsByBudget(float minBudget, float maxBudget, String sortOrder,
+                                                    int cursor, int limit) {
+        RestaurantCatalog catalog = getCatalog();
+        RestaurantBudgetIndex budgetIndex = catalog.getBudgetIndex();
+        boolean ascending = sortOrder == null || !sortOrder.toLowerCase().equals("desc");
+        int skip = Math.max(0, cursor);
+
+        int total = budgetIndex.count(minBudget, maxBudget);
+        int[] ordinals = budgetIndex.page(minBudget, maxBudget, ascending, skip, limit);
+        List<Restaurant> restaurants = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            restaurants.add(catalog.getRestaurants().get(ordinal));
+        }
+
+        int next = skip + ordinals.length;
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("💰 Budget index v" + catalog.getVersion() + ": " + total + " in range $"
+                + String.format("%.2f", minBudget) + " - $" + String.format("%.2f", maxBudget)
+                + ", returning " + restaurants.size() + " from position " + skip);
+        }
+        return new RestaurantPage(restaurants, total, next < total ? next : null);
+    }
+
+    // Restaurants within radiusKm of a point, nearest first, each copy carrying its distance
+    public List<Restaurant> findNearbyRestaurants(double latitude, double longitude, double radiusKm, int limit) {
+        RestaurantCatalog catalog = getCatalog();
+        List<RestaurantGeoIndex.Hit> hits = catalog.getGeoIndex().nearby(latitude, longitude, radiusKm, limit);
+
+        List<Restaurant> results = new ArrayList<>(hits.size());
+        for (RestaurantGeoIndex.Hit hit : hits) {
+            Restaurant restaurant = new Restaurant(catalog.getRestaurants().get(hit.getOrdinal()));
+            restaurant.setDistanceKm(hit.getDistanceKm());
+            results.add(restaurant);
+        }
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("📍 Nearby search v" + catalog.getVersion() + ": " + results.size() + " restaurant(s) within "
+                + radiusKm + " km of (" + latitude + ", " + longitude + ")");
+        }
+        return results;
+    }
+
+    // Typeahead completions for a prefix; no logging, this runs on every keystroke
+    public List<RestaurantSuggestIndex.Suggestion> suggest(String prefix, int limit) {
+        return getCatalog().getSuggestIndex().suggest(prefix, limit);
     }
 
     // SIMPLE METHOD: Basic search restaurants by criteria (backward compatibility)
@@ -1310,236 +1271,107 @@ public class RestaurantService {
         return searchRestaurantsAdvanced(null, cuisineType, null, location, null, 0, maxBudget, 
                                         null, null, null, null, "name", "asc");
     }
-    private void sortRestaurantResults(List<Restaurant> results, String sortBy, String sortOrder) {
-        if (results == null || results.isEmpty()) return;
-        
-        boolean ascending = sortOrder == null || !sortOrder.toLowerCase().equals("desc");
-        
-        switch (sortBy != null ? sortBy.toLowerCase() : "name") {
-            case "budget":
-                results.sort((r1, r2) -> ascending ? 
-                    Float.compare(r1.getBudget(), r2.getBudget()) : 
-                    Float.compare(r2.getBudget(), r1.getBudget()));
-                break;
-            case "name":
-                results.sort((r1, r2) -> ascending ? 
-                    r1.getRestaurantName().compareToIgnoreCase(r2.getRestaurantName()) : 
-                    r2.getRestaurantName().compareToIgnoreCase(r1.getRestaurantName()));
-                break;
-            case "cuisine":
-                results.sort((r1, r2) -> ascending ? 
-                    r1.getCuisineType().compareToIgnoreCase(r2.getCuisineType()) : 
-                    r2.getCuisineType().compareToIgnoreCase(r1.getCuisineType()));
-                break;
-            case "location":
-                results.sort((r1, r2) -> ascending ? 
-                    r1.getLocation().compareToIgnoreCase(r2.getLocation()) : 
-                    r2.getLocation().compareToIgnoreCase(r1.getLocation()));
-                break;
-            case "type":
-                results.sort((r1, r2) -> ascending ? 
-                    r1.getRestaurantType().compareToIgnoreCase(r2.getRestaurantType()) : 
-                    r2.getRestaurantType().compareToIgnoreCase(r1.getRestaurantType()));
-                break;
-            default:
-                // Default sort by name
-                results.sort((r1, r2) -> r1.getRestaurantName().compareToIgnoreCase(r2.getRestaurantName()));
-                break;
-        }
+
+    public RestaurantPage searchRestaurants(String cuisineType, String location, float maxBudget, int cursor, int limit) {
+        return searchRestaurantsAdvanced(null, cuisineType, null, location, null, 0, maxBudget, 
+                                        null, null, null, null, "name", "asc", false, cursor, limit);
     }
 
     // NEW METHOD: Get restaurant by ID with detailed debug logging
     public Restaurant getRestaurantById(String restaurantId) {
         try {
-            System.out.println("\n" + "=".repeat(80));
-            System.out.println("🔍 GETTING RESTAURANT BY ID");
-            System.out.println("=".repeat(80));
-            System.out.println("🎯 Restaurant ID: " + restaurantId);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🔍 GETTING RESTAURANT BY ID");
+                RequestTrace.log("🎯 Restaurant ID: " + restaurantId);
+            }
             
             // Decode URL if it's encoded
             String decodedId = restaurantId;
             try {
                 decodedId = java.net.URLDecoder.decode(restaurantId, "UTF-8");
                 if (!decodedId.equals(restaurantId)) {
-                    System.out.println("🔧 URL Decoded: " + decodedId);
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("🔧 URL Decoded: " + decodedId);
+                    }
                 }
             } catch (Exception e) {
-                System.out.println("⚠️ URL decoding failed, using original ID");
+                RequestTrace.log("⚠️ URL decoding failed, using original ID");
             }
             
-            // Load the RDF model
-            System.out.println("📚 Loading RDF ontology...");
-            Model model = loadRestaurantOntology();
-            System.out.println("✅ RDF ontology loaded successfully");
-            
-            // Try to find the restaurant by URI (both original and decoded)
-            Resource restaurantResource = model.getResource(decodedId);
-            if (restaurantResource == null && !decodedId.equals(restaurantId)) {
-                System.out.println("💡 Trying with original ID...");
-                restaurantResource = model.getResource(restaurantId);
+            // Use the catalog snapshot instead of re-parsing the ontology
+            RestaurantCatalog catalog = getCatalog();
+            Model model = catalog.getModel();
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("📚 Using restaurant catalog v" + catalog.getVersion());
             }
             
-            if (restaurantResource == null) {
-                System.out.println("❌ Restaurant resource not found for ID: " + restaurantId);
-                System.out.println("💡 Checking if this might be a local name...");
-                
-                // Try to find by local name (part after #)
-                String localName = restaurantId;
-                if (restaurantId.contains("#")) {
-                    localName = restaurantId.substring(restaurantId.lastIndexOf("#") + 1);
-                }
-                System.out.println("🔍 Searching for local name: " + localName);
-                
-                // Search all restaurants to find matching local name (including different namespaces)
-                boolean found = false;
-                
-                // Search in main namespace
-                StmtIterator mainRestaurants = model.listStatements(null, RDF.type, model.createResource(NS + "Restaurant"));
-                while (mainRestaurants.hasNext()) {
-                    Statement stmt = mainRestaurants.nextStatement();
-                    Resource res = stmt.getSubject();
-                    String resLocalName = res.getURI();
-                    
-                    if (resLocalName.contains("#")) {
-                        resLocalName = resLocalName.substring(resLocalName.lastIndexOf("#") + 1);
-                    }
-                    
-                    System.out.println("  🔍 Checking main namespace: " + resLocalName + " vs " + localName);
-                    
-                    if (resLocalName.equals(localName)) {
-                        System.out.println("  ✅ Found matching local name in main namespace!");
-                        restaurantResource = res;
-                        found = true;
-                        break;
-                    }
-                }
-                
-                // Search in other namespaces (j.0, j.1, j.2, j.3)
-                if (!found) {
-                    System.out.println("🔍 Searching in other namespaces...");
-                    
-                    // Search for any resource with the local name that has Restaurant type
-                    StmtIterator allResources = model.listStatements();
-                    while (allResources.hasNext() && !found) {
-                        Statement stmt = allResources.nextStatement();
-                        Resource res = stmt.getSubject();
-                        String resURI = res.getURI();
-                        
-                        if (resURI.contains("#" + localName)) {
-                            System.out.println("  🔍 Found resource with matching name: " + resURI);
-                            
-                            // Check if it has Restaurant type
-                            StmtIterator types = res.listProperties(RDF.type);
-                            while (types.hasNext()) {
-                                Statement typeStmt = types.nextStatement();
-                                String typeURI = typeStmt.getObject().toString();
-                                
-                                if (typeURI.contains("Restaurant")) {
-                                    System.out.println("  ✅ Found restaurant in namespace: " + resURI);
-                                    restaurantResource = res;
-                                    found = true;
-                                    break;
-                                }
-                            }
-                        }
-                    }
-                }
-                
-                if (!found) {
-                    System.out.println("❌ No restaurant found with local name: " + localName);
-                    System.out.println("📋 Available restaurants in ontology:");
-                    
-                    // List all available restaurants
-                    StmtIterator availableRestaurants = model.listStatements(null, RDF.type, model.createResource(NS + "Restaurant"));
-                    int count = 0;
-                    while (availableRestaurants.hasNext()) {
-                        count++;
-                        Statement stmt = availableRestaurants.nextStatement();
-                        Resource res = stmt.getSubject();
-                        String resLocalName = res.getURI();
-                        
-                        if (resLocalName.contains("#")) {
-                            resLocalName = resLocalName.substring(resLocalName.lastIndexOf("#") + 1);
-                        }
-                        
-                        System.out.println("  " + count + ". " + resLocalName + " (" + res.getURI() + ")");
-                    }
-                    
-                    System.out.println("=".repeat(80));
-                    return null;
-                }
+            // O(1) lookup by URI or local name (decoded id first, then the original)
+            Restaurant entry = catalog.findRestaurant(decodedId);
+            if (entry == null && !decodedId.equals(restaurantId)) {
+                entry = catalog.findRestaurant(restaurantId);
             }
             
-            System.out.println("✅ Restaurant resource found: " + restaurantResource.getURI());
-            
-            // Convert to Restaurant model
-            System.out.println("🔄 Converting RDF resource to Restaurant model...");
-            Restaurant restaurant = convertToRestaurantModel(restaurantResource, model);
-            
-            if (restaurant == null) {
-                System.out.println("❌ Failed to convert restaurant resource to model");
-                System.out.println("🔍 Debugging resource properties:");
-                
-                StmtIterator properties = restaurantResource.listProperties();
-                while (properties.hasNext()) {
-                    Statement prop = properties.nextStatement();
-                    String propName = prop.getPredicate().getURI();
-                    String propValue = prop.getObject().isLiteral() ? 
-                        prop.getObject().asLiteral().getString() : 
-                        prop.getObject().toString();
-                    
-                    System.out.println("  ├─ " + propName + " = " + propValue);
+            if (entry == null) {
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("❌ No restaurant found for ID: " + restaurantId);
                 }
-                
-                System.out.println("=".repeat(80));
                 return null;
             }
             
-            System.out.println("✅ Restaurant model created successfully!");
+            Resource restaurantResource = model.getResource(entry.getRestaurantId());
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("✅ Restaurant resource found: " + restaurantResource.getURI());
+            }
+            Restaurant restaurant = new Restaurant(entry);
+            
+            RequestTrace.log("✅ Restaurant loaded from catalog");
             
             // Display detailed restaurant information
-            System.out.println("\n🍽️ RESTAURANT DETAILS:");
-            System.out.println("  ├─ ID: " + restaurant.getRestaurantId());
-            System.out.println("  ├─ Name: " + restaurant.getRestaurantName());
-            System.out.println("  ├─ Cuisine: " + restaurant.getCuisineType());
-            System.out.println("  ├─ Type: " + restaurant.getRestaurantType());
-            System.out.println("  ├─ Location: " + restaurant.getLocation());
-            System.out.println("  ├─ Nationality: " + restaurant.getNationality());
-            System.out.println("  ├─ Budget: $" + String.format("%.2f", restaurant.getBudget()));
-            System.out.println("  └─ Telephone: " + restaurant.getTelephone());
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🍽️ RESTAURANT DETAILS:");
+                RequestTrace.log("  ├─ ID: " + restaurant.getRestaurantId());
+                RequestTrace.log("  ├─ Name: " + restaurant.getRestaurantName());
+                RequestTrace.log("  ├─ Cuisine: " + restaurant.getCuisineType());
+                RequestTrace.log("  ├─ Type: " + restaurant.getRestaurantType());
+                RequestTrace.log("  ├─ Location: " + restaurant.getLocation());
+                RequestTrace.log("  ├─ Nationality: " + restaurant.getNationality());
+                RequestTrace.log("  ├─ Budget: $" + String.format("%.2f", restaurant.getBudget()));
+                RequestTrace.log("  └─ Telephone: " + restaurant.getTelephone());
+            }
             
             if (restaurant.getNutritionProfile() != null) {
-                System.out.println("  🥗 Nutrition Profile:");
-                System.out.println("    ├─ Carbohydrates: " + restaurant.getNutritionProfile().getCarbLevel());
-                System.out.println("    ├─ Fat: " + restaurant.getNutritionProfile().getFatLevel());
-                System.out.println("    └─ Protein: " + restaurant.getNutritionProfile().getProteinLevel());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  🥗 Nutrition Profile:");
+                    RequestTrace.log("    ├─ Carbohydrates: " + restaurant.getNutritionProfile().getCarbLevel());
+                    RequestTrace.log("    ├─ Fat: " + restaurant.getNutritionProfile().getFatLevel());
+                    RequestTrace.log("    └─ Protein: " + restaurant.getNutritionProfile().getProteinLevel());
+                }
             } else {
-                System.out.println("  ❌ No nutrition profile available");
-            }
-            
-            // Additional debug information from RDF
-            System.out.println("\n🔍 RDF RESOURCE ANALYSIS:");
-            System.out.println("  ├─ Resource URI: " + restaurantResource.getURI());
-            System.out.println("  ├─ Resource Type: " + restaurantResource.getProperty(RDF.type));
-            
-            // Check for additional properties that might not be in our model
-            StmtIterator allProps = restaurantResource.listProperties();
-            System.out.println("  └─ All Properties:");
-            while (allProps.hasNext()) {
-                Statement prop = allProps.nextStatement();
-                String propName = prop.getPredicate().getURI();
-                String propValue = prop.getObject().isLiteral() ? 
-                    prop.getObject().asLiteral().getString() : 
-                    prop.getObject().toString();
-                
-                // Skip the type property as it's always present
-                if (!propName.contains("type")) {
-                    System.out.println("    ├─ " + propName + " = " + propValue);
+                RequestTrace.log("  ❌ No nutrition profile available");
+            }
+            
+            // Additional debug information from RDF (the full property dump only for traced requests)
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🔍 RDF RESOURCE ANALYSIS:");
+                RequestTrace.log("  ├─ Resource URI: " + restaurantResource.getURI());
+                RequestTrace.log("  ├─ Resource Type: " + restaurantResource.getProperty(RDF.type));
+                RequestTrace.log("  └─ All Properties:");
+                StmtIterator allProps = restaurantResource.listProperties();
+                while (allProps.hasNext()) {
+                    Statement prop = allProps.nextStatement();
+                    String propName = prop.getPredicate().getURI();
+                    String propValue = prop.getObject().isLiteral() ? 
+                        prop.getObject().asLiteral().getString() : 
+                        prop.getObject().toString();
+                    
+                    // Skip the type property as it's always present
+                    if (!propName.contains("type")) {
+                        RequestTrace.log("    ├─ " + propName + " = " + propValue);
+                    }
                 }
             }
             
-            System.out.println("\n✅ RESTAURANT RETRIEVED SUCCESSFULLY!");
-            System.out.println("=".repeat(80));
+            RequestTrace.log("✅ RESTAURANT RETRIEVED SUCCESSFULLY!");
             
             return restaurant;
             
@@ -1576,13 +1408,15 @@ public class RestaurantService {
         // Save the updated model to the file
         try {
             model.write(new FileOutputStream(ONTOLOGY_FILE), "RDF/XML");
-            System.out.println("Static User has been saved to the RDF model.");
+            RequestTrace.log("Static User has been saved to the RDF model.");
         } catch (Exception e) {
             e.printStackTrace();
         }
 
         // Print the static user instance for debugging
-        System.out.println("Static User Created for Testing: " + userInstance);
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("Static User Created for Testing: " + userInstance);
+        }
     }
 
     // Enhanced method to retrieve restaurant recommendations for a user with better debugging
@@ -1598,7 +1432,9 @@ public class RestaurantService {
         Resource userInstance = infModel.getResource(userURI);
 
         if (userInstance == null) {
-            System.out.println("User instance not found: " + userURI);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("User instance not found: " + userURI);
+            }
             return;
         }
 
@@ -1616,22 +1452,21 @@ public class RestaurantService {
         String postRunProtein = getLiteralValue(userInstance.getProperty(model.createProperty(NS + "PostRunProteinConsumtion")));
 
         // Display comprehensive user preferences
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("🏃‍♂️ USER PREFERENCES SUMMARY");
-        System.out.println("=".repeat(60));
-        System.out.println("User URI: " + userURI);
-        System.out.println("Budget Interest: $" + maxBudget);
-        System.out.println("Food Type Interest: " + preferredCuisine);
-        System.out.println("Restaurant Type Interest: " + preferredRestaurantType);
-        System.out.println("Pre-Run Nutrition:");
-        System.out.println("  ├─ Carb: " + preRunCarb);
-        System.out.println("  ├─ Fat: " + preRunFat);
-        System.out.println("  └─ Protein: " + preRunProtein);
-        System.out.println("Post-Run Nutrition:");
-        System.out.println("  ├─ Carb: " + postRunCarb);
-        System.out.println("  ├─ Fat: " + postRunFat);
-        System.out.println("  └─ Protein: " + postRunProtein);
-        System.out.println("=".repeat(60));
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("🏃‍♂️ USER PREFERENCES SUMMARY");
+            RequestTrace.log("User URI: " + userURI);
+            RequestTrace.log("Budget Interest: $" + maxBudget);
+            RequestTrace.log("Food Type Interest: " + preferredCuisine);
+            RequestTrace.log("Restaurant Type Interest: " + preferredRestaurantType);
+            RequestTrace.log("Pre-Run Nutrition:");
+            RequestTrace.log("  ├─ Carb: " + preRunCarb);
+            RequestTrace.log("  ├─ Fat: " + preRunFat);
+            RequestTrace.log("  └─ Protein: " + preRunProtein);
+            RequestTrace.log("Post-Run Nutrition:");
+            RequestTrace.log("  ├─ Carb: " + postRunCarb);
+            RequestTrace.log("  ├─ Fat: " + postRunFat);
+            RequestTrace.log("  └─ Protein: " + postRunProtein);
+        }
 
         // Query for restaurants
         StmtIterator restaurantIterator = infModel.listStatements(null, RDF.type, model.createResource(NS + "Restaurant"));
@@ -1661,7 +1496,9 @@ public class RestaurantService {
             String telephone = getLiteralValue(restaurantResource.getProperty(model.createProperty(NS + "Telephone")));
 
             // ดึงข้อมูลโภชนาการจาก FoodType ของร้านอาหาร
-            System.out.println("🔍 Getting Nutrition from FoodType for: " + restaurantName);
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🔍 Getting Nutrition from FoodType for: " + restaurantName);
+            }
             
             String restaurantCarb = "N/A";
             String restaurantFat = "N/A";
@@ -1672,7 +1509,9 @@ public class RestaurantService {
             Statement foodTypeStmt = restaurantResource.getProperty(model.createProperty(NS + "hasFoodType"));
             if (foodTypeStmt != null && foodTypeStmt.getObject().isResource()) {
                 Resource foodTypeResource = foodTypeStmt.getObject().asResource();
-                System.out.println("📋 Found FoodType: " + foodTypeResource.getURI());
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("📋 Found FoodType: " + foodTypeResource.getURI());
+                }
                 
                 // ดึงข้อมูลโภชนาการจาก FoodType
                 Statement carbStmt = foodTypeResource.getProperty(model.createProperty(NS + "Carbohydrates"));
@@ -1681,17 +1520,23 @@ public class RestaurantService {
                 
                 if (carbStmt != null) {
                     restaurantCarb = getLiteralValue(carbStmt);
-                    System.out.println("✅ Found Carb from FoodType: " + restaurantCarb);
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("✅ Found Carb from FoodType: " + restaurantCarb);
+                    }
                 }
                 
                 if (fatStmt != null) {
                     restaurantFat = getLiteralValue(fatStmt);
-                    System.out.println("✅ Found Fat from FoodType: " + restaurantFat);
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("✅ Found Fat from FoodType: " + restaurantFat);
+                    }
                 }
                 
                 if (proteinStmt != null) {
                     restaurantProtein = getLiteralValue(proteinStmt);
-                    System.out.println("✅ Found Protein from FoodType: " + restaurantProtein);
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("✅ Found Protein from FoodType: " + restaurantProtein);
+                    }
                 }
                 
                 // Check if we have complete nutrition data
@@ -1700,22 +1545,26 @@ public class RestaurantService {
                                            !restaurantProtein.equals("N/A");
                 
             } else {
-                System.out.println("❌ No FoodType found for restaurant: " + restaurantName);
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("❌ No FoodType found for restaurant: " + restaurantName);
+                }
                 // เพิ่มลงใน list โดยไม่ต้องรออีก
                 if (!restaurantName.equals("N/A")) {
                     noNutritionDataRestaurants.add(restaurantName + " (No FoodType)");
                 }
                 
                 // Debug: แสดง properties ทั้งหมดของร้านอาหาร
-                StmtIterator allPropsIterator = restaurantResource.listProperties();
-                System.out.println("📋 All properties for this restaurant:");
-                while (allPropsIterator.hasNext()) {
-                    Statement propStmt = allPropsIterator.nextStatement();
-                    String propName = propStmt.getPredicate().getURI();
-                    String propValue = propStmt.getObject().isLiteral() ? 
-                        propStmt.getObject().asLiteral().getString() : 
-                        propStmt.getObject().toString();
-                    System.out.println("  ├─ " + propName + " = " + propValue);
+                if (RequestTrace.isActive()) {
+                    StmtIterator allPropsIterator = restaurantResource.listProperties();
+                    RequestTrace.log("📋 All properties for this restaurant:");
+                    while (allPropsIterator.hasNext()) {
+                        Statement propStmt = allPropsIterator.nextStatement();
+                        String propName = propStmt.getPredicate().getURI();
+                        String propValue = propStmt.getObject().isLiteral() ? 
+                            propStmt.getObject().asLiteral().getString() : 
+                            propStmt.getObject().toString();
+                        RequestTrace.log("  ├─ " + propName + " = " + propValue);
+                    }
                 }
             }
 
@@ -1725,26 +1574,26 @@ public class RestaurantService {
             String humanReadableType = resolveHumanReadableLabel(model, type);
             String humanReadableNationality = resolveHumanReadableLabel(model, nationality);
 
-            System.out.println("\n" + "─".repeat(50));
-            System.out.println("🍽️  RESTAURANT #" + totalRestaurantsChecked + ": " + restaurantName);
-            System.out.println("─".repeat(50));
-            System.out.println("Restaurant Details:");
-            System.out.println("  ├─ Name: " + restaurantName);
-            System.out.println("  ├─ Cuisine: " + cuisineType);
-            System.out.println("  ├─ Budget: $" + budget);
-            System.out.println("  ├─ Type: " + humanReadableType);
-            System.out.println("  ├─ Location: " + humanReadableLocation);
-            System.out.println("  ├─ Nationality: " + humanReadableNationality);
-            System.out.println("  └─ Telephone: " + telephone);
-            System.out.println("Restaurant Nutrition:");
-            System.out.println("  ├─ Carb Level: " + restaurantCarb);
-            System.out.println("  ├─ Fat Level: " + restaurantFat);
-            System.out.println("  ├─ Protein Level: " + restaurantProtein);
-            System.out.println("  └─ Complete Nutrition Data: " + (hasCompleteNutritionData ? "✅" : "❌"));
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("🍽️  RESTAURANT #" + totalRestaurantsChecked + ": " + restaurantName);
+                RequestTrace.log("Restaurant Details:");
+                RequestTrace.log("  ├─ Name: " + restaurantName);
+                RequestTrace.log("  ├─ Cuisine: " + cuisineType);
+                RequestTrace.log("  ├─ Budget: $" + budget);
+                RequestTrace.log("  ├─ Type: " + humanReadableType);
+                RequestTrace.log("  ├─ Location: " + humanReadableLocation);
+                RequestTrace.log("  ├─ Nationality: " + humanReadableNationality);
+                RequestTrace.log("  └─ Telephone: " + telephone);
+                RequestTrace.log("Restaurant Nutrition:");
+                RequestTrace.log("  ├─ Carb Level: " + restaurantCarb);
+                RequestTrace.log("  ├─ Fat Level: " + restaurantFat);
+                RequestTrace.log("  ├─ Protein Level: " + restaurantProtein);
+                RequestTrace.log("  └─ Complete Nutrition Data: " + (hasCompleteNutritionData ? "✅" : "❌"));
+            }
 
             // Skip restaurants with missing critical data - แต่ยังคงเพิ่มในรายการ debug
             if (restaurantName.equals("N/A") || cuisineType.equals("Unknown Cuisine") || budget.equals("N/A")) {
-                System.out.println("❌ SKIPPED: Missing critical data");
+                RequestTrace.log("❌ SKIPPED: Missing critical data");
                 
                 // เพิ่มใน list สำหรับ debug แทนการ skip ไปเลย
                 String skipReason = "";
@@ -1779,26 +1628,34 @@ public class RestaurantService {
                 boolean matchesNutrition = matchesPreRunNutrition || matchesPostRunNutrition;
 
                 // Display matching results
-                System.out.println("\n🔍 MATCHING ANALYSIS:");
-                System.out.println("Basic Criteria:");
-                System.out.println("  ├─ Cuisine Match: " + (matchesCuisine ? "✅" : "❌") + " (Restaurant: '" + cuisineType + "' vs User: '" + preferredCuisine + "')");
-                System.out.println("  ├─ Budget Match: " + (matchesBudget ? "✅" : "❌") + " (Restaurant: $" + budget + " <= User: $" + maxBudget + ")");
-                System.out.println("  └─ Restaurant Type Match: " + (matchesRestaurantType ? "✅" : "❌") + " (Restaurant: '" + humanReadableType + "' vs User: '" + preferredRestaurantType + "')");
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("🔍 MATCHING ANALYSIS:");
+                    RequestTrace.log("Basic Criteria:");
+                    RequestTrace.log("  ├─ Cuisine Match: " + (matchesCuisine ? "✅" : "❌") + " (Restaurant: '" + cuisineType + "' vs User: '" + preferredCuisine + "')");
+                    RequestTrace.log("  ├─ Budget Match: " + (matchesBudget ? "✅" : "❌") + " (Restaurant: $" + budget + " <= User: $" + maxBudget + ")");
+                    RequestTrace.log("  └─ Restaurant Type Match: " + (matchesRestaurantType ? "✅" : "❌") + " (Restaurant: '" + humanReadableType + "' vs User: '" + preferredRestaurantType + "')");
+                }
                 
-                System.out.println("Pre-Run Nutrition:");
-                System.out.println("  ├─ Carb: " + (matchesPreCarb ? "✅" : "❌") + " (Restaurant: '" + restaurantCarb + "' vs User: '" + preRunCarb + "')");
-                System.out.println("  ├─ Fat: " + (matchesPreFat ? "✅" : "❌") + " (Restaurant: '" + restaurantFat + "' vs User: '" + preRunFat + "')");
-                System.out.println("  └─ Protein: " + (matchesPreProtein ? "✅" : "❌") + " (Restaurant: '" + restaurantProtein + "' vs User: '" + preRunProtein + "')");
-                System.out.println("  → Pre-Run Complete Match: " + (matchesPreRunNutrition ? "✅" : "❌"));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("Pre-Run Nutrition:");
+                    RequestTrace.log("  ├─ Carb: " + (matchesPreCarb ? "✅" : "❌") + " (Restaurant: '" + restaurantCarb + "' vs User: '" + preRunCarb + "')");
+                    RequestTrace.log("  ├─ Fat: " + (matchesPreFat ? "✅" : "❌") + " (Restaurant: '" + restaurantFat + "' vs User: '" + preRunFat + "')");
+                    RequestTrace.log("  └─ Protein: " + (matchesPreProtein ? "✅" : "❌") + " (Restaurant: '" + restaurantProtein + "' vs User: '" + preRunProtein + "')");
+                    RequestTrace.log("  → Pre-Run Complete Match: " + (matchesPreRunNutrition ? "✅" : "❌"));
+                }
                 
-                System.out.println("Post-Run Nutrition:");
-                System.out.println("  ├─ Carb: " + (matchesPostCarb ? "✅" : "❌") + " (Restaurant: '" + restaurantCarb + "' vs User: '" + postRunCarb + "')");
-                System.out.println("  ├─ Fat: " + (matchesPostFat ? "✅" : "❌") + " (Restaurant: '" + restaurantFat + "' vs User: '" + postRunFat + "')");
-                System.out.println("  └─ Protein: " + (matchesPostProtein ? "✅" : "❌") + " (Restaurant: '" + restaurantProtein + "' vs User: '" + postRunProtein + "')");
-                System.out.println("  → Post-Run Complete Match: " + (matchesPostRunNutrition ? "✅" : "❌"));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("Post-Run Nutrition:");
+                    RequestTrace.log("  ├─ Carb: " + (matchesPostCarb ? "✅" : "❌") + " (Restaurant: '" + restaurantCarb + "' vs User: '" + postRunCarb + "')");
+                    RequestTrace.log("  ├─ Fat: " + (matchesPostFat ? "✅" : "❌") + " (Restaurant: '" + restaurantFat + "' vs User: '" + postRunFat + "')");
+                    RequestTrace.log("  └─ Protein: " + (matchesPostProtein ? "✅" : "❌") + " (Restaurant: '" + restaurantProtein + "' vs User: '" + postRunProtein + "')");
+                    RequestTrace.log("  → Post-Run Complete Match: " + (matchesPostRunNutrition ? "✅" : "❌"));
+                }
                 
-                System.out.println("Overall Nutrition Match: " + (matchesNutrition ? "✅" : "❌") + " (Pre-Run OR Post-Run complete match required)");
-                System.out.println("Has Complete Nutrition Data: " + (hasCompleteNutritionData ? "✅" : "❌"));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("Overall Nutrition Match: " + (matchesNutrition ? "✅" : "❌") + " (Pre-Run OR Post-Run complete match required)");
+                    RequestTrace.log("Has Complete Nutrition Data: " + (hasCompleteNutritionData ? "✅" : "❌"));
+                }
 
                 // Final recommendation decision - ALL criteria must match INCLUDING complete nutrition data
                 boolean isRecommended = matchesCuisine && matchesBudget && matchesRestaurantType && matchesNutrition && hasCompleteNutritionData;
@@ -1824,31 +1681,32 @@ public class RestaurantService {
                     partialMatchRestaurants.add(restaurantName + " (Failed: " + failedReason + ")");
                 }
                 
-                System.out.println("\n🎯 FINAL DECISION: " + (isRecommended ? "✅ RECOMMENDED" : "❌ NOT RECOMMENDED"));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("🎯 FINAL DECISION: " + (isRecommended ? "✅ RECOMMENDED" : "❌ NOT RECOMMENDED"));
+                }
 
                 if (isRecommended) {
-                    System.out.println("\n" + "🎉".repeat(20));
-                    System.out.println("🎉 RECOMMENDED RESTAURANT #" + (recommendationCount + 1) + " 🎉");
-                    System.out.println("🎉".repeat(20));
-                    System.out.println("📛 Name: " + restaurantName);
-                    System.out.println("🍜 Cuisine: " + cuisineType);
-                    System.out.println("💰 Budget: $" + budget);
-                    System.out.println("🏢 Type: " + humanReadableType);
-                    System.out.println("📍 Location: " + humanReadableLocation);
-                    System.out.println("🌍 Nationality: " + humanReadableNationality);
-                    System.out.println("📞 Telephone: " + telephone);
-                    System.out.println("🥗 Nutrition Profile:");
-                    System.out.println("  ├─ Carb Level: " + restaurantCarb);
-                    System.out.println("  ├─ Fat Level: " + restaurantFat);
-                    System.out.println("  └─ Protein Level: " + restaurantProtein);
+                    if (RequestTrace.isActive()) {
+                        RequestTrace.log("🎉 RECOMMENDED RESTAURANT #" + (recommendationCount + 1) + " 🎉");
+                        RequestTrace.log("📛 Name: " + restaurantName);
+                        RequestTrace.log("🍜 Cuisine: " + cuisineType);
+                        RequestTrace.log("💰 Budget: $" + budget);
+                        RequestTrace.log("🏢 Type: " + humanReadableType);
+                        RequestTrace.log("📍 Location: " + humanReadableLocation);
+                        RequestTrace.log("🌍 Nationality: " + humanReadableNationality);
+                        RequestTrace.log("📞 Telephone: " + telephone);
+                        RequestTrace.log("🥗 Nutrition Profile:");
+                        RequestTrace.log("  ├─ Carb Level: " + restaurantCarb);
+                        RequestTrace.log("  ├─ Fat Level: " + restaurantFat);
+                        RequestTrace.log("  └─ Protein Level: " + restaurantProtein);
+                    }
                     
                     if (matchesPreRunNutrition) {
-                        System.out.println("✅ Perfect for PRE-RUN nutrition needs!");
+                        RequestTrace.log("✅ Perfect for PRE-RUN nutrition needs!");
                     }
                     if (matchesPostRunNutrition) {
-                        System.out.println("✅ Perfect for POST-RUN nutrition needs!");
+                        RequestTrace.log("✅ Perfect for POST-RUN nutrition needs!");
                     }
-                    System.out.println("🎉".repeat(20));
                     
                     // Add restaurant name to the list
                     recommendedRestaurants.add(restaurantName);
@@ -1857,7 +1715,9 @@ public class RestaurantService {
                 }
 
             } catch (NumberFormatException e) {
-                System.out.println("❌ SKIPPED: Invalid budget format - " + budget);
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("❌ SKIPPED: Invalid budget format - " + budget);
+                }
                 if (!restaurantName.equals("N/A")) {
                     partialMatchRestaurants.add(restaurantName + " (Invalid budget format: " + budget + ")");
                 }
@@ -1865,46 +1725,57 @@ public class RestaurantService {
         }
 
         // Enhanced final summary with detailed breakdown - แสดงผลทุกหมวดหมู่
-        System.out.println("\n" + "=".repeat(80));
-        System.out.println("📊 DETAILED RECOMMENDATION SUMMARY");
-        System.out.println("=".repeat(80));
-        System.out.println("Total Restaurants Checked: " + totalRestaurantsChecked);
-        System.out.println("Total Recommendations Found: " + recommendationCount);
-        System.out.println("Total Partial Matches: " + partialMatchRestaurants.size());
-        System.out.println("Total Restaurants Without Nutrition Data: " + noNutritionDataRestaurants.size());
+        if (RequestTrace.isActive()) {
+            RequestTrace.log("📊 DETAILED RECOMMENDATION SUMMARY");
+            RequestTrace.log("Total Restaurants Checked: " + totalRestaurantsChecked);
+            RequestTrace.log("Total Recommendations Found: " + recommendationCount);
+            RequestTrace.log("Total Partial Matches: " + partialMatchRestaurants.size());
+            RequestTrace.log("Total Restaurants Without Nutrition Data: " + noNutritionDataRestaurants.size());
+        }
         
         if (!foundRecommendation) {
-            System.out.println("🚫 NO RESTAURANTS MATCH ALL CRITERIA");
-            System.out.println("💡 Suggestion: Try adjusting your preferences or check if restaurants");
-            System.out.println("   with your desired cuisine type exist in the database");
+            RequestTrace.log("🚫 NO RESTAURANTS MATCH ALL CRITERIA");
+            RequestTrace.log("💡 Suggestion: Try adjusting your preferences or check if restaurants");
+            RequestTrace.log("   with your desired cuisine type exist in the database");
         } else {
-            System.out.println("✅ SUCCESS: Found " + recommendationCount + " restaurant(s) that perfectly match");
-            System.out.println("   all your criteria including cuisine, budget, restaurant type, and");
-            System.out.println("   nutrition requirements!");
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("✅ SUCCESS: Found " + recommendationCount + " restaurant(s) that perfectly match");
+                RequestTrace.log("   all your criteria including cuisine, budget, restaurant type, and");
+                RequestTrace.log("   nutrition requirements!");
+            }
             
-            System.out.println("\n🍽️ RECOMMENDED RESTAURANTS:");
+            RequestTrace.log("🍽️ RECOMMENDED RESTAURANTS:");
             for (int i = 0; i < recommendedRestaurants.size(); i++) {
-                System.out.println("  " + (i + 1) + ". " + recommendedRestaurants.get(i));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  " + (i + 1) + ". " + recommendedRestaurants.get(i));
+                }
             }
         }
         
         // แสดง partial matches ทั้งหมด (ไม่จำกัดจำนวน)
         if (!partialMatchRestaurants.isEmpty()) {
-            System.out.println("\n⚠️ RESTAURANTS WITH PARTIAL MATCHES OR ISSUES (" + partialMatchRestaurants.size() + " restaurants):");
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("⚠️ RESTAURANTS WITH PARTIAL MATCHES OR ISSUES (" + partialMatchRestaurants.size() + " restaurants):");
+            }
             for (int i = 0; i < partialMatchRestaurants.size(); i++) {
-                System.out.println("  " + (i + 1) + ". " + partialMatchRestaurants.get(i));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  " + (i + 1) + ". " + partialMatchRestaurants.get(i));
+                }
             }
         }
         
         // แสดงร้านที่ไม่มีข้อมูลโภชนาการทั้งหมด
         if (!noNutritionDataRestaurants.isEmpty()) {
-            System.out.println("\n❌ RESTAURANTS WITHOUT NUTRITION DATA (" + noNutritionDataRestaurants.size() + " restaurants):");
+            if (RequestTrace.isActive()) {
+                RequestTrace.log("❌ RESTAURANTS WITHOUT NUTRITION DATA (" + noNutritionDataRestaurants.size() + " restaurants):");
+            }
             for (int i = 0; i < noNutritionDataRestaurants.size(); i++) {
-                System.out.println("  " + (i + 1) + ". " + noNutritionDataRestaurants.get(i));
+                if (RequestTrace.isActive()) {
+                    RequestTrace.log("  " + (i + 1) + ". " + noNutritionDataRestaurants.get(i));
+                }
             }
         }
         
-        System.out.println("=".repeat(80));
     }
 
     // Helper method to get preferred restaurant type
@@ -2112,16 +1983,114 @@ public class RestaurantService {
         return "N/A";
     }
 
+    // The rules with one extra head per recommending rule, (?User re:batchRule_<n> ?Restaurant), so a
+    // batch pass shows which rules recommended what to whom without derivation logging
+    private static final class BatchRules {
+        final Reasoner reasoner;
+        final java.util.Map<String, RuleExplanation> byPredicate;
+
+        BatchRules(Reasoner reasoner, java.util.Map<String, RuleExplanation> byPredicate) {
+            this.reasoner = reasoner;
+            this.byPredicate = byPredicate;
+        }
+
+        static BatchRules build(List<Rule> rules) {
+            List<Rule> tagged = new ArrayList<>(rules.size());
+            java.util.Map<String, RuleExplanation> byPredicate = new java.util.HashMap<>();
+            for (int i = 0; i < rules.size(); i++) {
+                Rule rule = rules.get(i);
+                List<ClauseEntry> head = new ArrayList<>(java.util.Arrays.asList(rule.getHead()));
+                for (ClauseEntry entry : rule.getHead()) {
+                    if (!(entry instanceof TriplePattern)) continue;
+                    TriplePattern pattern = (TriplePattern) entry;
+                    if (pattern.getPredicate().isURI() && (NS + "hasRecommend").equals(pattern.getPredicate().getURI())) {
+                        String predicate = NS + "batchRule_" + i;
+                        head.add(new TriplePattern(pattern.getSubject(), NodeFactory.createURI(predicate), pattern.getObject()));
+                        byPredicate.put(predicate, new RuleExplanation(rule.getName() != null ? rule.getName() : rule.toShortString(),
+                                                                       headConfidence(rule), new ArrayList<>()));
+                        break;
+                    }
+                }
+                Rule copy = new Rule(rule.getName(), head, java.util.Arrays.asList(rule.getBody()));
+                copy.setBackward(rule.isBackward());
+                tagged.add(copy);
+            }
+            GenericRuleReasoner reasoner = new GenericRuleReasoner(tagged);
+            reasoner.setMode(GenericRuleReasoner.HYBRID);
+            return new BatchRules(reasoner, byPredicate);
+        }
+    }
+
+    // Restaurant and rule confidence of one recommendation query row
+    private static final class RecommendationRow {
+        final Resource restaurant;
+        final float confidence;
+
+        RecommendationRow(Resource restaurant, float confidence) {
+            this.restaurant = restaurant;
+            this.confidence = confidence;
+        }
+    }
+
+    // Run the recommendation query for the user, best confidence first. Timed as the sparql
+    // stage: the backward rules are evaluated while the rows are read.
+    private List<RecommendationRow> queryRecommendations(String strategy, InfModel infModel, String userURI) {
+        long start = System.nanoTime();
+        List<RecommendationRow> rows = new ArrayList<>();
+        sparqlQueries.select(QUERY_USER_RECOMMENDATIONS, infModel, userBinding(infModel, userURI), rs -> {
+            while (rs.hasNext()) {
+                org.apache.jena.query.QuerySolution sol = rs.next();
+                RDFNode resNode = sol.get("restaurant");
+                if (resNode == null || !resNode.isResource()) continue;
+                Resource restaurantRes = resNode.asResource();
+
+                float conf = 0f;
+                RDFNode confNode = sol.get("confidence");
+                if (confNode != null && confNode.isLiteral()) {
+                    try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
+                } else {
+                    // fallback: try reading directly from graph
+                    Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
+                    if (confStmt != null && confStmt.getObject().isLiteral()) {
+                        try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
+                    }
+                }
+                if (conf <= 0f) conf = 100f; // default if rule omitted confidence
+                rows.add(new RecommendationRow(restaurantRes, conf));
+            }
+        });
+        metrics.record(strategy, RecommendationMetrics.Stage.SPARQL, start);
+        return rows;
+    }
+
+    // Restaurants of the query rows scored by rule confidence (convert stage)
+    private List<Restaurant> convertRows(String strategy, List<RecommendationRow> rows, Model model) {
+        long start = System.nanoTime();
+        List<Restaurant> restaurants = new ArrayList<>();
+        for (RecommendationRow row : rows) {
+            Restaurant restaurant = convertToRestaurantModel(row.restaurant, model);
+            if (restaurant == null) continue;
+            restaurant.setMatchScore(row.confidence);
+            restaurants.add(restaurant);
+        }
+        metrics.record(strategy, RecommendationMetrics.Stage.CONVERT, start);
+        return restaurants;
+    }
+
     /**
      * Remove Method: Create user instance in memory, perform inference, then remove (no file write)
      * Used for performance testing - no file I/O operations
      */
     public List<Restaurant> getRestaurantRecommendationsRemove(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
             // Load RDF model
+            long stageStart = System.nanoTime();
             Model model = loadRestaurantOntology();
+            metrics.record("Remove", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
             // Create user instance in memory only (not saved to file)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
@@ -2177,45 +2146,17 @@ public class RestaurantService {
                 }
             }
             
+            metrics.record("Remove", RecommendationMetrics.Stage.USER, stageStart);
+
             // Apply reasoning
+            stageStart = System.nanoTime();
             InfModel infModel = applyRulesToModel(model);
+            infModel.prepare();
+            metrics.record("Remove", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("Remove", infModel, userURI);
+            recommendations.addAll(convertRows("Remove", rows, infModel));
             
             // Remove user instance from model (cleanup - no file write)
             model.removeAll(userInstance, null, null);
@@ -2227,6 +2168,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("Remove", requestStart);
         return recommendations;
     }
 
@@ -2236,10 +2178,14 @@ public class RestaurantService {
      */
     public List<Restaurant> getRestaurantRecommendationsReplace(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
             // Load RDF model
+            long stageStart = System.nanoTime();
             Model model = loadRestaurantOntology();
+            metrics.record("Replace", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
             // Create or replace user instance (same URI - overwrites existing)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
@@ -2303,6 +2249,8 @@ public class RestaurantService {
                 }
             }
             
+            metrics.record("Replace", RecommendationMetrics.Stage.USER, stageStart);
+
             // Write to file (replace/overwrite) - use separate file for performance testing
             try {
                 String filePath = "src/main/resources/" + ONTOLOGY_FILE.replace(".rdf", "_replace.rdf");
@@ -2316,44 +2264,14 @@ public class RestaurantService {
             }
             
             // Apply reasoning
+            stageStart = System.nanoTime();
             InfModel infModel = applyRulesToModel(model);
+            infModel.prepare();
+            metrics.record("Replace", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("Replace", infModel, userURI);
+            recommendations.addAll(convertRows("Replace", rows, infModel));
             
             recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
             
@@ -2362,6 +2280,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("Replace", requestStart);
         return recommendations;
     }
 
@@ -2371,10 +2290,14 @@ public class RestaurantService {
      */
     public List<Restaurant> getRestaurantRecommendationsReload(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
             // Reload RDF model from file every time
+            long stageStart = System.nanoTime();
             Model model = loadRestaurantOntology();
+            metrics.record("Reload", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
             // Find existing user instance in file (reload from file)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
@@ -2434,45 +2357,17 @@ public class RestaurantService {
                 }
             }
             
+            metrics.record("Reload", RecommendationMetrics.Stage.USER, stageStart);
+
             // Apply reasoning
+            stageStart = System.nanoTime();
             InfModel infModel = applyRulesToModel(model);
+            infModel.prepare();
+            metrics.record("Reload", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("Reload", infModel, userURI);
+            recommendations.addAll(convertRows("Reload", rows, infModel));
             
             recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
             
@@ -2481,6 +2376,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("Reload", requestStart);
         return recommendations;
     }
 
@@ -2490,106 +2386,32 @@ public class RestaurantService {
      */
     public List<Restaurant> getRestaurantRecommendationsRemoveImproved(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
-            // Use cached model instead of loading every time
+            // Per-request overlay over the shared base graph (user triples only)
+            long stageStart = System.nanoTime();
             Model model = getCachedModel();
+            metrics.record("RemoveImproved", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
-            // Create user instance in memory only (not saved to file)
+            // Create user instance in the overlay only (not saved to file)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
                 ? request.getUserId() : "apiUser";
             String userURI = NS + userLocalName;
-            Resource userInstance = model.createResource(userURI);
-            userInstance.addProperty(RDF.type, model.createResource(NS + "User"));
-            
-            // Add user properties
-            if (request.getRunnerType() != null) {
-                String normalizedRunner = normalizeRunnerType(request.getRunnerType());
-                userInstance.addProperty(model.createProperty(NS + "RunnerType"), normalizedRunner);
-            }
-            userInstance.addLiteral(model.createProperty(NS + "BudgetInterest"), request.getMaxBudget());
-            
-            if (request.getPreRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PreRunCarbConsumtion"), 
-                    request.getPreRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunFatConsumtion"), 
-                    request.getPreRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunProteinConsumtion"), 
-                    request.getPreRunNutrition().getProteinLevel());
-            }
-            if (request.getPostRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PostRunCarbConsumtion"), 
-                    request.getPostRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunFatConsumtion"), 
-                    request.getPostRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunProteinConsumtion"), 
-                    request.getPostRunNutrition().getProteinLevel());
-            }
-            
-            if (request.getPreferredRestaurantTypes() != null) {
-                for (String type : request.getPreferredRestaurantTypes()) {
-                    if (type != null && !type.isEmpty()) {
-                        String normalizedType = normalizeRestaurantType(type);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasRestaurantTypeInterest"),
-                            model.createResource(NS + normalizedType)
-                        );
-                    }
-                }
-            }
-            if (request.getPreferredCuisines() != null) {
-                for (String cuisine : request.getPreferredCuisines()) {
-                    if (cuisine != null && !cuisine.isEmpty()) {
-                        String normalizedCuisine = normalizeCuisineType(cuisine);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasFoodTypeInterest"),
-                            model.createResource(NS + normalizedCuisine)
-                        );
-                    }
-                }
-            }
+            Resource userInstance = addUserInstance(model, userURI, request);
             
-            // Use cached InfModel's reasoner but create new InfModel from model with user instance
-            InfModel baseInfModel = getCachedInfModel();
-            Reasoner reasoner = baseInfModel.getReasoner();
-            InfModel infModel = ModelFactory.createInfModel(reasoner, model);
+            metrics.record("RemoveImproved", RecommendationMetrics.Stage.USER, stageStart);
+
+            // Bind the cached reasoner to the overlay
+            stageStart = System.nanoTime();
+            InfModel infModel = ModelFactory.createInfModel(getCachedReasoner(), model);
+            infModel.prepare();
+            metrics.record("RemoveImproved", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("RemoveImproved", infModel, userURI);
+            recommendations.addAll(convertRows("RemoveImproved", rows, infModel));
             
             // Remove user instance from model (cleanup - no file write)
             model.removeAll(userInstance, null, null);
@@ -2601,6 +2423,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("RemoveImproved", requestStart);
         return recommendations;
     }
 
@@ -2610,113 +2433,35 @@ public class RestaurantService {
      */
     public List<Restaurant> getRestaurantRecommendationsReplaceImproved(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
-            // Use cached model instead of loading every time
+            // Per-request overlay over the shared base graph (user triples only)
+            long stageStart = System.nanoTime();
             Model model = getCachedModel();
+            metrics.record("ReplaceImproved", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
             // Create or replace user instance (same URI - overwrites existing)
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
                 ? request.getUserId() : "apiUser";
             String userURI = NS + userLocalName;
             
-            // Remove existing user instance if present
-            Resource existingUser = model.getResource(userURI);
-            if (existingUser != null) {
-                model.removeAll(existingUser, null, null);
-            }
-            
-            Resource userInstance = model.createResource(userURI);
-            userInstance.addProperty(RDF.type, model.createResource(NS + "User"));
-            
-            // Add user properties (same as Remove method)
-            if (request.getRunnerType() != null) {
-                String normalizedRunner = normalizeRunnerType(request.getRunnerType());
-                userInstance.addProperty(model.createProperty(NS + "RunnerType"), normalizedRunner);
-            }
-            userInstance.addLiteral(model.createProperty(NS + "BudgetInterest"), request.getMaxBudget());
-            
-            if (request.getPreRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PreRunCarbConsumtion"), 
-                    request.getPreRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunFatConsumtion"), 
-                    request.getPreRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PreRunProteinConsumtion"), 
-                    request.getPreRunNutrition().getProteinLevel());
-            }
-            if (request.getPostRunNutrition() != null) {
-                userInstance.addProperty(model.createProperty(NS + "PostRunCarbConsumtion"), 
-                    request.getPostRunNutrition().getCarbLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunFatConsumtion"), 
-                    request.getPostRunNutrition().getFatLevel());
-                userInstance.addProperty(model.createProperty(NS + "PostRunProteinConsumtion"), 
-                    request.getPostRunNutrition().getProteinLevel());
-            }
-            
-            if (request.getPreferredRestaurantTypes() != null) {
-                for (String type : request.getPreferredRestaurantTypes()) {
-                    if (type != null && !type.isEmpty()) {
-                        String normalizedType = normalizeRestaurantType(type);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasRestaurantTypeInterest"),
-                            model.createResource(NS + normalizedType)
-                        );
-                    }
-                }
-            }
-            if (request.getPreferredCuisines() != null) {
-                for (String cuisine : request.getPreferredCuisines()) {
-                    if (cuisine != null && !cuisine.isEmpty()) {
-                        String normalizedCuisine = normalizeCuisineType(cuisine);
-                        userInstance.addProperty(
-                            model.createProperty(NS + "hasFoodTypeInterest"),
-                            model.createResource(NS + normalizedCuisine)
-                        );
-                    }
-                }
-            }
+            // Hide an existing user instance from the base graph (recorded as overlay deletions)
+            model.removeAll(model.getResource(userURI), null, null);
+            addUserInstance(model, userURI, request);
             
-            // Use cached InfModel's reasoner but create new InfModel from model with user instance
-            InfModel baseInfModel = getCachedInfModel();
-            Reasoner reasoner = baseInfModel.getReasoner();
-            InfModel infModel = ModelFactory.createInfModel(reasoner, model);
+            metrics.record("ReplaceImproved", RecommendationMetrics.Stage.USER, stageStart);
+
+            // Bind the cached reasoner to the overlay
+            stageStart = System.nanoTime();
+            InfModel infModel = ModelFactory.createInfModel(getCachedReasoner(), model);
+            infModel.prepare();
+            metrics.record("ReplaceImproved", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("ReplaceImproved", infModel, userURI);
+            recommendations.addAll(convertRows("ReplaceImproved", rows, infModel));
             
             recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
             
@@ -2725,6 +2470,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("ReplaceImproved", requestStart);
         return recommendations;
     }
 
@@ -2734,110 +2480,36 @@ public class RestaurantService {
      */
     public List<Restaurant> getRestaurantRecommendationsReloadImproved(RestaurantRecommendationRequest request) {
         List<Restaurant> recommendations = new ArrayList<>();
+        long requestStart = System.nanoTime();
         
         try {
-            // Use cached model instead of reloading every time
+            // Per-request overlay over the shared base graph (user triples only)
+            long stageStart = System.nanoTime();
             Model model = getCachedModel();
+            metrics.record("ReloadImproved", RecommendationMetrics.Stage.MODEL, stageStart);
+            stageStart = System.nanoTime();
             
-            // Find existing user instance in cached model
+            // Find existing user instance in the base graph
             String userLocalName = (request.getUserId() != null && !request.getUserId().isEmpty()) 
                 ? request.getUserId() : "apiUser";
             String userURI = NS + userLocalName;
-            Resource userInstance = model.getResource(userURI);
             
-            // If user doesn't exist, create it
-            if (userInstance == null) {
-                userInstance = model.createResource(userURI);
-                userInstance.addProperty(RDF.type, model.createResource(NS + "User"));
-                
-                if (request.getRunnerType() != null) {
-                    String normalizedRunner = normalizeRunnerType(request.getRunnerType());
-                    userInstance.addProperty(model.createProperty(NS + "RunnerType"), normalizedRunner);
-                }
-                userInstance.addLiteral(model.createProperty(NS + "BudgetInterest"), request.getMaxBudget());
-                
-                if (request.getPreRunNutrition() != null) {
-                    userInstance.addProperty(model.createProperty(NS + "PreRunCarbConsumtion"), 
-                        request.getPreRunNutrition().getCarbLevel());
-                    userInstance.addProperty(model.createProperty(NS + "PreRunFatConsumtion"), 
-                        request.getPreRunNutrition().getFatLevel());
-                    userInstance.addProperty(model.createProperty(NS + "PreRunProteinConsumtion"), 
-                        request.getPreRunNutrition().getProteinLevel());
-                }
-                if (request.getPostRunNutrition() != null) {
-                    userInstance.addProperty(model.createProperty(NS + "PostRunCarbConsumtion"), 
-                        request.getPostRunNutrition().getCarbLevel());
-                    userInstance.addProperty(model.createProperty(NS + "PostRunFatConsumtion"), 
-                        request.getPostRunNutrition().getFatLevel());
-                    userInstance.addProperty(model.createProperty(NS + "PostRunProteinConsumtion"), 
-                        request.getPostRunNutrition().getProteinLevel());
-                }
-                
-                if (request.getPreferredRestaurantTypes() != null) {
-                    for (String type : request.getPreferredRestaurantTypes()) {
-                        if (type != null && !type.isEmpty()) {
-                            String normalizedType = normalizeRestaurantType(type);
-                            userInstance.addProperty(
-                                model.createProperty(NS + "hasRestaurantTypeInterest"),
-                                model.createResource(NS + normalizedType)
-                            );
-                        }
-                    }
-                }
-                if (request.getPreferredCuisines() != null) {
-                    for (String cuisine : request.getPreferredCuisines()) {
-                        if (cuisine != null && !cuisine.isEmpty()) {
-                            String normalizedCuisine = normalizeCuisineType(cuisine);
-                            userInstance.addProperty(
-                                model.createProperty(NS + "hasFoodTypeInterest"),
-                                model.createResource(NS + normalizedCuisine)
-                            );
-                        }
-                    }
-                }
+            // If user doesn't exist, create it in the overlay
+            if (!model.contains(model.getResource(userURI), RDF.type)) {
+                addUserInstance(model, userURI, request);
             }
             
-            // Use cached InfModel's reasoner but create new InfModel from model with user instance
-            InfModel baseInfModel = getCachedInfModel();
-            Reasoner reasoner = baseInfModel.getReasoner();
-            InfModel infModel = ModelFactory.createInfModel(reasoner, model);
+            metrics.record("ReloadImproved", RecommendationMetrics.Stage.USER, stageStart);
+
+            // Bind the cached reasoner to the overlay
+            stageStart = System.nanoTime();
+            InfModel infModel = ModelFactory.createInfModel(getCachedReasoner(), model);
+            infModel.prepare();
+            metrics.record("ReloadImproved", RecommendationMetrics.Stage.REASONER, stageStart);
             
             // Query recommendations
-            String prefix = "PREFIX re: <" + NS + ">\n" +
-                            "PREFIX xsd: <http://www.w3.org/2001/XMLSchema#>\n";
-            String sparql = prefix +
-                "SELECT ?restaurant (xsd:float(?c) AS ?confidence) WHERE {\n" +
-                "  <" + userURI + "> re:hasRecommend ?restaurant .\n" +
-                "  OPTIONAL { ?restaurant re:confidence ?c }\n" +
-                "} ORDER BY DESC(?confidence)";
-            
-            org.apache.jena.query.Query query = org.apache.jena.query.QueryFactory.create(sparql);
-            try (org.apache.jena.query.QueryExecution qexec = 
-                    org.apache.jena.query.QueryExecutionFactory.create(query, infModel)) {
-                org.apache.jena.query.ResultSet rs = qexec.execSelect();
-                while (rs.hasNext()) {
-                    org.apache.jena.query.QuerySolution sol = rs.next();
-                    RDFNode resNode = sol.get("restaurant");
-                    if (resNode == null || !resNode.isResource()) continue;
-                    Resource restaurantRes = resNode.asResource();
-                    Restaurant restaurant = convertToRestaurantModel(restaurantRes, infModel);
-                    if (restaurant == null) continue;
-                    
-                    float conf = 0f;
-                    RDFNode confNode = sol.get("confidence");
-                    if (confNode != null && confNode.isLiteral()) {
-                        try { conf = confNode.asLiteral().getFloat(); } catch (Exception ignore) {}
-                    } else {
-                        Statement confStmt = restaurantRes.getProperty(infModel.getProperty(NS, "confidence"));
-                        if (confStmt != null && confStmt.getObject().isLiteral()) {
-                            try { conf = Float.parseFloat(confStmt.getString()); } catch (Exception ignore) {}
-                        }
-                    }
-                    if (conf <= 0f) conf = 100f;
-                    restaurant.setMatchScore(conf);
-                    recommendations.add(restaurant);
-                }
-            }
+            List<RecommendationRow> rows = queryRecommendations("ReloadImproved", infModel, userURI);
+            recommendations.addAll(convertRows("ReloadImproved", rows, infModel));
             
             recommendations.sort((r1, r2) -> Float.compare(r2.getMatchScore(), r1.getMatchScore()));
             
@@ -2846,6 +2518,7 @@ public class RestaurantService {
             e.printStackTrace();
         }
         
+        metrics.recordRequest("ReloadImproved", requestStart);
         return recommendations;
     }
 }
\ No newline at end of file
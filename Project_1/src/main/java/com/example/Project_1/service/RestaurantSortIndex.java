@@ -0,0 +1,121 @@
+package com.example.Project_1.service;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Precomputed sort orders of the catalog, one per sortable field.
+ *
+ * Each order is the list of catalog ordinals sorted by the field (case-insensitive
+ * for text, nulls last) together with the dense rank of each entry, so equal keys
+ * can be recognized. A search walks the order of its sort field and keeps the
+ * ordinals whose bit is set in the filter result, which returns a page without
+ * sorting anything and stops as soon as the page is full. Ties keep catalog order
+ * in both directions, like the stable sort used before.
+ */
+public final class RestaurantSortIndex {
+
+    // Sort keys accepted by the search endpoints (sortBy parameter)
+    public static final String NAME = "name";
+    public static final String CUISINE = "cuisine";
+    public static final String LOCATION = "location";
+    public static final String TYPE = "type";
+    public static final String BUDGET = "budget";
+
+    private final Map<String, SortOrder> orders = new HashMap<>();
+
+    RestaurantSortIndex(List<Restaurant> restaurants) {
+        orders.put(NAME, SortOrder.build(restaurants, text(Restaurant::getRestaurantName)));
+        orders.put(CUISINE, SortOrder.build(restaurants, text(Restaurant::getCuisineType)));
+        orders.put(LOCATION, SortOrder.build(restaurants, text(Restaurant::getLocation)));
+        orders.put(TYPE, SortOrder.build(restaurants, text(Restaurant::getRestaurantType)));
+        orders.put(BUDGET, SortOrder.build(restaurants, Comparator.comparingDouble(Restaurant::getBudget)));
+    }
+
+    private static Comparator<Restaurant> text(Function<Restaurant, String> field) {
+        return Comparator.comparing(field, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+    }
+
+    /**
+     * Ordinals of one page of the filtered result. Unknown sort keys sort by name
+     * ascending, as the search endpoints always did. skip is the number of matching
+     * entries before the page, limit the page size (<= 0 for the rest).
+     */
+    public int[] page(BitSet matches, String sortBy, String sortOrder, int skip, int limit) {
+        String key = sortBy != null ? sortBy.toLowerCase() : NAME;
+        SortOrder order = orders.get(key);
+        boolean ascending = sortOrder == null || !sortOrder.toLowerCase().equals("desc");
+        if (order == null) {
+            order = orders.get(NAME);
+            ascending = true;
+        }
+
+        int available = Math.max(0, matches.cardinality() - Math.max(0, skip));
+        int n = limit > 0 ? Math.min(limit, available) : available;
+        int[] page = new int[n];
+        if (n == 0) return page;
+
+        int skipped = 0;
+        int filled = 0;
+        if (ascending) {
+            for (int i = 0; i < order.ordinals.length && filled < n; i++) {
+                int ordinal = order.ordinals[i];
+                if (!matches.get(ordinal)) continue;
+                if (skipped < skip) skipped++; else page[filled++] = ordinal;
+            }
+            return page;
+        }
+
+        // Descending: walk runs of equal keys from the end, each run in catalog order
+        int runEnd = order.ordinals.length;
+        while (runEnd > 0 && filled < n) {
+            int runStart = runEnd - 1;
+            while (runStart > 0 && order.ranks[runStart - 1] == order.ranks[runEnd - 1]) {
+                runStart--;
+            }
+            for (int i = runStart; i < runEnd && filled < n; i++) {
+                int ordinal = order.ordinals[i];
+                if (!matches.get(ordinal)) continue;
+                if (skipped < skip) skipped++; else page[filled++] = ordinal;
+            }
+            runEnd = runStart;
+        }
+        return page;
+    }
+
+    private static final class SortOrder {
+        private final int[] ordinals;
+        private final int[] ranks;
+
+        private SortOrder(int[] ordinals, int[] ranks) {
+            this.ordinals = ordinals;
+            this.ranks = ranks;
+        }
+
+        static SortOrder build(List<Restaurant> restaurants, Comparator<Restaurant> comparator) {
+            int n = restaurants.size();
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = i;
+            }
+            // Arrays.sort on objects is stable: ties keep catalog order
+            Arrays.sort(order, (a, b) -> comparator.compare(restaurants.get(a), restaurants.get(b)));
+
+            int[] ordinals = new int[n];
+            int[] ranks = new int[n];
+            for (int i = 0; i < n; i++) {
+                ordinals[i] = order[i];
+                ranks[i] = i == 0 ? 0
+                    : comparator.compare(restaurants.get(order[i - 1]), restaurants.get(order[i])) == 0 ? ranks[i - 1] : ranks[i - 1] + 1;
+            }
+            return new SortOrder(ordinals, ranks);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.example.Project_1.model.Restaurant;
+
+/**
+ * Prefix trie over the catalog's restaurant names, cuisines, locations and nationalities.
+ *
+ * Each distinct value is inserted lowercased under its full text and under every
+ * later word (so "shop" completes "Noodle Shop"). Every trie node keeps its best
+ * MAX_SUGGESTIONS completions, ranked once at build time, so a lookup is a walk
+ * down the prefix plus a copy of that list, independent of the catalog size.
+ * Ranking: completions starting with the query before mid-text word matches,
+ * then by how many restaurants carry the value, then alphabetically.
+ */
+public final class RestaurantSuggestIndex {
+
+    static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Completion> RANKING = Comparator
+        .comparing((Completion c) -> !c.fullMatch)
+        .thenComparing(c -> -c.suggestion.count)
+        .thenComparing(c -> c.suggestion.text, String.CASE_INSENSITIVE_ORDER);
+
+    private final Node root = new Node();
+
+    RestaurantSuggestIndex(List<Restaurant> restaurants) {
+        Map<String, Suggestion> suggestions = new LinkedHashMap<>();
+        collect(suggestions, restaurants, "name", Restaurant::getRestaurantName);
+        collect(suggestions, restaurants, "cuisine", Restaurant::getCuisineType);
+        collect(suggestions, restaurants, "location", Restaurant::getLocation);
+        collect(suggestions, restaurants, "nationality", Restaurant::getNationality);
+
+        for (Suggestion suggestion : suggestions.values()) {
+            String lower = suggestion.text.toLowerCase(Locale.ROOT);
+            insert(lower, new Completion(suggestion, true));
+            for (int i = 1; i < lower.length(); i++) {
+                if (Character.isWhitespace(lower.charAt(i - 1)) && !Character.isWhitespace(lower.charAt(i))) {
+                    insert(lower.substring(i), new Completion(suggestion, false));
+                }
+            }
+        }
+        root.rank();
+    }
+
+    private static void collect(Map<String, Suggestion> suggestions, List<Restaurant> restaurants, String field,
+                                Function<Restaurant, String> value) {
+        for (Restaurant restaurant : restaurants) {
+            String text = value.apply(restaurant);
+            if (text == null || text.isBlank() || text.equals("N/A")) continue;
+            String trimmed = text.trim();
+            Suggestion suggestion = suggestions.computeIfAbsent(field + ":" + trimmed.toLowerCase(Locale.ROOT),
+                k -> new Suggestion(trimmed, field, "name".equals(field) ? restaurant.getRestaurantId() : null));
+            suggestion.count++;
+        }
+    }
+
+    private void insert(String key, Completion completion) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        node.terminals.add(completion);
+    }
+
+    // Ranked completions of a prefix (case-insensitive), at most limit (capped at MAX_SUGGESTIONS)
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null) return Collections.emptyList();
+        String key = prefix.trim().toLowerCase(Locale.ROOT);
+        if (key.isEmpty()) return Collections.emptyList();
+
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        if (node == null) return Collections.emptyList();
+
+        int n = Math.min(node.top.size(), limit > 0 ? Math.min(limit, MAX_SUGGESTIONS) : MAX_SUGGESTIONS);
+        List<Suggestion> results = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            results.add(node.top.get(i).suggestion);
+        }
+        return results;
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final List<Completion> terminals = new ArrayList<>(1);
+        private List<Completion> top = Collections.emptyList();
+
+        // Bottom-up: a node's best completions are the best of its own terminals and its children's
+        List<Completion> rank() {
+            List<Completion> candidates = new ArrayList<>(terminals);
+            for (Node child : children.values()) {
+                candidates.addAll(child.rank());
+            }
+            candidates.sort(RANKING);
+
+            // A value reachable as full text and as a later word appears once, at its best rank
+            List<Completion> best = new ArrayList<>(Math.min(candidates.size(), MAX_SUGGESTIONS));
+            for (Completion candidate : candidates) {
+                if (best.size() == MAX_SUGGESTIONS) break;
+                boolean seen = false;
+                for (Completion kept : best) {
+                    if (kept.suggestion == candidate.suggestion) {
+                        seen = true;
+                        break;
+                    }
+                }
+                if (!seen) best.add(candidate);
+            }
+            top = best;
+            return best;
+        }
+    }
+
+    private static final class Completion {
+        private final Suggestion suggestion;
+        private final boolean fullMatch;
+
+        Completion(Suggestion suggestion, boolean fullMatch) {
+            this.suggestion = suggestion;
+            this.fullMatch = fullMatch;
+        }
+    }
+
+    // One completion: the display text, which field it comes from and how many restaurants carry it
+    public static final class Suggestion {
+        private final String text;
+        private final String field;
+        private final String restaurantId;
+        private int count;
+
+        Suggestion(String text, String field, String restaurantId) {
+            this.text = text;
+            this.field = field;
+            this.restaurantId = restaurantId;
+        }
+
+        public String getText() { return text; }
+
+        // name, cuisine, location or nationality
+        public String getField() { return field; }
+
+        // URI of the restaurant for name suggestions (first one when names repeat), null otherwise
+        public String getRestaurantId() { return restaurantId; }
+
+        public int getCount() { return count; }
+    }
+}
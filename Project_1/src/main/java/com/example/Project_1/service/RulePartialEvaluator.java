@@ -0,0 +1,261 @@
+package com.example.Project_1.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.jena.graph.Graph;
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.reasoner.TriplePattern;
+import org.apache.jena.reasoner.rulesys.ClauseEntry;
+import org.apache.jena.reasoner.rulesys.Rule;
+import org.apache.jena.util.iterator.ExtendedIterator;
+
+/**
+ * Partial evaluation of the recommendation rules against a catalog snapshot.
+ *
+ * Every rule in rule.rules is a flat conjunction of restaurant-side conditions
+ * (?Restaurant re:hasFoodType ?FoodType, ?FoodType re:Fat "Medium", ...) and
+ * user-side conditions with a constant object (?User re:RunnerType "Fun run").
+ * The restaurant side only depends on the ontology, so it is matched once per
+ * catalog version; a request then only checks the handful of user-side triples
+ * and unions the precomputed restaurant sets, instead of running the hybrid
+ * reasoner over the whole graph.
+ *
+ * Rules that don't fit this shape (builtins, user conditions with variables,
+ * bodies that depend on derived predicates) are reported by
+ * {@link #getUnsupportedRules()}; callers should fall back to the reasoner
+ * when {@link #isComplete()} is false.
+ */
+public final class RulePartialEvaluator {
+
+    private final long catalogVersion;
+    private final List<PrecomputedRule> rules;
+    private final List<String> unsupportedRules;
+
+    private RulePartialEvaluator(long catalogVersion, List<PrecomputedRule> rules, List<String> unsupportedRules) {
+        this.catalogVersion = catalogVersion;
+        this.rules = Collections.unmodifiableList(rules);
+        this.unsupportedRules = Collections.unmodifiableList(unsupportedRules);
+    }
+
+    /**
+     * Split each rule into user-side and restaurant-side conditions and match the
+     * restaurant side against the given (catalog) graph.
+     *
+     * @param recommendPredicate head predicate linking the user to a restaurant (re:hasRecommend)
+     * @param confidencePredicate head predicate carrying the rule confidence (re:confidence)
+     */
+    public static RulePartialEvaluator build(List<Rule> ruleList, Graph graph, long catalogVersion,
+                                             Node recommendPredicate, Node confidencePredicate) {
+        List<PrecomputedRule> precomputed = new ArrayList<>();
+        List<String> unsupported = new ArrayList<>();
+
+        // Predicates produced by any rule head; a body that reads one of them depends on inference
+        Set<Node> derivedPredicates = new HashSet<>();
+        for (Rule rule : ruleList) {
+            for (ClauseEntry entry : rule.getHead()) {
+                if (entry instanceof TriplePattern) {
+                    derivedPredicates.add(((TriplePattern) entry).getPredicate());
+                }
+            }
+        }
+
+        for (Rule rule : ruleList) {
+            PrecomputedRule compiled = compile(rule, graph, derivedPredicates, recommendPredicate, confidencePredicate);
+            if (compiled != null) {
+                precomputed.add(compiled);
+            } else {
+                unsupported.add(ruleName(rule));
+            }
+        }
+        return new RulePartialEvaluator(catalogVersion, precomputed, unsupported);
+    }
+
+    private static PrecomputedRule compile(Rule rule, Graph graph, Set<Node> derivedPredicates,
+                                           Node recommendPredicate, Node confidencePredicate) {
+        if (rule.isBackward()) return null;
+
+        // Head: (?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence "N")
+        Node userVar = null;
+        Node restaurantVar = null;
+        float confidence = 0f;
+        for (ClauseEntry entry : rule.getHead()) {
+            if (!(entry instanceof TriplePattern)) return null;
+            TriplePattern head = (TriplePattern) entry;
+            if (recommendPredicate.equals(head.getPredicate())) {
+                if (!head.getSubject().isVariable() || !head.getObject().isVariable()) return null;
+                userVar = head.getSubject();
+                restaurantVar = head.getObject();
+            }
+        }
+        if (userVar == null) return null;
+        for (ClauseEntry entry : rule.getHead()) {
+            TriplePattern head = (TriplePattern) entry;
+            if (confidencePredicate.equals(head.getPredicate()) && restaurantVar.equals(head.getSubject())
+                    && head.getObject().isLiteral()) {
+                try {
+                    confidence = Float.parseFloat(head.getObject().getLiteralLexicalForm());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+
+        // Body: user-side conditions must be (?User <p> <constant>), everything else is restaurant-side
+        List<Triple> userConditions = new ArrayList<>();
+        List<TriplePattern> restaurantPatterns = new ArrayList<>();
+        for (ClauseEntry entry : rule.getBody()) {
+            if (!(entry instanceof TriplePattern)) return null;
+            TriplePattern pattern = (TriplePattern) entry;
+            if (pattern.getPredicate().isVariable() || derivedPredicates.contains(pattern.getPredicate())) return null;
+            if (userVar.equals(pattern.getSubject())) {
+                if (pattern.getObject().isVariable()) return null;
+                userConditions.add(Triple.create(Node.ANY, pattern.getPredicate(), pattern.getObject()));
+            } else {
+                if (userVar.equals(pattern.getObject())) return null;
+                restaurantPatterns.add(pattern);
+            }
+        }
+
+        Set<String> restaurantUris = new LinkedHashSet<>();
+        match(graph, restaurantPatterns, 0, new HashMap<>(), restaurantVar, restaurantUris);
+        return new PrecomputedRule(ruleName(rule), userConditions, confidence, restaurantUris);
+    }
+
+    // Backtracking join of the restaurant-side patterns, collecting bindings of the restaurant variable
+    private static void match(Graph graph, List<TriplePattern> patterns, int index, Map<Node, Node> binding,
+                              Node restaurantVar, Set<String> out) {
+        if (index == patterns.size()) {
+            Node restaurant = binding.get(restaurantVar);
+            if (restaurant != null && restaurant.isURI()) {
+                out.add(restaurant.getURI());
+            }
+            return;
+        }
+
+        TriplePattern pattern = patterns.get(index);
+        Node s = resolve(pattern.getSubject(), binding);
+        Node p = resolve(pattern.getPredicate(), binding);
+        Node o = resolve(pattern.getObject(), binding);
+
+        ExtendedIterator<Triple> it = graph.find(s, p, o);
+        try {
+            while (it.hasNext()) {
+                Triple t = it.next();
+                List<Node> added = new ArrayList<>(3);
+                if (bind(pattern.getSubject(), t.getSubject(), binding, added)
+                        && bind(pattern.getPredicate(), t.getPredicate(), binding, added)
+                        && bind(pattern.getObject(), t.getObject(), binding, added)) {
+                    match(graph, patterns, index + 1, binding, restaurantVar, out);
+                }
+                for (Node var : added) {
+                    binding.remove(var);
+                }
+            }
+        } finally {
+            it.close();
+        }
+    }
+
+    private static Node resolve(Node node, Map<Node, Node> binding) {
+        if (!node.isVariable()) return node;
+        Node value = binding.get(node);
+        return value != null ? value : Node.ANY;
+    }
+
+    private static boolean bind(Node patternNode, Node value, Map<Node, Node> binding, List<Node> added) {
+        if (!patternNode.isVariable()) return true;
+        Node existing = binding.get(patternNode);
+        if (existing != null) return existing.sameValueAs(value);
+        binding.put(patternNode, value);
+        added.add(patternNode);
+        return true;
+    }
+
+    private static String ruleName(Rule rule) {
+        return rule.getName() != null ? rule.getName() : rule.toShortString();
+    }
+
+    /**
+     * Evaluate the user-side conditions of every rule for the given user and union
+     * the precomputed restaurant sets. Restaurants matched by several rules keep the
+     * highest confidence and list every rule that fired, ordered by confidence desc.
+     */
+    public List<Recommendation> evaluate(Graph graph, Node user) {
+        Map<String, Recommendation> byRestaurant = new LinkedHashMap<>();
+        for (PrecomputedRule rule : rules) {
+            if (rule.restaurantUris.isEmpty() || !rule.matchesUser(graph, user)) continue;
+            for (String uri : rule.restaurantUris) {
+                Recommendation recommendation = byRestaurant.computeIfAbsent(uri, Recommendation::new);
+                recommendation.add(rule.name, rule.confidence);
+            }
+        }
+        List<Recommendation> result = new ArrayList<>(byRestaurant.values());
+        result.sort((a, b) -> Float.compare(b.getConfidence(), a.getConfidence()));
+        return result;
+    }
+
+    public long getCatalogVersion() { return catalogVersion; }
+
+    public List<PrecomputedRule> getRules() { return rules; }
+
+    public List<String> getUnsupportedRules() { return unsupportedRules; }
+
+    // True when every rule could be partially evaluated (results match the reasoner)
+    public boolean isComplete() { return unsupportedRules.isEmpty(); }
+
+    // One rule with its restaurant side already matched against the catalog
+    public static final class PrecomputedRule {
+        private final String name;
+        private final List<Triple> userConditions;
+        private final float confidence;
+        private final Set<String> restaurantUris;
+
+        PrecomputedRule(String name, List<Triple> userConditions, float confidence, Set<String> restaurantUris) {
+            this.name = name;
+            this.userConditions = Collections.unmodifiableList(userConditions);
+            this.confidence = confidence;
+            this.restaurantUris = Collections.unmodifiableSet(restaurantUris);
+        }
+
+        boolean matchesUser(Graph graph, Node user) {
+            for (Triple condition : userConditions) {
+                if (!graph.contains(user, condition.getPredicate(), condition.getObject())) return false;
+            }
+            return true;
+        }
+
+        public String getName() { return name; }
+        public List<Triple> getUserConditions() { return userConditions; }
+        public float getConfidence() { return confidence; }
+        public Set<String> getRestaurantUris() { return restaurantUris; }
+    }
+
+    // Restaurant recommended for a user, with the rules that fired for it
+    public static final class Recommendation {
+        private final String restaurantUri;
+        private final List<String> ruleNames = new ArrayList<>();
+        private float confidence;
+
+        Recommendation(String restaurantUri) {
+            this.restaurantUri = restaurantUri;
+        }
+
+        void add(String ruleName, float ruleConfidence) {
+            ruleNames.add(ruleName);
+            confidence = Math.max(confidence, ruleConfidence);
+        }
+
+        public String getRestaurantUri() { return restaurantUri; }
+        public List<String> getRuleNames() { return ruleNames; }
+        public float getConfidence() { return confidence; }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.Project_1.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+
+/**
+ * Named SPARQL queries, parsed once and executed with initial bindings.
+ *
+ * Request-specific values (the user URI, ...) are passed as initial bindings
+ * instead of being concatenated into the query text, so the same parsed Query
+ * serves every request. Each execution is timed, including consumption of the
+ * result set by the handler, and the per-query totals are exposed through
+ * {@link #getStats()}.
+ */
+public final class SparqlQueryRegistry {
+
+    // Consumes a result set while the execution is still open
+    @FunctionalInterface
+    public interface ResultHandler {
+        void handle(ResultSet results);
+    }
+
+    private final Map<String, RegisteredQuery> queries = new ConcurrentHashMap<>();
+
+    // Parse and register a query under a name (replaces an existing registration)
+    public void register(String name, String sparql) {
+        queries.put(name, new RegisteredQuery(QueryFactory.create(sparql)));
+    }
+
+    public Query getQuery(String name) {
+        return lookup(name).query;
+    }
+
+    // Run a registered SELECT query over the model with the given initial bindings
+    public void select(String name, Model model, QuerySolution initialBinding, ResultHandler handler) {
+        RegisteredQuery registered = lookup(name);
+        long start = System.nanoTime();
+        try (QueryExecution qexec = initialBinding != null
+                ? QueryExecution.model(model).query(registered.query).initialBinding(initialBinding).build()
+                : QueryExecution.model(model).query(registered.query).build()) {
+            handler.handle(qexec.execSelect());
+        } finally {
+            registered.record(System.nanoTime() - start);
+        }
+    }
+
+    private RegisteredQuery lookup(String name) {
+        RegisteredQuery registered = queries.get(name);
+        if (registered == null) {
+            throw new IllegalArgumentException("Unknown SPARQL query: " + name);
+        }
+        return registered;
+    }
+
+    // Executions, total/mean/max time per query
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (Map.Entry<String, RegisteredQuery> entry : queries.entrySet()) {
+            RegisteredQuery registered = entry.getValue();
+            long executions = registered.executions.get();
+            long totalNanos = registered.totalNanos.get();
+            Map<String, Object> queryStats = new LinkedHashMap<>();
+            queryStats.put("executions", executions);
+            queryStats.put("totalMillis", totalNanos / 1_000_000.0);
+            queryStats.put("meanMillis", executions == 0 ? 0.0 : totalNanos / 1_000_000.0 / executions);
+            queryStats.put("maxMillis", registered.maxNanos.get() / 1_000_000.0);
+            stats.put(entry.getKey(), queryStats);
+        }
+        return stats;
+    }
+
+    private static final class RegisteredQuery {
+        private final Query query;
+        private final AtomicLong executions = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        RegisteredQuery(Query query) {
+            this.query = query;
+        }
+
+        void record(long nanos) {
+            executions.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Project_1.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFFormat;
+import org.apache.jena.riot.RDFParser;
+
+/**
+ * Build-time tool that converts the RDF/XML ontology into binary RDF Thrift.
+ *
+ * Run by the exec-maven-plugin in the process-classes phase so the compiled
+ * artifact is bundled next to the .rdf file in the jar. RestaurantService loads
+ * the Thrift file when present and only falls back to parsing RDF/XML without it.
+ *
+ * Usage: OntologyPrecompiler &lt;input.rdf&gt; &lt;output.rt&gt;
+ */
+public class OntologyPrecompiler {
+
+    public static final String COMPILED_EXTENSION = ".rt";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: OntologyPrecompiler <input.rdf> <output" + COMPILED_EXTENSION + ">");
+            System.exit(1);
+        }
+
+        Path input = Paths.get(args[0]);
+        Path output = Paths.get(args[1]);
+        if (!Files.exists(input)) {
+            System.err.println("Ontology not found, skipping precompilation: " + input);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        Model model = ModelFactory.createDefaultModel();
+        RDFParser.source(input.toString()).lang(Lang.RDFXML).parse(model);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(output)) {
+            RDFDataMgr.write(out, model, RDFFormat.RDF_THRIFT);
+        }
+
+        System.out.println("Precompiled " + input.getFileName() + " -> " + output.getFileName() +
+                           " (" + model.size() + " triples, " + Files.size(input) + " -> " + Files.size(output) +
+                           " bytes) in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // Classpath name of the compiled artifact for an ontology resource
+    public static String compiledResourceName(String ontologyResource) {
+        int dot = ontologyResource.lastIndexOf('.');
+        String base = dot > 0 ? ontologyResource.substring(0, dot) : ontologyResource;
+        return base + COMPILED_EXTENSION;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Project_1.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Diagnostic lines of one traced HTTP request.
+ *
+ * A trace is bound to the request thread by RequestTraceFilter for the requests
+ * picked by RequestTraceStore (X-Trace header, admin switch or sampling). Code on
+ * the request path logs through {@link #log(String)}; lines that concatenate
+ * values are wrapped in {@code if (RequestTrace.isActive())} so untraced requests
+ * neither build the strings nor write anything.
+ */
+public final class RequestTrace {
+
+    // Lines kept per trace; later lines are counted but dropped
+    static final int MAX_LINES = 2000;
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+
+    private final String id = UUID.randomUUID().toString();
+    private final String method;
+    private final String path;
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final List<String> lines = new ArrayList<>();
+    private int droppedLines;
+    private long durationMs = -1;
+    private int status;
+
+    private RequestTrace(String method, String path) {
+        this.method = method;
+        this.path = path;
+    }
+
+    // Whether the current thread is serving a traced request
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    // Append a line to the current trace; no-op for untraced requests
+    public static void log(String line) {
+        RequestTrace trace = CURRENT.get();
+        if (trace == null) return;
+        if (trace.lines.size() < MAX_LINES) {
+            trace.lines.add((System.nanoTime() - trace.startNanos) / 1_000_000 + "ms " + line);
+        } else {
+            trace.droppedLines++;
+        }
+    }
+
+    // Bind a new trace to the current thread
+    static RequestTrace begin(String method, String path) {
+        RequestTrace trace = new RequestTrace(method, path);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    // Unbind the current trace and stamp its duration and response status
+    static RequestTrace end(int status) {
+        RequestTrace trace = CURRENT.get();
+        CURRENT.remove();
+        if (trace != null) {
+            trace.durationMs = (System.nanoTime() - trace.startNanos) / 1_000_000;
+            trace.status = status;
+        }
+        return trace;
+    }
+
+    public String getId() { return id; }
+
+    public String getMethod() { return method; }
+
+    public String getPath() { return path; }
+
+    public long getStartedAt() { return startedAt; }
+
+    // -1 while the request is still running
+    public long getDurationMs() { return durationMs; }
+
+    public int getStatus() { return status; }
+
+    public int getDroppedLines() { return droppedLines; }
+
+    // Lines prefixed with the elapsed time since the request started
+    public List<String> getLines() { return Collections.unmodifiableList(lines); }
+}
@@ -0,0 +1,63 @@
+package com.example.Project_1.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Binds a RequestTrace to the requests selected by RequestTraceStore and stores
+ * it when the request completes. Traced responses carry the trace id in
+ * X-Trace-Id, to be fetched from GET /api/admin/traces/{id}.
+ *
+ * Runs right after the Spring Security chain so the X-Trace header can be
+ * limited to authenticated ADMIN principals.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private RequestTraceStore traceStore;
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        String traceHeader = request.getHeader(RequestTraceStore.TRACE_HEADER);
+        if (!traceStore.shouldTrace(traceHeader, traceHeader != null && isAdmin())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String path = request.getQueryString() != null
+            ? request.getRequestURI() + "?" + request.getQueryString() : request.getRequestURI();
+        RequestTrace trace = RequestTrace.begin(request.getMethod(), path);
+        response.setHeader(RequestTraceStore.TRACE_ID_HEADER, trace.getId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            traceStore.record(RequestTrace.end(response.getStatus()));
+        }
+    }
+
+    private static boolean isAdmin() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) return false;
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if ("ROLE_ADMIN".equals(authority.getAuthority())) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.Project_1.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which requests are traced and keeps the latest finished traces in a
+ * fixed-size ring buffer (oldest overwritten first).
+ *
+ * A request is traced when an admin sends "X-Trace: true", when the admin switch is
+ * on (restaurant.trace.enabled, or PUT /api/admin/traces/enabled) or when it is
+ * picked by restaurant.trace.sample-rate.
+ */
+@Component
+public class RequestTraceStore {
+
+    public static final String TRACE_HEADER = "X-Trace";
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    @Value("${restaurant.trace.buffer-size:50}")
+    private int bufferSize = 50;
+
+    @Value("${restaurant.trace.enabled:false}")
+    private volatile boolean enabled = false;
+
+    // Fraction of untagged requests traced while the switch is off (0 = none)
+    @Value("${restaurant.trace.sample-rate:0}")
+    private double sampleRate = 0;
+
+    private RequestTrace[] buffer;
+    private int next;
+    private final AtomicLong recorded = new AtomicLong();
+
+    // Whether a request with the given X-Trace header value should be traced. The header only counts
+    // for admins, so anonymous clients can't force tracing and flush the buffer.
+    public boolean shouldTrace(String traceHeader, boolean admin) {
+        if (enabled || (admin && ("true".equalsIgnoreCase(traceHeader) || "1".equals(traceHeader)))) return true;
+        return sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    public synchronized void record(RequestTrace trace) {
+        if (buffer == null) {
+            buffer = new RequestTrace[Math.max(1, bufferSize)];
+        }
+        buffer[next] = trace;
+        next = (next + 1) % buffer.length;
+        recorded.incrementAndGet();
+    }
+
+    // Buffered traces, newest first
+    public synchronized List<RequestTrace> recent() {
+        List<RequestTrace> traces = new ArrayList<>();
+        if (buffer == null) return traces;
+        for (int i = 1; i <= buffer.length; i++) {
+            RequestTrace trace = buffer[Math.floorMod(next - i, buffer.length)];
+            if (trace != null) traces.add(trace);
+        }
+        return traces;
+    }
+
+    public synchronized RequestTrace find(String id) {
+        if (buffer == null || id == null) return null;
+        for (RequestTrace trace : buffer) {
+            if (trace != null && trace.getId().equals(id)) return trace;
+        }
+        return null;
+    }
+
+    public synchronized void clear() {
+        buffer = null;
+        next = 0;
+    }
+
+    public boolean isEnabled() { return enabled; }
+
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("sampleRate", sampleRate);
+        stats.put("bufferSize", bufferSize);
+        stats.put("buffered", recent().size());
+        stats.put("recorded", recorded.get());
+        return stats;
+    }
+}
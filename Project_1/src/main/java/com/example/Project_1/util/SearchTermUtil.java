@@ -0,0 +1,51 @@
+package com.example.Project_1.util;
+
+// Matching heuristics of the restaurant search filters (restaurant type, free text).
+// Cuisine synonyms are data-driven, see RestaurantCuisineMatcher and cuisine-synonyms.txt.
+// Inputs are expected lowercased; the search term also trimmed.
+public class SearchTermUtil {
+
+    // Restaurant type aliases: a search equal to one of the terms matches a type containing the keyword
+    private static final String[][] RESTAURANT_TYPE_ALIASES = {
+        {"fastdining", "fast"},
+        {"casualdining", "casual"},
+        {"finedining", "fine"},
+        {"buffet", "buffet"},
+        {"street food", "street"}, {"streetfood", "street"},
+        {"cafe", "cafe"},
+        {"food court", "court"}, {"foodcourt", "court"},
+        {"food truck", "truck"}, {"foodtruck", "truck"},
+        {"family restaurant", "family"}, {"familyrestaurant", "family"},
+        {"bistro", "bistro"},
+        {"pub", "pub"},
+        {"diner", "diner"},
+        {"kiosk", "kiosk"}
+    };
+
+    // "... dining" searches match on containment rather than equality (e.g. "fast dining restaurant")
+    private static final String[][] RESTAURANT_TYPE_PHRASES = {
+        {"fast dining", "fast"},
+        {"casual dining", "casual"},
+        {"fine dining", "fine"}
+    };
+
+    // Free-text match used by name, location and nationality: either string contains the other
+    public static boolean containsEitherWay(String value, String search) {
+        return value.contains(search) || search.contains(value);
+    }
+
+    public static boolean restaurantTypeMatches(String searchType, String restaurantType) {
+        if (containsEitherWay(restaurantType, searchType)) return true;
+        for (String[] phrase : RESTAURANT_TYPE_PHRASES) {
+            if (searchType.contains(phrase[0]) && restaurantType.contains(phrase[1])) return true;
+        }
+        return aliasMatches(RESTAURANT_TYPE_ALIASES, searchType, restaurantType);
+    }
+
+    private static boolean aliasMatches(String[][] aliases, String search, String value) {
+        for (String[] alias : aliases) {
+            if (search.equals(alias[0]) && value.contains(alias[1])) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,253 @@
+package com.example.Project_1.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.rdf.model.Statement;
+import org.apache.jena.riot.Lang;
+import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.riot.RDFLanguages;
+import org.apache.jena.vocabulary.OWL2;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+
+/**
+ * Tool that scales the bundled ontology up to a synthetic catalog for scaling tests.
+ *
+ * The output is the bundled ontology (schema, rules, users, every original
+ * individual) plus (scale - 1) synthetic copies' worth of restaurants, food types
+ * and locations, so it loads and reasons exactly like the original with rule.rules:
+ *
+ *   - food types are variants of the existing ones (same FoodType subclass, picked by
+ *     how many restaurants serve them); most keep their template's Fat/Protein/
+ *     Carbohydrates levels, the rest take a profile from another food type
+ *   - restaurants copy the opening days/times and rating classes of a random original,
+ *     serve a variant of its food type, draw restaurant type from the observed mix and
+ *     jitter its budgets log-normally
+ *   - every restaurant gets its own Location near an original one with coordinates
+ *     (Gaussian, about 1 km), in the same province and district
+ *
+ * Food types carry an rdfs:label with their template's local name, originals included,
+ * so all variants of a cuisine show and facet under one label. Generation is
+ * deterministic for a given seed. The service loads the output through
+ * restaurant.ontology.location (.rdf as RDF/XML, .rt as RDF Thrift, .ttl, ...).
+ *
+ * Usage: SyntheticOntologyGenerator &lt;scale&gt; &lt;output.rdf|.rt&gt; [seed]
+ */
+public class SyntheticOntologyGenerator {
+
+    private static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";
+    private static final String BASE_ONTOLOGY = "RestaurantOntology_03_12_24.rdf"; // classpath resource
+
+    // Share of food type variants keeping their template's nutrition levels
+    private static final double KEEP_NUTRITION = 0.7;
+    // Log-normal spread of synthetic budgets around the template's
+    private static final double BUDGET_SIGMA = 0.3;
+    // Standard deviation of synthetic coordinates around their anchor location (degrees, ~1 km)
+    private static final double LOCATION_SIGMA = 0.01;
+    // Fallback anchor when the base ontology has no coordinates (Phuket Town)
+    private static final double[] DEFAULT_ANCHOR = {7.8804, 98.3923};
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: SyntheticOntologyGenerator <scale> <output.rdf|.rt> [seed]");
+            System.exit(1);
+        }
+        int scale = Integer.parseInt(args[0]);
+        Path output = Paths.get(args[1]);
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        long start = System.currentTimeMillis();
+        Model model = generate(loadBase(), scale, seed);
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        Lang lang = RDFLanguages.filenameToLang(output.toString(), Lang.RDFXML);
+        try (OutputStream out = Files.newOutputStream(output)) {
+            RDFDataMgr.write(out, model, lang);
+        }
+
+        System.out.println("Generated " + scale + "x catalog -> " + output.getFileName() + " (" +
+                           model.listSubjectsWithProperty(RDF.type, model.createResource(NS + "Restaurant")).toList().size() +
+                           " restaurants, " + model.size() + " triples, " + lang.getName() + ") in " +
+                           (System.currentTimeMillis() - start) + " ms");
+    }
+
+    // The bundled ontology from the classpath
+    public static Model loadBase() throws IOException {
+        Model model = ModelFactory.createDefaultModel();
+        try (InputStream in = SyntheticOntologyGenerator.class.getClassLoader().getResourceAsStream(BASE_ONTOLOGY)) {
+            if (in == null) {
+                throw new IOException("Ontology file not found on classpath: " + BASE_ONTOLOGY);
+            }
+            RDFDataMgr.read(model, in, Lang.RDFXML);
+        }
+        return model;
+    }
+
+    // Copy of base with scale times its restaurants, food types and locations (scale 1 = base copy)
+    public static Model generate(Model base, int scale, long seed) {
+        if (scale < 1) {
+            throw new IllegalArgumentException("scale must be >= 1: " + scale);
+        }
+        Model model = ModelFactory.createDefaultModel().add(base);
+        model.setNsPrefixes(base.getNsPrefixMap());
+        Random random = new Random(seed);
+
+        Property restaurantName = model.createProperty(NS + "RestaurantName");
+        Property budget = model.createProperty(NS + "Budget");
+        Property telephone = model.createProperty(NS + "Telephone");
+        Property hasFoodType = model.createProperty(NS + "hasFoodType");
+        Property hasRestaurantType = model.createProperty(NS + "hasRestaurantType");
+        Property hasRestaurantPlace = model.createProperty(NS + "hasRestaurantPlace");
+        Property isRestaurantPlaceOf = model.createProperty(NS + "isRestaurantPlaceOf");
+        Property latitude = model.createProperty(NS + "Latitude");
+        Property longitude = model.createProperty(NS + "Longitude");
+        Property placeName = model.createProperty(NS + "PlaceName");
+        Property[] nutrition = {
+            model.createProperty(NS + "Fat"), model.createProperty(NS + "Protein"), model.createProperty(NS + "Carbohydrates")
+        };
+        Resource restaurantClass = model.createResource(NS + "Restaurant");
+        Resource locationClass = model.createResource(NS + "Location");
+
+        // Observed distributions: originals as templates, food types and restaurant types weighted by use
+        List<Resource> restaurants = new ArrayList<>();
+        List<Resource> servedFoodTypes = new ArrayList<>();
+        List<RDFNode> restaurantTypes = new ArrayList<>();
+        for (Resource restaurant : model.listSubjectsWithProperty(RDF.type, restaurantClass).toList()) {
+            if (!restaurant.isURIResource() || !restaurant.hasProperty(restaurantName)) continue;
+            restaurants.add(restaurant);
+            for (Statement stmt : restaurant.listProperties(hasFoodType).toList()) {
+                if (stmt.getObject().isURIResource()) servedFoodTypes.add(stmt.getResource());
+            }
+            for (Statement stmt : restaurant.listProperties(hasRestaurantType).toList()) {
+                restaurantTypes.add(stmt.getObject());
+            }
+        }
+        if (restaurants.isEmpty()) {
+            throw new IllegalArgumentException("Base ontology has no restaurants");
+        }
+
+        List<Resource> foodTypes = model.listSubjectsWithProperty(nutrition[2]).toList();
+        List<RDFNode[]> nutritionProfiles = new ArrayList<>();
+        for (Resource foodType : foodTypes) {
+            nutritionProfiles.add(levelsOf(foodType, nutrition));
+            if (foodType.isURIResource() && !foodType.hasProperty(RDFS.label)) {
+                foodType.addProperty(RDFS.label, foodType.getLocalName());
+            }
+        }
+
+        List<Resource> anchors = new ArrayList<>();
+        for (Resource location : model.listSubjectsWithProperty(latitude).toList()) {
+            if (location.hasProperty(longitude)) anchors.add(location);
+        }
+
+        // Food type variants, grouped by template
+        Map<Resource, List<Resource>> variants = new HashMap<>();
+        int foodTypeCount = foodTypes.size() * (scale - 1);
+        for (int i = 0; i < foodTypeCount; i++) {
+            Resource template = servedFoodTypes.isEmpty()
+                ? foodTypes.get(random.nextInt(foodTypes.size()))
+                : servedFoodTypes.get(random.nextInt(servedFoodTypes.size()));
+            Resource variant = model.createResource(NS + "Syn" + i + "_" + template.getLocalName());
+            for (Statement type : template.listProperties(RDF.type).toList()) {
+                variant.addProperty(RDF.type, type.getObject());
+            }
+            variant.addProperty(RDFS.label, template.getLocalName());
+            RDFNode[] profile = random.nextDouble() < KEEP_NUTRITION || nutritionProfiles.isEmpty()
+                ? levelsOf(template, nutrition)
+                : nutritionProfiles.get(random.nextInt(nutritionProfiles.size()));
+            for (int n = 0; n < nutrition.length; n++) {
+                if (profile[n] != null) variant.addProperty(nutrition[n], profile[n]);
+            }
+            variants.computeIfAbsent(template, key -> new ArrayList<>()).add(variant);
+        }
+
+        // Restaurants, each with its own location
+        int restaurantCount = restaurants.size() * (scale - 1);
+        for (int i = 0; i < restaurantCount; i++) {
+            Resource template = restaurants.get(random.nextInt(restaurants.size()));
+            String name = template.getProperty(restaurantName).getString() + " " + (i + 1);
+            String localName = "Syn" + i + "_" + template.getLocalName();
+            Resource restaurant = model.createResource(NS + localName);
+
+            for (Statement stmt : template.listProperties().toList()) {
+                Property predicate = stmt.getPredicate();
+                if (predicate.equals(restaurantName) || predicate.equals(budget) || predicate.equals(telephone)
+                        || predicate.equals(hasFoodType) || predicate.equals(hasRestaurantType)
+                        || predicate.equals(hasRestaurantPlace)) continue;
+                restaurant.addProperty(predicate, stmt.getObject());
+            }
+            restaurant.addProperty(restaurantName, name);
+            restaurant.addProperty(telephone, String.valueOf(600000000 + random.nextInt(300000000)));
+            double jitter = Math.exp(random.nextGaussian() * BUDGET_SIGMA);
+            for (Statement stmt : template.listProperties(budget).toList()) {
+                float value = stmt.getObject().isLiteral() ? stmt.getLiteral().getFloat() : 0f;
+                restaurant.addLiteral(budget, Math.max(20f, Math.round(value * jitter / 10f) * 10f));
+            }
+            for (Statement stmt : template.listProperties(hasFoodType).toList()) {
+                if (!stmt.getObject().isURIResource()) continue;
+                List<Resource> options = variants.get(stmt.getResource());
+                restaurant.addProperty(hasFoodType, options == null || options.isEmpty() || random.nextInt(4) == 0
+                    ? stmt.getResource() : options.get(random.nextInt(options.size())));
+            }
+            if (!restaurantTypes.isEmpty()) {
+                restaurant.addProperty(hasRestaurantType, restaurantTypes.get(random.nextInt(restaurantTypes.size())));
+            }
+
+            Resource location = model.createResource(NS + localName + "Location");
+            location.addProperty(RDF.type, locationClass);
+            location.addProperty(RDF.type, OWL2.NamedIndividual);
+            location.addProperty(placeName, name + " Location");
+            double[] anchor = DEFAULT_ANCHOR;
+            if (!anchors.isEmpty()) {
+                Resource anchorLocation = anchors.get(random.nextInt(anchors.size()));
+                for (Statement stmt : anchorLocation.listProperties().toList()) {
+                    String predicate = stmt.getPredicate().getLocalName();
+                    if (stmt.getObject().isLiteral() && ("Province".equals(predicate) || "District".equals(predicate)
+                            || "Subdistrict".equals(predicate))) {
+                        location.addProperty(stmt.getPredicate(), stmt.getObject());
+                    }
+                }
+                anchor = new double[] {
+                    anchorLocation.getProperty(latitude).getDouble(), anchorLocation.getProperty(longitude).getDouble()
+                };
+            }
+            location.addLiteral(latitude, round(anchor[0] + random.nextGaussian() * LOCATION_SIGMA));
+            location.addLiteral(longitude, round(anchor[1] + random.nextGaussian() * LOCATION_SIGMA));
+            location.addProperty(isRestaurantPlaceOf, restaurant);
+            restaurant.addProperty(hasRestaurantPlace, location);
+        }
+        return model;
+    }
+
+    private static RDFNode[] levelsOf(Resource foodType, Property[] nutrition) {
+        RDFNode[] profile = new RDFNode[nutrition.length];
+        for (int n = 0; n < nutrition.length; n++) {
+            Statement level = foodType.getProperty(nutrition[n]);
+            profile[n] = level != null ? level.getObject() : null;
+        }
+        return profile;
+    }
+
+    // Coordinates to 4 decimals (~10 m), like the bundled locations
+    private static double round(double degrees) {
+        return Double.parseDouble(String.format(Locale.ROOT, "%.4f", degrees));
+    }
+}
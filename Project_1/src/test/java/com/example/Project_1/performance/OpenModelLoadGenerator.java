@@ -0,0 +1,161 @@
+package com.example.Project_1.performance;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Open-model (constant arrival rate) HTTP load generator.
+ *
+ * The i-th request is sent at start + i / rate whether or not the earlier ones
+ * have completed, so a slow server builds up a queue instead of slowing the
+ * client down (the closed-model loop in PerformanceTestInitial waits for each
+ * response, which hides queueing: coordinated omission). Latency is measured from
+ * the intended send time, i.e. what a user arriving on schedule sees; the service
+ * time from the actual send is kept separately. Both are HdrHistograms in microseconds.
+ */
+public class OpenModelLoadGenerator {
+
+    // Largest recordable latency; slower responses are clamped to it
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+
+    public OpenModelLoadGenerator(HttpClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Send requests at ratePerSecond for durationSeconds, then wait up to drainSeconds
+     * for the outstanding responses. Those still missing count as failed and are recorded
+     * at the drain deadline, so the slowest requests stay in the latency tail.
+     */
+    public Result run(Supplier<HttpRequest> requests, double ratePerSecond, int durationSeconds, int drainSeconds)
+            throws InterruptedException {
+        int total = (int) Math.max(1, Math.round(ratePerSecond * durationSeconds));
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+
+        Histogram latency = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        AtomicInteger successful = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(total);
+        // Set once per request, by its response or by the drain deadline, whichever comes first
+        AtomicIntegerArray recorded = new AtomicIntegerArray(total);
+        long[] sentTimes = new long[total];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            HttpRequest request = requests.get();
+            long sent = System.nanoTime();
+            sentTimes[i] = sent;
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                long end = System.nanoTime();
+                inFlight.decrementAndGet();
+                if (!recorded.compareAndSet(index, 0, 1)) return;
+                latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - intended) / 1000));
+                serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (end - sent) / 1000));
+                if (error == null && response.statusCode() / 100 == 2) {
+                    successful.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                }
+                completed.countDown();
+            });
+        }
+        if (!completed.await(drainSeconds, TimeUnit.SECONDS)) {
+            long deadline = System.nanoTime();
+            for (int i = 0; i < total; i++) {
+                if (!recorded.compareAndSet(i, 0, 1)) continue;
+                latency.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (deadline - (start + i * intervalNanos)) / 1000));
+                serviceTime.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, (deadline - sentTimes[i]) / 1000));
+                failed.incrementAndGet();
+            }
+        }
+        long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        return new Result(ratePerSecond, total, successful.get(), failed.get(), durationMs,
+                          peakInFlight.get(), latency.copy(), serviceTime.copy());
+    }
+
+    /**
+     * Outcome of one run at a fixed arrival rate
+     */
+    public static class Result {
+        public final double targetRate;
+        public final int totalRequests;
+        public final int successfulRequests;
+        public final int failedRequests;
+        public final long durationMs;
+        public final int peakInFlight;
+        // From the intended send time (coordinated-omission corrected), microseconds
+        public final Histogram latency;
+        // From the actual send time, microseconds
+        public final Histogram serviceTime;
+
+        Result(double targetRate, int totalRequests, int successfulRequests, int failedRequests, long durationMs,
+               int peakInFlight, Histogram latency, Histogram serviceTime) {
+            this.targetRate = targetRate;
+            this.totalRequests = totalRequests;
+            this.successfulRequests = successfulRequests;
+            this.failedRequests = failedRequests;
+            this.durationMs = durationMs;
+            this.peakInFlight = peakInFlight;
+            this.latency = latency;
+            this.serviceTime = serviceTime;
+        }
+
+        /**
+         * Row in the TestResultRecorder CSV format. Response times are the corrected
+         * latencies in ms; Concurrent Requests holds the peak number of requests in flight.
+         */
+        public TestResultRecorder.PerformanceTestResult toPerformanceTestResult(int testCaseNumber, String method) {
+            TestResultRecorder.PerformanceTestResult result = new TestResultRecorder.PerformanceTestResult();
+            result.testCaseNumber = testCaseNumber;
+            result.method = method;
+            result.totalRequests = totalRequests;
+            result.concurrentRequests = peakInFlight;
+            result.durationMs = durationMs;
+            result.successfulRequests = successfulRequests;
+            result.failedRequests = failedRequests;
+            result.throughput = durationMs > 0 ? (successfulRequests * 1000.0) / durationMs : 0.0;
+            boolean empty = latency.getTotalCount() == 0;
+            result.avgResponseTime = empty ? 0.0 : latency.getMean() / 1000.0;
+            result.minResponseTime = empty ? 0.0 : latency.getMinValue() / 1000.0;
+            result.maxResponseTime = empty ? 0.0 : latency.getMaxValue() / 1000.0;
+            result.p95ResponseTime = empty ? 0.0 : latency.getValueAtPercentile(95.0) / 1000.0;
+            result.p99ResponseTime = empty ? 0.0 : latency.getValueAtPercentile(99.0) / 1000.0;
+            result.errorRate = totalRequests > 0 ? (failedRequests * 100.0) / totalRequests : 0.0;
+            return result;
+        }
+
+        // Full corrected latency distribution in ms (HdrHistogram .hgrm percentile format)
+        public void writeDistribution(String filename) throws IOException {
+            try (PrintStream out = new PrintStream(new FileOutputStream(filename))) {
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.Project_1.performance;
+
+import com.example.Project_1.dto.LoginRequest;
+import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance Testing - Open Model
+ * Constant-arrival-rate load against a running server (see OpenModelLoadGenerator),
+ * one latency curve per endpoint across loadtest.rates. Skipped unless
+ * loadtest.baseUrl is set:
+ *
+ *   java -Dtest.mode=true -jar target/Project_1-0.0.1-SNAPSHOT.jar    (rate limiting off)
+ *   mvn test -Dtest=OpenModelLoadTest -Dloadtest.baseUrl=http://localhost:8080 -Dloadtest.rates=10,50,100
+ *
+ * The recommendation mix defeats most of the result cache; start the server with
+ * --restaurant.recommendation-cache.max-entries=0 to measure rule evaluation only.
+ *
+ * Rows go to test-results/performance_test_open_model_*.csv; each step's full
+ * latency distribution goes to an .hgrm file next to it.
+ */
+@EnabledIfSystemProperty(named = "loadtest.baseUrl", matches = ".+")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class OpenModelLoadTest {
+
+    private static final String RESULTS_DIR = "test-results";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static final String BASE_URL = System.getProperty("loadtest.baseUrl", "").replaceAll("/+$", "");
+    private static final String USERNAME = System.getProperty("loadtest.username", "admin");
+    private static final String PASSWORD = System.getProperty("loadtest.password", "admin123");
+    private static final double[] RATES = Arrays.stream(System.getProperty("loadtest.rates", "10,25,50,100").split(","))
+        .map(String::trim).mapToDouble(Double::parseDouble).toArray();
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 30);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmupSeconds", 5);
+    private static final int DRAIN_SECONDS = Integer.getInteger("loadtest.drainSeconds", 30);
+    // Label of the server's catalog (e.g. 100x for a SyntheticOntologyGenerator catalog), appended to method names
+    private static final String CATALOG = System.getProperty("loadtest.catalog", "");
+
+    // Recommendation mix: runner type x pre/post-run nutrition x restaurant types x cuisines x budget is
+    // ~470k profiles drawn at random, so the server's 1000-entry per-profile result cache rarely hits.
+    // "Fun run" and Medium levels are what rule.rules matches on, so most requests reach the rules.
+    private static final String[] RUNNER_TYPES = {"Fun run", "Fun run", "Half Marathon", "Marathon", "Ultra Marathon"};
+    private static final String[] NUTRITION_LEVELS = {"Medium", "Medium", "Low", "High"};
+    private static final List<List<String>> RESTAURANT_TYPES = List.of(
+        List.of(), List.of("Fast Dining"), List.of("Casual Dining"), List.of("Fast Dining", "Casual Dining"));
+    private static final float[] BUDGET_LEVELS = {200.0f, 500.0f, 1000.0f, 2000.0f};
+    private static final String[] CUISINES = {"Japanese", "Thai", "Noodles", "Steak"};
+
+    private static final List<TestResultRecorder.PerformanceTestResult> testResults = new ArrayList<>();
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String timestamp = LocalDateTime.now().format(DATE_FORMAT);
+
+    private static HttpClient client;
+    private static OpenModelLoadGenerator generator;
+    private static String token;
+    private static List<String> restaurantIds;
+    private static int testCaseNumber = 1;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        System.out.println("=".repeat(80));
+        System.out.println("PERFORMANCE TESTING - OPEN MODEL against " + BASE_URL);
+        System.out.println("Rates: " + Arrays.toString(RATES) + " req/s, " + DURATION_SECONDS + " s each" +
+                           (CATALOG.isEmpty() ? "" : ", catalog " + CATALOG));
+        System.out.println("=".repeat(80));
+
+        client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        generator = new OpenModelLoadGenerator(client);
+
+        // JWT login
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(new LoginRequest(USERNAME, PASSWORD))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, login.statusCode(), "Login failed: " + login.body());
+        token = mapper.readTree(login.body()).path("token").asText();
+        assertFalse(token.isEmpty(), "No token in login response");
+
+        // Restaurant ids for the detail endpoint
+        HttpResponse<String> all = client.send(HttpRequest.newBuilder(URI.create(BASE_URL + "/api/restaurants/all?limit=0")).build(),
+                                               HttpResponse.BodyHandlers.ofString());
+        restaurantIds = new ArrayList<>();
+        for (JsonNode restaurant : mapper.readTree(all.body()).path("data")) {
+            restaurantIds.add(restaurant.path("restaurantId").asText());
+        }
+        assertFalse(restaurantIds.isEmpty(), "No restaurants returned by /api/restaurants/all");
+    }
+
+    @Test
+    @Order(1)
+    @DisplayName("Open Model: POST /recommendations")
+    void recommendations_OpenModel() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        Random random = new Random(42); // only called from the sending thread
+        runCurve("recommendations", () -> {
+            int i = next.getAndIncrement();
+            RestaurantRecommendationRequest request = new RestaurantRecommendationRequest();
+            request.setUserId("loadtest_" + (i % 100));
+            request.setRunnerType(RUNNER_TYPES[random.nextInt(RUNNER_TYPES.length)]);
+            request.setMaxBudget(BUDGET_LEVELS[random.nextInt(BUDGET_LEVELS.length)]);
+            request.setPreferredCuisines(Arrays.asList(CUISINES[random.nextInt(CUISINES.length)],
+                                                       CUISINES[random.nextInt(CUISINES.length)]));
+            request.setPreferredRestaurantTypes(RESTAURANT_TYPES.get(random.nextInt(RESTAURANT_TYPES.size())));
+            request.setPreRunNutrition(new RestaurantRecommendationRequest.NutritionPreference(
+                level(random), level(random), level(random)));
+            request.setPostRunNutrition(new RestaurantRecommendationRequest.NutritionPreference(
+                level(random), level(random), level(random)));
+            try {
+                return authorized("/api/restaurants/recommendations")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(request)))
+                    .build();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    @Test
+    @Order(2)
+    @DisplayName("Open Model: GET /search/advanced")
+    void searchAdvanced_OpenModel() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        runCurve("search_advanced", () -> {
+            int i = next.getAndIncrement();
+            return authorized("/api/restaurants/search/advanced?cuisineType=" + CUISINES[i % CUISINES.length] +
+                              "&maxBudget=" + (int) BUDGET_LEVELS[(i / CUISINES.length) % BUDGET_LEVELS.length] +
+                              "&sortBy=budget&limit=20")
+                .GET().build();
+        });
+    }
+
+    @Test
+    @Order(3)
+    @DisplayName("Open Model: GET /{id}")
+    void restaurantById_OpenModel() throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        runCurve("restaurant_by_id", () -> {
+            String id = restaurantIds.get(next.getAndIncrement() % restaurantIds.size());
+            return authorized("/api/restaurants/" + URLEncoder.encode(id, StandardCharsets.UTF_8)).GET().build();
+        });
+    }
+
+    // One warm-up run, then one measured step per arrival rate
+    private void runCurve(String endpoint, Supplier<HttpRequest> requests) throws Exception {
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("TESTING " + endpoint.toUpperCase());
+        System.out.println("=".repeat(80));
+
+        if (WARMUP_SECONDS > 0) {
+            generator.run(requests, RATES[0], WARMUP_SECONDS, DRAIN_SECONDS);
+        }
+        for (double rate : RATES) {
+            OpenModelLoadGenerator.Result run = generator.run(requests, rate, DURATION_SECONDS, DRAIN_SECONDS);
+            String method = endpoint + "@" + formatRate(rate) + "rps" + (CATALOG.isEmpty() ? "" : "@" + CATALOG);
+            TestResultRecorder.PerformanceTestResult result = run.toPerformanceTestResult(testCaseNumber++, method);
+            testResults.add(result);
+
+            Files.createDirectories(Paths.get(RESULTS_DIR));
+            run.writeDistribution(RESULTS_DIR + "/open_model_" + method.replace('@', '_') + "_" + timestamp + ".hgrm");
+            System.out.printf(
+                "Test Case #%d | %s | Sent: %d | Success: %d | Failed: %d | Peak in flight: %d | " +
+                "Throughput: %.2f req/s | Avg: %.2f ms | P95: %.2f ms | P99: %.2f ms | Max: %.2f ms | " +
+                "Service P99: %.2f ms%n",
+                result.testCaseNumber, method, result.totalRequests, result.successfulRequests,
+                result.failedRequests, run.peakInFlight, result.throughput, result.avgResponseTime,
+                result.p95ResponseTime, result.p99ResponseTime, result.maxResponseTime,
+                run.serviceTime.getValueAtPercentile(99.0) / 1000.0
+            );
+        }
+    }
+
+    private static HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(BASE_URL + path))
+            .timeout(Duration.ofSeconds(DRAIN_SECONDS))
+            .header("Authorization", "Bearer " + token);
+    }
+
+    private static String level(Random random) {
+        return NUTRITION_LEVELS[random.nextInt(NUTRITION_LEVELS.length)];
+    }
+
+    private static String formatRate(double rate) {
+        return rate == Math.rint(rate) ? String.valueOf((long) rate) : String.valueOf(rate);
+    }
+
+    @AfterAll
+    static void generateReport() {
+        if (testResults.isEmpty()) return;
+
+        System.out.println("\n" + "=".repeat(80));
+        System.out.println("RECORDING RESULTS...");
+        System.out.println("=".repeat(80));
+
+        TestResultRecorder.recordPerformanceTest("open_model", testResults);
+        TestResultRecorder.generateSummaryReport("open_model", testResults);
+
+        System.out.println("=".repeat(80));
+        System.out.println("PERFORMANCE TESTING (OPEN MODEL) COMPLETED");
+        System.out.println("Results saved to: test-results/performance_test_open_model_*.csv");
+        System.out.println("=".repeat(80));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.Project_1.service;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.reasoner.rulesys.Rule;
+
+// Shared by CompiledRuleSetTest and RecommendationTableTest: one medium-fat noodle shop
+// and the Fun run rule both suites compile
+final class CompiledRuleFixtures {
+
+    static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";
+    static final String PREFIX = "@prefix re: <" + NS + "> .\n";
+    static final String FUN_RUN_RULE =
+            "[Jena1: (?Restaurant re:hasFoodType ?FoodType) (?FoodType re:Fat \"Medium\") " +
+            "(?User re:RunnerType \"Fun run\") (?User re:PreRunProteinConsumtion \"Medium\") -> " +
+            "(?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence \"95\") ]\n";
+
+    private CompiledRuleFixtures() {}
+
+    // Rules (with the re: prefix) pre-evaluated against the noodle shop catalog and compiled
+    static CompiledRuleSet compile(String rules) {
+        Model catalog = ModelFactory.createDefaultModel();
+        Resource mediumFat = catalog.createResource(NS + "Noodle_Type").addProperty(catalog.createProperty(NS + "Fat"), "Medium");
+        catalog.createResource(NS + "NoodleShop").addProperty(catalog.createProperty(NS + "hasFoodType"), mediumFat);
+
+        RulePartialEvaluator evaluator = RulePartialEvaluator.build(Rule.parseRules(rules), catalog.getGraph(), 1L,
+                NodeFactory.createURI(NS + "hasRecommend"), NodeFactory.createURI(NS + "confidence"));
+        return CompiledRuleSet.compile(evaluator, NS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.Project_1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.Project_1.service.CompiledRuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledRuleSetTest {
+
+    private static final String RULES = PREFIX + FUN_RUN_RULE +
+            "[Jena6: (?Restaurant re:hasFoodType ?FoodType) (?FoodType re:Fat \"Medium\") " +
+            "(?User re:hasRestaurantTypeInterest re:Fast_Dining_Type) -> " +
+            "(?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence \"100\") ]\n";
+
+    private CompiledRuleSet compiled;
+
+    @BeforeEach
+    void setUp() {
+        compiled = compile(RULES);
+    }
+
+    private RecommendationProfile profile(String runnerType, String preRunProtein, List<String> restaurantTypes) {
+        return new RecommendationProfile(runnerType, "Medium", "Medium", preRunProtein,
+                "Medium", "Medium", "Medium", restaurantTypes, List.of(), 500f);
+    }
+
+    @Test
+    void compile_AllUserConditionsMapToProfileFields() {
+        assertTrue(compiled.isComplete());
+        assertEquals(2, compiled.size());
+    }
+
+    @Test
+    void evaluate_LiteralConditions() {
+        List<RulePartialEvaluator.Recommendation> result = compiled.evaluate(profile("Fun run", "Medium", List.of()));
+
+        assertEquals(1, result.size());
+        assertEquals(NS + "NoodleShop", result.get(0).getRestaurantUri());
+        assertEquals(95f, result.get(0).getConfidence());
+        assertEquals(List.of("Jena1"), result.get(0).getRuleNames());
+    }
+
+    @Test
+    void evaluate_InterestConditionsAndHighestConfidence() {
+        List<RulePartialEvaluator.Recommendation> result =
+                compiled.evaluate(profile("Fun run", "Medium", List.of("Fast_Dining_Type")));
+
+        assertEquals(1, result.size());
+        assertEquals(100f, result.get(0).getConfidence());
+        assertEquals(List.of("Jena1", "Jena6"), result.get(0).getRuleNames());
+    }
+
+    @Test
+    void evaluate_NoMatch() {
+        assertTrue(compiled.evaluate(profile("Marathon", "High", List.of())).isEmpty());
+    }
+
+    @Test
+    void profile_IgnoresInterestOrder() {
+        RecommendationProfile a = new RecommendationProfile("Marathon", "Low", "Low", "Low", "Low", "Low", "Low",
+                List.of("Fast_Dining_Type", "Casual_Dining_Type"), List.of("Thai_Type", "Japanese_Type"), 300f);
+        RecommendationProfile b = new RecommendationProfile("Marathon", "Low", "Low", "Low", "Low", "Low", "Low",
+                List.of("Casual_Dining_Type", "Fast_Dining_Type"), List.of("Japanese_Type", "Thai_Type"), 300f);
+
+        assertEquals(a, b);
+        assertEquals(a.hashCode(), b.hashCode());
+    }
+}
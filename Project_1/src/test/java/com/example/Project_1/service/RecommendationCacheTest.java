@@ -0,0 +1,53 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationCacheTest {
+
+    private RecommendationProfile profile(String runnerType) {
+        return new RecommendationProfile(runnerType, "Medium", "Medium", "Medium", "Medium", "Medium", "Medium",
+                List.of(), List.of(), 500f);
+    }
+
+    @Test
+    void get_HitReturnsCopies() {
+        RecommendationCache cache = new RecommendationCache(10, 60_000);
+        cache.put(profile("Marathon"), 1L, List.of(new Restaurant("r1", "Noodle Shop", "Noodles", 120f)));
+
+        List<Restaurant> first = cache.get(profile("Marathon"), 1L);
+        first.get(0).setMatchScore(42f);
+        List<Restaurant> second = cache.get(profile("Marathon"), 1L);
+
+        assertEquals(1, second.size());
+        assertEquals(0f, second.get(0).getMatchScore());
+        assertEquals(2L, cache.getStats().get("hits"));
+    }
+
+    @Test
+    void get_NewCatalogVersionInvalidates() {
+        RecommendationCache cache = new RecommendationCache(10, 60_000);
+        cache.put(profile("Marathon"), 1L, List.of());
+
+        assertNull(cache.get(profile("Marathon"), 2L));
+        assertEquals(0, cache.getStats().get("size"));
+        assertEquals(1L, cache.getStats().get("invalidations"));
+    }
+
+    @Test
+    void put_EvictsLeastRecentlyUsed() {
+        RecommendationCache cache = new RecommendationCache(2, 60_000);
+        cache.put(profile("Marathon"), 1L, List.of());
+        cache.put(profile("Fun run"), 1L, List.of());
+        cache.get(profile("Marathon"), 1L);
+        cache.put(profile("Half marathon"), 1L, List.of());
+
+        assertNotNull(cache.get(profile("Marathon"), 1L));
+        assertNull(cache.get(profile("Fun run"), 1L));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+}
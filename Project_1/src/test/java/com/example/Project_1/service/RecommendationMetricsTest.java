@@ -0,0 +1,54 @@
+package com.example.Project_1.service;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RecommendationMetrics metrics = new RecommendationMetrics(registry);
+
+    @Test
+    void record_TimerPerStrategyAndStage() {
+        metrics.recordNanos("Remove", RecommendationMetrics.Stage.SPARQL, 2_000_000);
+        metrics.recordNanos("Remove", RecommendationMetrics.Stage.SPARQL, 4_000_000);
+        metrics.recordNanos("RemoveImproved", RecommendationMetrics.Stage.SPARQL, 1_000_000);
+        metrics.record("Remove", RecommendationMetrics.Stage.CONVERT, System.nanoTime());
+
+        Timer remove = registry.get(RecommendationMetrics.STAGE_TIMER)
+                .tags("strategy", "Remove", "stage", "sparql").timer();
+        assertEquals(2, remove.count());
+        assertEquals(6.0, remove.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(1, registry.get(RecommendationMetrics.STAGE_TIMER)
+                .tags("strategy", "RemoveImproved", "stage", "sparql").timer().count());
+        assertEquals(1, registry.get(RecommendationMetrics.STAGE_TIMER)
+                .tags("strategy", "Remove", "stage", "convert").timer().count());
+        assertNull(registry.find(RecommendationMetrics.STAGE_TIMER).tags("stage", "reasoner").timer());
+    }
+
+    @Test
+    void recordRequest_SeparateEndToEndTimer() {
+        metrics.recordRequest(RecommendationMetrics.DEFAULT_STRATEGY, System.nanoTime());
+
+        assertEquals(1, registry.get(RecommendationMetrics.RECOMMENDATION_TIMER)
+                .tags("strategy", RecommendationMetrics.DEFAULT_STRATEGY).timer().count());
+        assertNull(registry.find(RecommendationMetrics.STAGE_TIMER).timer());
+    }
+
+    @Test
+    void ruleHit_CountsPerRule() {
+        metrics.ruleHit("Rule1");
+        metrics.ruleHit("Rule1");
+        metrics.ruleHit("Rule7");
+        metrics.ruleHit(null);
+
+        assertEquals(2.0, registry.get(RecommendationMetrics.RULE_HITS).tags("rule", "Rule1").counter().count());
+        assertEquals(1.0, registry.get(RecommendationMetrics.RULE_HITS).tags("rule", "Rule7").counter().count());
+        assertEquals(2, registry.find(RecommendationMetrics.RULE_HITS).counters().size());
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.Project_1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.Project_1.service.CompiledRuleFixtures.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationTableTest {
+
+    private static final String RULES = PREFIX + FUN_RUN_RULE +
+            "[Jena6: (?Restaurant re:hasFoodType ?FoodType) (?FoodType re:Fat \"Medium\") " +
+            "(?User re:PreRunProteinConsumtion \"High\") (?User re:hasRestaurantTypeInterest re:Fast_Dining_Type) -> " +
+            "(?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence \"100\") ]\n";
+
+    private CompiledRuleSet compiled;
+    private RecommendationTable table;
+
+    @BeforeEach
+    void setUp() {
+        compiled = compile(RULES);
+        table = RecommendationTable.build(compiled);
+    }
+
+    @Test
+    void build_EnumeratesRuleRelevantSpace() {
+        assertNotNull(table);
+        // RunnerType {none, Fun run} x PreRunProtein {none, High, Medium} x Fast_Dining_Type {no, yes}
+        assertEquals(2 * 3 * 2, table.size());
+        assertEquals(3, table.distinctResults());
+    }
+
+    @Test
+    void lookup_MatchesCompiledRulesForEveryProfile() {
+        for (String runner : new String[] {"Fun run", "Marathon", null}) {
+            for (String protein : new String[] {"Low", "Medium", "High", null}) {
+                for (List<String> types : List.of(List.<String>of(), List.of("Fast_Dining_Type"), List.of("Casual_Dining_Type"))) {
+                    RecommendationProfile profile = new RecommendationProfile(runner, "Low", "Low", protein,
+                            "Low", "Low", "Low", types, List.of("Thai_Type"), 250f);
+
+                    List<RulePartialEvaluator.Recommendation> expected = compiled.evaluate(profile);
+                    List<RulePartialEvaluator.Recommendation> actual = table.lookup(profile);
+
+                    assertEquals(expected.size(), actual.size(), profile.toString());
+                    for (int i = 0; i < expected.size(); i++) {
+                        assertEquals(expected.get(i).getRestaurantUri(), actual.get(i).getRestaurantUri());
+                        assertEquals(expected.get(i).getConfidence(), actual.get(i).getConfidence());
+                        assertEquals(expected.get(i).getRuleNames(), actual.get(i).getRuleNames());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantBudgetIndexTest {
+
+    // Catalog order: 0:200, 1:100, 2:300, 3:100, 4:150
+    private final RestaurantBudgetIndex index = new RestaurantBudgetIndex(List.of(
+            new Restaurant("r0", "A", "Thai", 200f),
+            new Restaurant("r1", "B", "Thai", 100f),
+            new Restaurant("r2", "C", "Thai", 300f),
+            new Restaurant("r3", "D", "Thai", 100f),
+            new Restaurant("r4", "E", "Thai", 150f)));
+
+    @Test
+    void page_RangeIsInclusiveAndSortedAscending() {
+        assertEquals(4, index.count(100f, 200f));
+        assertArrayEquals(new int[] {1, 3, 4, 0}, index.page(100f, 200f, true, 0, 0));
+    }
+
+    @Test
+    void page_NonPositiveBoundsAreOpen() {
+        assertEquals(5, index.count(0f, 0f));
+        assertArrayEquals(new int[] {4, 0, 2}, index.page(150f, 0f, true, 0, 0));
+    }
+
+    @Test
+    void page_DescendingKeepsCatalogOrderForTies() {
+        assertArrayEquals(new int[] {2, 0, 4, 1, 3}, index.page(0f, 0f, false, 0, 0));
+        assertArrayEquals(new int[] {1, 3}, index.page(0f, 0f, false, 3, 2));
+    }
+
+    @Test
+    void page_CursorPastEndIsEmpty() {
+        assertArrayEquals(new int[] {3}, index.page(0f, 0f, true, 1, 1));
+        assertEquals(0, index.page(0f, 0f, true, 10, 5).length);
+    }
+}
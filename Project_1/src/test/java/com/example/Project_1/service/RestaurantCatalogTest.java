@@ -0,0 +1,35 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantCatalogTest {
+
+    private static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";
+    private static final String OTHER_NS = "http://www.semanticweb.org/acer/ontologies/2567/8/j.0#";
+
+    private final RestaurantCatalog catalog = new RestaurantCatalog(1L, ModelFactory.createDefaultModel(),
+            List.of(new Restaurant(NS + "Noodle_Shop", "Noodle Shop", "Noodles", 120f)),
+            List.of(new Restaurant(OTHER_NS + "Noodle_Shop", "Noodle Shop (old)", "Noodles", 90f),
+                    new Restaurant(OTHER_NS + "Burger_Bar", "Burger Bar", "Burger", 150f)));
+
+    @Test
+    void findRestaurant_ByUriAndLocalName() {
+        assertEquals("Noodle Shop", catalog.findRestaurant(NS + "Noodle_Shop").getRestaurantName());
+        assertEquals("Noodle Shop (old)", catalog.findRestaurant(OTHER_NS + "Noodle_Shop").getRestaurantName());
+        assertEquals("Noodle Shop", catalog.findRestaurant("Noodle_Shop").getRestaurantName());
+        assertEquals("Burger Bar", catalog.findRestaurant("#Burger_Bar").getRestaurantName());
+        assertNull(catalog.findRestaurant("Pizza_Place"));
+    }
+
+    @Test
+    void getRestaurants_ExcludesOtherNamespaces() {
+        assertEquals(1, catalog.size());
+        assertEquals(1, catalog.getFacets().size());
+    }
+}
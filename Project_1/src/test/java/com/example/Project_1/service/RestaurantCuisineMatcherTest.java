@@ -0,0 +1,80 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantCuisineMatcherTest {
+
+    private final List<Restaurant> restaurants = List.of(
+            new Restaurant("r1", "Ramen House", "Ramen Type", 150f),
+            new Restaurant("r2", "Sushi Bar", "Sushi Type", 400f),
+            new Restaurant("r3", "Shabu Place", "Shabu Sukiyaki Type", 300f),
+            new Restaurant("r4", "Green Table", "Vegatarian Jay Type", 90f),
+            new Restaurant("r5", "Thai Corner", "Thai Type", 80f));
+
+    private RestaurantCuisineMatcher matcher(Map<String, Set<String>> aliases) {
+        return new RestaurantCuisineMatcher(restaurants, aliases, RestaurantCuisineMatcher.defaultRules());
+    }
+
+    @Test
+    void cuisineIds_ContainmentAndSynonymRules() {
+        RestaurantCuisineMatcher matcher = matcher(Map.of());
+
+        assertTrue(matcher.matchesAny(List.of("Japanese"), "Ramen Type"));
+        assertTrue(matcher.matchesAny(List.of(" japanese "), "Sushi Type"));
+        assertFalse(matcher.matchesAny(List.of("japanese"), "Thai Type"));
+        assertTrue(matcher.matchesAny(List.of("shabusukiyaki"), "Shabu Sukiyaki Type"));
+        assertTrue(matcher.matchesAny(List.of("ramen type"), "Ramen Type"));
+        assertEquals(5, matcher.size());
+    }
+
+    @Test
+    void cuisineIds_OntologyAliases() {
+        RestaurantCuisineMatcher withoutAliases = matcher(Map.of());
+        RestaurantCuisineMatcher withAliases = matcher(Map.of("Vegatarian Jay Type", Set.of("Vegatarian_Jay_Type", "VegatarianJay")));
+
+        assertFalse(withoutAliases.matchesAny(List.of("vegatarianjay"), "Vegatarian Jay Type"));
+        assertTrue(withAliases.matchesAny(List.of("vegatarianjay"), "Vegatarian Jay Type"));
+        assertTrue(withAliases.matchesAny(List.of("Vegatarian Jay"), "Vegatarian Jay Type"));
+    }
+
+    @Test
+    void cuisineIds_UnknownTermsAndLabels() {
+        RestaurantCuisineMatcher matcher = matcher(Map.of());
+
+        assertTrue(matcher.cuisineIds("pizza").isEmpty());
+        assertSame(matcher.cuisineIds("tha"), matcher.cuisineIds("THA"));
+        assertTrue(matcher.matchesAny(List.of("tha"), "Thai Type"));
+        assertFalse(matcher.matchesAny(List.of("thai"), "Pizza Type"));
+        assertEquals(-1, matcher.idOf(null));
+    }
+
+    @Test
+    void aliasForms_SplitsCamelCaseAndUnderscores() {
+        assertEquals(Set.of("shabu sukiyaki", "shabusukiyaki"), RestaurantCuisineMatcher.aliasForms("Shabu_Sukiyaki_Type"));
+        assertEquals(Set.of("bubble milk tea", "bubblemilktea"), RestaurantCuisineMatcher.aliasForms("BubbleMilkTea"));
+        assertEquals(Set.of("ramen"), RestaurantCuisineMatcher.aliasForms("Ramen"));
+        assertTrue(RestaurantCuisineMatcher.aliasForms("Type").isEmpty());
+    }
+
+    @Test
+    void parseRules_RejectsMalformedLines() throws IOException {
+        List<RestaurantCuisineMatcher.SynonymRule> rules = RestaurantCuisineMatcher.parseRules(
+                new BufferedReader(new StringReader("# comment\n\nkhao soi, khaosoi => noodle # northern\n")));
+        assertEquals(1, rules.size());
+
+        assertThrows(IOException.class, () -> RestaurantCuisineMatcher.parseRules(
+                new BufferedReader(new StringReader("japanese ramen\n"))));
+        assertThrows(IOException.class, () -> RestaurantCuisineMatcher.parseRules(
+                new BufferedReader(new StringReader("japanese =>\n"))));
+    }
+}
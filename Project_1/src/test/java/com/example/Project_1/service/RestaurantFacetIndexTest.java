@@ -0,0 +1,65 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantFacetIndexTest {
+
+    private Restaurant restaurant(String id, String cuisine, String carbLevel) {
+        Restaurant restaurant = new Restaurant(id, id, cuisine, 100f);
+        if (carbLevel != null) {
+            restaurant.setNutritionProfile(new Restaurant.NutritionProfile(carbLevel, "Low", "Low"));
+        }
+        return restaurant;
+    }
+
+    @Test
+    void match_UnionOfAcceptedValues() {
+        List<Restaurant> restaurants = List.of(
+                restaurant("r1", "Ramen", "High"),
+                restaurant("r2", "Sushi", "Low"),
+                restaurant("r3", "Thai", "High"));
+        RestaurantFacetIndex index = new RestaurantFacetIndex(restaurants);
+        RestaurantCuisineMatcher matcher = new RestaurantCuisineMatcher(restaurants, Map.of(),
+                RestaurantCuisineMatcher.defaultRules());
+
+        BitSet japaneseIds = matcher.cuisineIds("japanese");
+        BitSet japanese = index.match(RestaurantFacetIndex.Facet.CUISINE, value -> matcher.matches(japaneseIds, value));
+
+        assertEquals(BitSet.valueOf(new long[] {0b011}), japanese);
+        assertEquals(2, index.postings(RestaurantFacetIndex.Facet.CARB).size());
+    }
+
+    @Test
+    void match_NoNutritionProfileNeverMatches() {
+        RestaurantFacetIndex index = new RestaurantFacetIndex(List.of(
+                restaurant("r1", "Thai", "High"),
+                restaurant("r2", "Thai", null)));
+
+        BitSet high = index.all();
+        high.and(index.match(RestaurantFacetIndex.Facet.CARB, value -> value.equalsIgnoreCase("high")));
+
+        assertEquals(1, high.cardinality());
+        assertTrue(high.get(0));
+    }
+
+    @Test
+    void counts_PerValueWithinMatchesAndBudgetBucketsInPriceOrder() {
+        RestaurantFacetIndex index = new RestaurantFacetIndex(List.of(
+                new Restaurant("r1", "A", "Thai", 1500f),
+                new Restaurant("r2", "B", "Thai", 50f),
+                new Restaurant("r3", "C", "Sushi", 150f)));
+        BitSet matches = index.all();
+        matches.clear(2);
+
+        assertEquals(Map.of("Thai", 2), index.counts(RestaurantFacetIndex.Facet.CUISINE, matches));
+        assertEquals(List.of("0-100", "100-200", "1000+"),
+                List.copyOf(index.counts(RestaurantFacetIndex.Facet.BUDGET_RANGE, index.all()).keySet()));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantGeoIndexTest {
+
+    private Restaurant at(String id, Double lat, Double lon) {
+        Restaurant restaurant = new Restaurant(id, id, "Thai", 100f);
+        restaurant.setLatitude(lat);
+        restaurant.setLongitude(lon);
+        return restaurant;
+    }
+
+    @Test
+    void nearby_SortedByDistanceWithinRadius() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex(List.of(
+                at("far", 13.80, 100.60),      // ~15 km
+                at("near", 13.7470, 100.5350), // ~0.3 km
+                at("none", null, null),
+                at("mid", 13.7650, 100.5380))); // ~2 km
+
+        List<RestaurantGeoIndex.Hit> hits = index.nearby(13.7460, 100.5330, 5, 0);
+
+        assertEquals(3, index.size());
+        assertEquals(2, hits.size());
+        assertEquals(1, hits.get(0).getOrdinal());
+        assertEquals(3, hits.get(1).getOrdinal());
+        assertTrue(hits.get(0).getDistanceKm() < hits.get(1).getDistanceKm());
+    }
+
+    @Test
+    void nearby_RespectsLimitAndAntimeridian() {
+        RestaurantGeoIndex index = new RestaurantGeoIndex(List.of(
+                at("east", 0.0, 179.99),
+                at("west", 0.0, -179.99)));
+
+        assertEquals(2, index.nearby(0.0, 180.0, 5, 0).size());
+        assertEquals(1, index.nearby(0.0, 180.0, 5, 1).size());
+    }
+
+    @Test
+    void haversineKm_OneDegreeOfLatitude() {
+        assertEquals(111.2, RestaurantGeoIndex.haversineKm(0, 0, 1, 0), 0.1);
+    }
+}
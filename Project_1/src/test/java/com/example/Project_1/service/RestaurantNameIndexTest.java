@@ -0,0 +1,44 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantNameIndexTest {
+
+    private final RestaurantNameIndex index = new RestaurantNameIndex(List.of(
+            new Restaurant("r1", "Baan-Rim Pa", "Thai", 900f),
+            new Restaurant("r2", "Noodle Shop", "Noodles", 120f),
+            new Restaurant("r3", "Kan Eang @ Pier", "Seafood", 600f)));
+
+    @Test
+    void search_FindsWordsAndNamesWithinDistance() {
+        assertEquals(Set.of("Noodle Shop"), index.search("noodel", 2));
+        assertEquals(Set.of("Baan-Rim Pa"), index.search("Ban Rim Pa", 1));
+    }
+
+    @Test
+    void search_RespectsMaxDistance() {
+        assertTrue(index.search("noodel", 1).isEmpty());
+        assertTrue(index.search("burger", 2).isEmpty());
+    }
+
+    @Test
+    void containing_MatchesSubstringsEitherWay() {
+        assertEquals(Set.of("Noodle Shop"), index.containing("oodle"));
+        assertEquals(Set.of("Noodle Shop"), index.containing("noodle shop near the pier"));
+        assertEquals(Set.of("Baan-Rim Pa", "Noodle Shop", "Kan Eang @ Pier"), index.containing("p"));
+        assertTrue(index.containing("burger").isEmpty());
+    }
+
+    @Test
+    void normalize_StripsPunctuationAndAccents() {
+        assertEquals("baan rim pa", RestaurantNameIndex.normalize("  Baan-Rim  Pa! "));
+        assertEquals("cafe", RestaurantNameIndex.normalize("Café"));
+        assertEquals(2, RestaurantNameIndex.levenshtein("noodel", "noodle"));
+    }
+}
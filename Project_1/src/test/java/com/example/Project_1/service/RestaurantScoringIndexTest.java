@@ -0,0 +1,81 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.dto.RestaurantRecommendationRequest;
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantScoringIndexTest {
+
+    private Restaurant restaurant(String id, String cuisine, String type, float budget, String carbLevel) {
+        Restaurant restaurant = new Restaurant(id, id, cuisine, budget);
+        restaurant.setRestaurantType(type);
+        if (carbLevel != null) {
+            restaurant.setNutritionProfile(new Restaurant.NutritionProfile(carbLevel, "Low", "Medium"));
+        }
+        return restaurant;
+    }
+
+    private final List<Restaurant> restaurants = List.of(
+            restaurant("r0", "Ramen Type", "Casual Dining", 100f, "High"),
+            restaurant("r1", "Thai Type", "Fast Dining", 300f, "Low"),
+            restaurant("r2", "Sushi Type", "Fine Dining", 150f, null),
+            restaurant("r3", "Pizza Type", "Casual Dining", 100f, "high"));
+
+    private final RestaurantScoringIndex index = new RestaurantScoringIndex(restaurants,
+            new RestaurantCuisineMatcher(restaurants, Map.of(), RestaurantCuisineMatcher.defaultRules()));
+
+    private RestaurantRecommendationRequest request() {
+        RestaurantRecommendationRequest request = new RestaurantRecommendationRequest();
+        request.setMaxBudget(200f);
+        request.setPreferredCuisines(List.of("japanese"));
+        request.setPreferredRestaurantTypes(List.of("casual dining"));
+        request.setPreRunNutrition(new RestaurantRecommendationRequest.NutritionPreference("HIGH", "Low", "High"));
+        return request;
+    }
+
+    @Test
+    void scores_AddsComponentPoints() {
+        float[] scores = index.scores(request());
+
+        // budget 50+20, cuisine 30, type 20, carb 15 + fat 15
+        assertEquals(150f, scores[0]);
+        // over budget, no cuisine or type, fat 15
+        assertEquals(15f, scores[1]);
+        // budget 50 (75% of max), cuisine 30, no nutrition profile
+        assertEquals(80f, scores[2]);
+        // budget 70, type 20, carb 15 (case-insensitive) + fat 15
+        assertEquals(120f, scores[3]);
+    }
+
+    @Test
+    void top_BestFirstWithinCandidates() {
+        List<RestaurantScoringIndex.Hit> top = index.top(request(), null, 2);
+        assertEquals(2, top.size());
+        assertEquals(0, top.get(0).getOrdinal());
+        assertEquals(3, top.get(1).getOrdinal());
+
+        BitSet candidates = new BitSet();
+        candidates.set(1, 3);
+        top = index.top(request(), candidates, 5);
+        assertEquals(2, top.size());
+        assertEquals(2, top.get(0).getOrdinal());
+        assertEquals(1, top.get(1).getOrdinal());
+    }
+
+    @Test
+    void top_TiesKeepCatalogOrder() {
+        RestaurantRecommendationRequest request = new RestaurantRecommendationRequest();
+        request.setMaxBudget(200f);
+
+        // r0 and r3 both 70, then r2 50, then r1 0
+        List<RestaurantScoringIndex.Hit> top = index.top(request, null, 4);
+        assertEquals(List.of(0, 3, 2, 1), top.stream().map(RestaurantScoringIndex.Hit::getOrdinal).toList());
+        assertTrue(index.top(request, null, 0).isEmpty());
+    }
+}
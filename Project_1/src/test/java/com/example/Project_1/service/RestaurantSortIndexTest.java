@@ -0,0 +1,45 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantSortIndexTest {
+
+    private final RestaurantSortIndex index = new RestaurantSortIndex(List.of(
+            new Restaurant("r0", "banana", "Thai", 200f),
+            new Restaurant("r1", "Apple", "Sushi", 100f),
+            new Restaurant("r2", "cherry", "thai", 300f),
+            new Restaurant("r3", "apple", "Ramen", 150f)));
+
+    private BitSet all() {
+        BitSet bits = new BitSet();
+        bits.set(0, 4);
+        return bits;
+    }
+
+    @Test
+    void page_SortsCaseInsensitivelyAndKeepsTiesInCatalogOrder() {
+        assertArrayEquals(new int[] {1, 3, 0, 2}, index.page(all(), "name", "asc", 0, 0));
+        assertArrayEquals(new int[] {2, 0, 1, 3}, index.page(all(), "name", "desc", 0, 0));
+    }
+
+    @Test
+    void page_SkipsUnmatchedAndStopsAtLimit() {
+        BitSet matches = all();
+        matches.clear(1);
+
+        assertArrayEquals(new int[] {3, 0}, index.page(matches, "budget", "asc", 0, 2));
+        assertArrayEquals(new int[] {2}, index.page(matches, "budget", "asc", 2, 2));
+        assertEquals(0, index.page(matches, "budget", "asc", 3, 2).length);
+    }
+
+    @Test
+    void page_UnknownSortKeyFallsBackToNameAscending() {
+        assertArrayEquals(new int[] {1, 3, 0, 2}, index.page(all(), "rating", "desc", 0, 0));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.Project_1.service;
+
+import com.example.Project_1.model.Restaurant;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestaurantSuggestIndexTest {
+
+    private Restaurant restaurant(String name, String cuisine, String location) {
+        Restaurant restaurant = new Restaurant("urn:" + name, name, cuisine, 100f);
+        restaurant.setLocation(location);
+        return restaurant;
+    }
+
+    private final RestaurantSuggestIndex index = new RestaurantSuggestIndex(List.of(
+            restaurant("Noodle Shop", "Noodles", "Patong"),
+            restaurant("Nora Thai", "Thai", "Kata"),
+            restaurant("Pad Thai Corner", "Thai", "Patong")));
+
+    @Test
+    void suggest_RanksPrefixMatchesByCount() {
+        List<RestaurantSuggestIndex.Suggestion> suggestions = index.suggest("No", 0);
+
+        assertEquals(List.of("Noodle Shop", "Noodles", "Nora Thai"),
+                suggestions.stream().map(RestaurantSuggestIndex.Suggestion::getText).toList());
+        assertEquals("urn:Noodle Shop", suggestions.get(0).getRestaurantId());
+    }
+
+    @Test
+    void suggest_WordMatchesAfterFullMatches() {
+        List<RestaurantSuggestIndex.Suggestion> suggestions = index.suggest("tha", 10);
+
+        assertEquals("Thai", suggestions.get(0).getText());
+        assertEquals(2, suggestions.get(0).getCount());
+        assertEquals(3, suggestions.size());
+    }
+
+    @Test
+    void suggest_UnknownOrBlankPrefixIsEmpty() {
+        assertTrue(index.suggest("xyz", 5).isEmpty());
+        assertTrue(index.suggest("  ", 5).isEmpty());
+        assertEquals(1, index.suggest("pa", 1).size());
+    }
+}
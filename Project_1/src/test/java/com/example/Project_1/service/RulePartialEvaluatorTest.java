@@ -0,0 +1,91 @@
+package com.example.Project_1.service;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.compose.Delta;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.reasoner.rulesys.Rule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RulePartialEvaluatorTest {
+
+    private static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";
+    private static final String RULES =
+            "@prefix re: <" + NS + "> .\n" +
+            "[R100: (?Restaurant re:hasFoodType ?FoodType) (?FoodType re:Fat \"Medium\") " +
+            "(?User re:PreRunProteinConsumtion \"Medium\") -> " +
+            "(?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence \"100\") ]\n" +
+            "[R90: (?Restaurant re:hasRestaurantType ?RestaurantType) (?RestaurantType re:type re:Fast_Dining_Type) " +
+            "(?User re:hasRestaurantTypeInterest re:Fast_Dining_Type) -> " +
+            "(?User re:hasRecommend ?Restaurant) (?Restaurant re:confidence \"90\") ]\n";
+
+    private Model catalog;
+    private RulePartialEvaluator evaluator;
+
+    @BeforeEach
+    void setUp() {
+        catalog = ModelFactory.createDefaultModel();
+        Resource mediumFat = catalog.createResource(NS + "Noodle_Type").addProperty(catalog.createProperty(NS + "Fat"), "Medium");
+        Resource highFat = catalog.createResource(NS + "Burger_Type").addProperty(catalog.createProperty(NS + "Fat"), "High");
+        Resource fastDining = catalog.createResource(NS + "Fast_Dining")
+                .addProperty(catalog.createProperty(NS + "type"), catalog.createResource(NS + "Fast_Dining_Type"));
+
+        catalog.createResource(NS + "NoodleShop").addProperty(catalog.createProperty(NS + "hasFoodType"), mediumFat)
+                .addProperty(catalog.createProperty(NS + "hasRestaurantType"), fastDining);
+        catalog.createResource(NS + "BurgerShop").addProperty(catalog.createProperty(NS + "hasFoodType"), highFat);
+
+        evaluator = RulePartialEvaluator.build(Rule.parseRules(RULES), catalog.getGraph(), 1L,
+                NodeFactory.createURI(NS + "hasRecommend"), NodeFactory.createURI(NS + "confidence"));
+    }
+
+    @Test
+    void build_PrecomputesRestaurantSide() {
+        assertTrue(evaluator.isComplete());
+        assertEquals(2, evaluator.getRules().size());
+        assertEquals(1, evaluator.getRules().get(0).getRestaurantUris().size());
+        assertTrue(evaluator.getRules().get(0).getRestaurantUris().contains(NS + "NoodleShop"));
+        assertEquals(1, evaluator.getRules().get(0).getUserConditions().size());
+    }
+
+    @Test
+    void evaluate_UnionsMatchingRulesAndKeepsHighestConfidence() {
+        Model overlay = ModelFactory.createModelForGraph(new Delta(catalog.getGraph()));
+        Resource user = overlay.createResource(NS + "runner1")
+                .addProperty(overlay.createProperty(NS + "PreRunProteinConsumtion"), "Medium")
+                .addProperty(overlay.createProperty(NS + "hasRestaurantTypeInterest"), overlay.createResource(NS + "Fast_Dining_Type"));
+
+        List<RulePartialEvaluator.Recommendation> result = evaluator.evaluate(overlay.getGraph(), user.asNode());
+
+        assertEquals(1, result.size());
+        assertEquals(NS + "NoodleShop", result.get(0).getRestaurantUri());
+        assertEquals(100f, result.get(0).getConfidence());
+        assertEquals(List.of("R100", "R90"), result.get(0).getRuleNames());
+    }
+
+    @Test
+    void evaluate_NoMatchWhenUserConditionMissing() {
+        Node user = NodeFactory.createURI(NS + "runner2");
+
+        assertTrue(evaluator.evaluate(catalog.getGraph(), user).isEmpty());
+    }
+
+    @Test
+    void build_ReportsRulesWithVariableUserConditions() {
+        String rules = "@prefix re: <" + NS + "> .\n" +
+                "[Dyn: (?Restaurant re:hasFoodType ?FoodType) (?User re:hasFoodTypeInterest ?FoodType) -> " +
+                "(?User re:hasRecommend ?Restaurant) ]\n";
+
+        RulePartialEvaluator partial = RulePartialEvaluator.build(Rule.parseRules(rules), catalog.getGraph(), 1L,
+                NodeFactory.createURI(NS + "hasRecommend"), NodeFactory.createURI(NS + "confidence"));
+
+        assertFalse(partial.isComplete());
+        assertEquals(List.of("Dyn"), partial.getUnsupportedRules());
+    }
+}
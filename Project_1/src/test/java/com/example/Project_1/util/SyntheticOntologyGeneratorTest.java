@@ -0,0 +1,90 @@
+package com.example.Project_1.util;
+
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Property;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.apache.jena.vocabulary.RDFS;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticOntologyGeneratorTest {
+
+    private static final String NS = "http://www.semanticweb.org/acer/ontologies/2567/8/restaurantontologyfinal#";
+
+    private final Model base = base();
+
+    @Test
+    void generate_ScaleOneKeepsCatalogAndLabelsFoodTypes() {
+        Model model = SyntheticOntologyGenerator.generate(base, 1, 42L);
+
+        assertEquals(2, restaurants(model).size());
+        assertEquals("Noodles_Type", model.getResource(NS + "Noodles_Type").getProperty(RDFS.label).getString());
+        assertFalse(base.getResource(NS + "Noodles_Type").hasProperty(RDFS.label));
+    }
+
+    @Test
+    void generate_ScalesRestaurantsWithOwnLocations() {
+        Model model = SyntheticOntologyGenerator.generate(base, 3, 42L);
+        Property budget = model.createProperty(NS + "Budget");
+        Property place = model.createProperty(NS + "hasRestaurantPlace");
+        Property foodType = model.createProperty(NS + "hasFoodType");
+
+        List<Resource> restaurants = restaurants(model);
+        assertEquals(6, restaurants.size());
+        for (Resource restaurant : restaurants) {
+            if (!restaurant.getLocalName().startsWith("Syn")) continue;
+            assertTrue(restaurant.getProperty(budget).getFloat() >= 20f);
+            Resource location = restaurant.getPropertyResourceValue(place);
+            assertNotNull(location.getProperty(model.createProperty(NS + "Latitude")));
+            assertEquals("Phuket", location.getProperty(model.createProperty(NS + "Province")).getString());
+            Resource served = restaurant.getPropertyResourceValue(foodType);
+            assertTrue(served.hasProperty(model.createProperty(NS + "Carbohydrates")));
+            assertTrue(served.hasProperty(RDFS.label));
+        }
+    }
+
+    @Test
+    void generate_IsDeterministicPerSeed() {
+        assertTrue(SyntheticOntologyGenerator.generate(base, 3, 7L)
+                .isIsomorphicWith(SyntheticOntologyGenerator.generate(base, 3, 7L)));
+        assertFalse(SyntheticOntologyGenerator.generate(base, 3, 7L)
+                .isIsomorphicWith(SyntheticOntologyGenerator.generate(base, 3, 8L)));
+    }
+
+    @Test
+    void generate_RejectsScaleBelowOne() {
+        assertThrows(IllegalArgumentException.class, () -> SyntheticOntologyGenerator.generate(base, 0, 42L));
+    }
+
+    private static List<Resource> restaurants(Model model) {
+        return model.listSubjectsWithProperty(RDF.type, model.createResource(NS + "Restaurant")).toList();
+    }
+
+    // Two restaurants with one food type each and a located place
+    private static Model base() {
+        Model model = ModelFactory.createDefaultModel();
+        Resource restaurantClass = model.createResource(NS + "Restaurant");
+        Resource location = model.createResource(NS + "Old_Town_Location")
+            .addLiteral(model.createProperty(NS + "Latitude"), 7.8847)
+            .addLiteral(model.createProperty(NS + "Longitude"), 98.3881)
+            .addProperty(model.createProperty(NS + "Province"), "Phuket");
+        String[][] rows = {{"Noodle_Shop", "Noodle Shop", "Noodles_Type", "High"}, {"Steak_House", "Steak House", "Steak_Type", "Low"}};
+        for (String[] row : rows) {
+            Resource foodType = model.createResource(NS + row[2])
+                .addProperty(RDF.type, model.createResource(NS + "FoodType"))
+                .addProperty(model.createProperty(NS + "Carbohydrates"), model.createResource(NS + row[3]));
+            model.createResource(NS + row[0])
+                .addProperty(RDF.type, restaurantClass)
+                .addProperty(model.createProperty(NS + "RestaurantName"), row[1])
+                .addLiteral(model.createProperty(NS + "Budget"), 150f)
+                .addProperty(model.createProperty(NS + "hasFoodType"), foodType)
+                .addProperty(model.createProperty(NS + "hasRestaurantPlace"), location);
+        }
+        return model;
+    }
+}
@@ -57,6 +57,24 @@ const RestaurantSearch = () => {
   const [useLocationFilter, setUseLocationFilter] = useState(false);
   const [userLocation, setUserLocation] = useState(null);
   const [radiusKm, setRadiusKm] = useState(5); // Default radius in kilometers
+  // Server-side paging: the current listing is fetched PAGE_SIZE restaurants at a time
+  const [nextCursor, setNextCursor] = useState(null);
+  const [totalCount, setTotalCount] = useState(0);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const fetchPageRef = useRef(null);
+
+  // Sorting and filtering run client-side, so they need the whole listing rather than the loaded pages
+  const hasValidUserLocation = userLocation != null &&
+    userLocation.lat != null &&
+    userLocation.lon != null &&
+    !isNaN(userLocation.lat) &&
+    !isNaN(userLocation.lon) &&
+    !(userLocation.lat === 0 && userLocation.lon === 0);
+  const needsFullListing = sortBy !== 'none' ||
+    priceRange[0] > 0 || priceRange[1] < 10000 ||
+    minRating > 0 ||
+    (useLocationFilter && hasValidUserLocation);
+  const firstPage = () => (needsFullListing ? { limit: 0 } : {});
 
   // Load all restaurants on component mount
   useEffect(() => {
@@ -74,13 +92,17 @@ const RestaurantSearch = () => {
     setAuthError(false);
     setRateLimitError(false);
     try {
-      const response = await RestaurantSearchAPI.getAllRestaurants();
+      setNextCursor(null);
+      fetchPageRef.current = (page) => RestaurantSearchAPI.getAllRestaurants(page);
+      const response = await fetchPageRef.current(firstPage());
       if (response.success) {
         const restaurants = response.data || [];
         setOriginalResults(restaurants);
         setSearchResults(restaurants);
+        setNextCursor(response.nextCursor);
+        setTotalCount(response.total ?? restaurants.length);
         setSearchCriteria(null); // Clear search criteria for "all restaurants" view
-        showSnackbar(`Loaded ${restaurants.length} restaurants`, 'success');
+        showSnackbar(`Loaded ${restaurants.length} of ${response.total ?? restaurants.length} restaurants`, 'success');
         setRetryCount(0); // Reset retry count on success
       } else {
         throw new Error(response.message || 'Failed to load restaurants');
@@ -111,15 +133,20 @@ const RestaurantSearch = () => {
     setAuthError(false);
     try {
       console.log('Searching with criteria:', criteria);
-      const response = await RestaurantSearchAPI.searchRestaurantsAdvanced(criteria);
+      setNextCursor(null);
+      fetchPageRef.current = (page) => RestaurantSearchAPI.searchRestaurantsAdvanced(criteria, page);
+      const response = await fetchPageRef.current(firstPage());
       
       if (response.success) {
         const restaurants = response.data || [];
+        const total = response.total ?? restaurants.length;
         setOriginalResults(restaurants);
         setSearchResults(restaurants);
+        setNextCursor(response.nextCursor);
+        setTotalCount(response.total ?? restaurants.length);
         setSearchCriteria(criteria);
         showSnackbar(
-          `Found ${restaurants.length} restaurant${restaurants.length !== 1 ? 's' : ''} matching your criteria`, 
+          `Found ${total} restaurant${total !== 1 ? 's' : ''} matching your criteria`, 
           'success'
         );
       } else {
@@ -147,15 +174,20 @@ const RestaurantSearch = () => {
     setError(null);
     setAuthError(false);
     try {
-      const response = await RestaurantSearchAPI.searchRestaurants(cuisineType, location, maxBudget);
+      setNextCursor(null);
+      fetchPageRef.current = (page) => RestaurantSearchAPI.searchRestaurants(cuisineType, location, maxBudget, page);
+      const response = await fetchPageRef.current(firstPage());
       
       if (response.success) {
         const restaurants = response.data || [];
+        const total = response.total ?? restaurants.length;
         setOriginalResults(restaurants);
         setSearchResults(restaurants);
+        setNextCursor(response.nextCursor);
+        setTotalCount(response.total ?? restaurants.length);
         setSearchCriteria({ cuisineType, location, maxBudget });
         showSnackbar(
-          `Found ${restaurants.length} restaurant${restaurants.length !== 1 ? 's' : ''} matching your criteria`, 
+          `Found ${total} restaurant${total !== 1 ? 's' : ''} matching your criteria`, 
           'success'
         );
       } else {
@@ -236,12 +268,7 @@ const RestaurantSearch = () => {
       
       // Location filter (within radius)
       // Only apply filter if userLocation is valid
-      if (useLocationFilter && userLocation && 
-          userLocation.lat != null && 
-          userLocation.lon != null &&
-          !isNaN(userLocation.lat) && 
-          !isNaN(userLocation.lon) &&
-          !(userLocation.lat === 0 && userLocation.lon === 0)) {
+      if (useLocationFilter && hasValidUserLocation) {
         if (!isWithinRadius(restaurant, userLocation, radiusKm)) {
           return false;
         }
@@ -285,7 +312,7 @@ const RestaurantSearch = () => {
     }
 
     return results;
-  }, [originalResults, sortBy, sortOrder, priceRange, minRating, useLocationFilter, userLocation, radiusKm]);
+  }, [originalResults, sortBy, sortOrder, priceRange, minRating, useLocationFilter, userLocation, hasValidUserLocation, radiusKm]);
 
   // Reset page when filters or sorting change
   useEffect(() => {
@@ -323,12 +350,45 @@ const RestaurantSearch = () => {
     }
   };
 
-  // Calculate pagination
-  const totalPages = Math.ceil(filteredAndSortedResults.length / itemsPerPage);
+  // Calculate pagination; until the last server page arrives the listing is unfiltered, so the server total counts it
+  const listingComplete = nextCursor === null;
+  const resultCount = listingComplete ? filteredAndSortedResults.length : totalCount;
+  const loadedPages = Math.ceil(filteredAndSortedResults.length / itemsPerPage);
+  const totalPages = Math.ceil(resultCount / itemsPerPage);
   const startIndex = (page - 1) * itemsPerPage;
   const endIndex = startIndex + itemsPerPage;
   const paginatedResults = filteredAndSortedResults.slice(startIndex, endIndex);
 
+  // Fetch the next server page once the last loaded page is shown, or the rest of the listing at once
+  // when a sort or filter needs all of it
+  useEffect(() => {
+    if (listingComplete || loadingMore || !fetchPageRef.current) return;
+    if (!needsFullListing && page < loadedPages) return;
+    const fetchPage = fetchPageRef.current;
+    const fetchRest = needsFullListing;
+    setLoadingMore(true);
+    if (fetchRest) setLoading(true);
+    fetchPage(fetchRest ? { cursor: nextCursor, limit: 0 } : { cursor: nextCursor })
+      .then((response) => {
+        // Ignore a page that arrives after the listing was replaced by a new search
+        if (fetchPageRef.current !== fetchPage) return;
+        if (response.success) {
+          setOriginalResults(prev => [...prev, ...(response.data || [])]);
+          setNextCursor(response.nextCursor);
+        } else {
+          setNextCursor(null);
+        }
+      })
+      .catch((err) => {
+        setNextCursor(null);
+        showSnackbar(`Error loading more restaurants: ${err.message}`, 'error');
+      })
+      .finally(() => {
+        setLoadingMore(false);
+        if (fetchRest) setLoading(false);
+      });
+  }, [page, loadedPages, listingComplete, needsFullListing, nextCursor, loadingMore]);
+
   return (
     <Box sx={{ 
       minHeight: '100vh',
@@ -553,7 +613,7 @@ const RestaurantSearch = () => {
               sortOrder={sortOrder}
               priceRange={priceRange}
               minRating={minRating}
-              resultCount={filteredAndSortedResults.length}
+              resultCount={resultCount}
               useLocationFilter={useLocationFilter}
               userLocation={userLocation}
               onLocationFilterChange={handleLocationFilterChange}
@@ -582,7 +642,7 @@ const RestaurantSearch = () => {
                 loading={loading}
                 error={error}
                 searchCriteria={searchCriteria}
-                totalResults={filteredAndSortedResults.length}
+                totalResults={resultCount}
                 currentPage={page}
                 totalPages={totalPages}
                 itemsPerPage={itemsPerPage}
@@ -591,7 +651,9 @@ const RestaurantSearch = () => {
                 showLocationRadius={useLocationFilter}
                 radiusKm={radiusKm}
                 onRadiusChange={setRadiusKm}
-                allResults={originalResults} // Show all restaurants from search in map, not filtered ones
+                // Show all restaurants from search in map, not filtered ones; while only some pages are
+                // loaded the map shows the current page instead of a partial listing
+                allResults={listingComplete ? originalResults : undefined}
               />
             </Box>
           </Grid>
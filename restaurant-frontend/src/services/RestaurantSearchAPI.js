@@ -23,6 +23,27 @@ class RestaurantSearchAPI {
     }
   }
 
+  // Restaurants per server page (the API returns 50 when no limit is sent)
+  static PAGE_SIZE = 48;
+
+  // Cursor paging params: cursor from the previous page's nextCursor, limit defaults to PAGE_SIZE (0 fetches everything)
+  static appendPage(params, page = {}) {
+    params.append('limit', page.limit ?? this.PAGE_SIZE);
+    if (page.cursor !== null && page.cursor !== undefined) params.append('cursor', page.cursor);
+  }
+
+  // Response body plus the paging headers: total (X-Total-Count) and nextCursor (X-Next-Cursor, null on the last page)
+  static async readPage(response) {
+    const data = await response.json();
+    const total = response.headers.get('X-Total-Count');
+    const nextCursor = response.headers.get('X-Next-Cursor');
+    return {
+      ...data,
+      total: total !== null ? parseInt(total, 10) : undefined,
+      nextCursor: nextCursor !== null ? parseInt(nextCursor, 10) : null,
+    };
+  }
+
   // Get headers with JWT token
   static getHeaders() {
     const token = localStorage.getItem('jwt_token');
@@ -38,7 +59,7 @@ class RestaurantSearchAPI {
   }
 
   // Advanced search with multiple criteria
-  static async searchRestaurantsAdvanced(searchCriteria) {
+  static async searchRestaurantsAdvanced(searchCriteria, page = {}) {
     try {
       const params = new URLSearchParams();
       
@@ -48,6 +69,7 @@ class RestaurantSearchAPI {
           params.append(key, value);
         }
       });
+      this.appendPage(params, page);
 
       const response = await fetch(`${API_BASE_URL}/restaurants/search/advanced?${params.toString()}`, {
         method: 'GET',
@@ -58,8 +80,7 @@ class RestaurantSearchAPI {
         this.handleHttpError(response, 'Failed to search restaurants');
       }
 
-      const data = await response.json();
-      return data;
+      return this.readPage(response);
     } catch (error) {
       console.error('Error in advanced search:', error);
       throw new Error(`Failed to search restaurants: ${error.message}`);
@@ -67,13 +88,14 @@ class RestaurantSearchAPI {
   }
 
   // Basic search (backward compatibility)
-  static async searchRestaurants(cuisineType, location, maxBudget) {
+  static async searchRestaurants(cuisineType, location, maxBudget, page = {}) {
     try {
       const params = new URLSearchParams();
       
       if (cuisineType) params.append('cuisineType', cuisineType);
       if (location) params.append('location', location);
       if (maxBudget && maxBudget > 0) params.append('maxBudget', maxBudget);
+      this.appendPage(params, page);
 
       const response = await fetch(`${API_BASE_URL}/restaurants/search?${params.toString()}`, {
         method: 'GET',
@@ -84,8 +106,7 @@ class RestaurantSearchAPI {
         this.handleHttpError(response, 'Failed to search restaurants');
       }
 
-      const data = await response.json();
-      return data;
+      return this.readPage(response);
     } catch (error) {
       console.error('Error in basic search:', error);
       throw new Error(`Failed to search restaurants: ${error.message}`);
@@ -93,7 +114,7 @@ class RestaurantSearchAPI {
   }
 
   // Search by nutrition preferences
-  static async searchByNutrition(nutritionCriteria) {
+  static async searchByNutrition(nutritionCriteria, page = {}) {
     try {
       const params = new URLSearchParams();
       
@@ -102,6 +123,7 @@ class RestaurantSearchAPI {
           params.append(key, value);
         }
       });
+      this.appendPage(params, page);
 
       const response = await fetch(`${API_BASE_URL}/restaurants/search/nutrition?${params.toString()}`, {
         method: 'GET',
@@ -112,8 +134,7 @@ class RestaurantSearchAPI {
         this.handleHttpError(response, 'Failed to search restaurants');
       }
 
-      const data = await response.json();
-      return data;
+      return this.readPage(response);
     } catch (error) {
       console.error('Error in nutrition search:', error);
       throw new Error(`Failed to search by nutrition: ${error.message}`);
@@ -121,7 +142,7 @@ class RestaurantSearchAPI {
   }
 
   // Search by budget range
-  static async searchByBudget(minBudget, maxBudget, sortBy = 'budget', sortOrder = 'asc') {
+  static async searchByBudget(minBudget, maxBudget, sortBy = 'budget', sortOrder = 'asc', page = {}) {
     try {
       const params = new URLSearchParams();
       
@@ -129,6 +150,7 @@ class RestaurantSearchAPI {
       if (maxBudget && maxBudget > 0) params.append('maxBudget', maxBudget);
       if (sortBy) params.append('sortBy', sortBy);
       if (sortOrder) params.append('sortOrder', sortOrder);
+      this.appendPage(params, page);
 
       const response = await fetch(`${API_BASE_URL}/restaurants/search/budget?${params.toString()}`, {
         method: 'GET',
@@ -139,28 +161,57 @@ class RestaurantSearchAPI {
         this.handleHttpError(response, 'Failed to search restaurants');
       }
 
-      const data = await response.json();
-      return data;
+      return this.readPage(response);
     } catch (error) {
       console.error('Error in budget search:', error);
       throw new Error(`Failed to search by budget: ${error.message}`);
     }
   }
 
-  // Get all restaurants
-  static async getAllRestaurants() {
+  // Facet counts (cuisine, type, location, nationality, nutrition, budget buckets) for the filter chips
+  static async getFacets(filters = {}) {
     try {
-      const response = await fetch(`${API_BASE_URL}/restaurants/all`, {
+      const params = new URLSearchParams();
+      
+      Object.entries(filters).forEach(([key, value]) => {
+        if (value !== null && value !== undefined && value !== '') {
+          params.append(key, value);
+        }
+      });
+
+      const response = await fetch(`${API_BASE_URL}/restaurants/facets?${params.toString()}`, {
         method: 'GET',
         headers: this.getHeaders(),
       });
 
       if (!response.ok) {
-        this.handleHttpError(response, 'Failed to search restaurants');
+        this.handleHttpError(response, 'Failed to get facet counts');
       }
 
       const data = await response.json();
       return data;
+    } catch (error) {
+      console.error('Error getting facet counts:', error);
+      throw new Error(`Failed to get facet counts: ${error.message}`);
+    }
+  }
+
+  // Get all restaurants
+  static async getAllRestaurants(page = {}) {
+    try {
+      const params = new URLSearchParams();
+      this.appendPage(params, page);
+
+      const response = await fetch(`${API_BASE_URL}/restaurants/all?${params.toString()}`, {
+        method: 'GET',
+        headers: this.getHeaders(),
+      });
+
+      if (!response.ok) {
+        this.handleHttpError(response, 'Failed to search restaurants');
+      }
+
+      return this.readPage(response);
     } catch (error) {
       console.error('Error getting all restaurants:', error);
       throw new Error(`Failed to get restaurants: ${error.message}`);